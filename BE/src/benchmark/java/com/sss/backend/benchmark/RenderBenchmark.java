@@ -0,0 +1,405 @@
+package com.sss.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sss.backend.config.AsyncConfig;
+import com.sss.backend.config.EncodingProfileProperties;
+import com.sss.backend.config.FFmpegConfig;
+import com.sss.backend.config.FFmpegSupervisorProperties;
+import com.sss.backend.config.RenderWorkspaceProperties;
+import com.sss.backend.config.RenditionProperties;
+import com.sss.backend.config.S3Config;
+import com.sss.backend.config.S3TransferMetrics;
+import com.sss.backend.config.StillEncodingProperties;
+import com.sss.backend.domain.document.AudioLine;
+import com.sss.backend.domain.document.Scene;
+import com.sss.backend.domain.document.SceneDocument;
+import com.sss.backend.domain.repository.SceneDocumentRepository;
+import com.sss.backend.domain.repository.SseEmitterRepository;
+import com.sss.backend.domain.repository.StoryRepository;
+import com.sss.backend.domain.repository.UserRepository;
+import com.sss.backend.domain.repository.VideoRepository;
+import com.sss.backend.domain.service.AssetStagingService;
+import com.sss.backend.domain.service.AudioAssemblyService;
+import com.sss.backend.domain.service.BackgroundMusicService;
+import com.sss.backend.domain.service.FFmpegProcessSupervisor;
+import com.sss.backend.domain.service.HlsPublishService;
+import com.sss.backend.domain.service.MediaProbeService;
+import com.sss.backend.domain.service.RenderWorkspaceManager;
+import com.sss.backend.domain.service.SceneClipCache;
+import com.sss.backend.domain.service.SceneFrameCompositor;
+import com.sss.backend.domain.service.StoryContextService;
+import com.sss.backend.domain.service.VideoProcessingStatusService;
+import com.sss.backend.domain.service.VideoService;
+import com.sss.backend.domain.service.VideoStatusSseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * 최종 렌더링 벤치마크 (합성 스토리 -> VideoService.createFinalVideo)
+ * - lavfi로 씬 이미지(testsrc2, 씬마다 색상 회전)와 대사 오디오(sine, 대사마다 주파수 변경)를 만들어 항상 같은 입력을 사용한다
+ * - S3/Mongo/Redis/AI 서버 없이 렌더링에 필요한 빈만 띄우고, 저장소는 합성 SceneDocument를 돌려주는 스텁으로 대체한다
+ * - FFmpegProcessSupervisor의 StageListener로 단계별 벽시계 시간, CPU 시간, 최대 메모리, 출력 크기를 수집한다
+ * - 실행마다 전체 벽시계 시간, JVM CPU 시간/최대 메모리, 최종 파일 크기와 단계별 합계를 JSON 보고서로 저장한다
+ *
+ * 실행: ./gradlew renderBenchmark -PbenchmarkArgs="8 3 4 2 single-pass,chain standard,preview"
+ *       (씬 수, 씬당 대사 수, 대사 길이 초, 반복 횟수, 렌더링 모드, 인코딩 프로필, 보고서 경로)
+ * FFmpeg 경로는 FFMPEG_PATH/FFPROBE_PATH 환경 변수로 지정 (기본값 ffmpeg/ffprobe)
+ */
+public class RenderBenchmark {
+
+    private static final String DEFAULT_REPORT = "build/reports/render-benchmark.json";
+    // loadSubtitleHeader 등에서 숫자 ID로 파싱하므로 숫자 사용
+    private static final long STORY_ID_BASE = 900_000;
+
+    public static void main(String[] args) throws Exception {
+        int sceneCount = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int linesPerScene = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        double lineSeconds = args.length > 2 ? Double.parseDouble(args[2]) : 4;
+        int repeat = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+        List<String> modes = args.length > 4 ? Arrays.asList(args[4].split(",")) : List.of("single-pass", "chain");
+        List<String> profiles = args.length > 5 ? Arrays.asList(args[5].split(",")) : List.of("standard");
+        Path reportPath = Paths.get(args.length > 6 ? args[6] : DEFAULT_REPORT);
+        String ffmpeg = System.getenv().getOrDefault("FFMPEG_PATH", "ffmpeg");
+        String ffprobe = System.getenv().getOrDefault("FFPROBE_PATH", "ffprobe");
+
+        Path assetDir = Files.createTempDirectory("render_benchmark_");
+        Map<String, SceneDocument> documents = new ConcurrentHashMap<>();
+        try (AnnotationConfigApplicationContext context = createContext(ffmpeg, ffprobe, documents)) {
+            List<Scene> scenes = generateScenes(ffmpeg, assetDir, sceneCount, linesPerScene, lineSeconds);
+
+            VideoService videoService = context.getBean(VideoService.class);
+            RenderWorkspaceManager workspaceManager = context.getBean(RenderWorkspaceManager.class);
+            StoryContextService storyContextService = context.getBean(StoryContextService.class);
+            EncodingProfileProperties encodingProfiles = context.getBean(EncodingProfileProperties.class);
+            FFmpegProcessSupervisor supervisor = context.getBean(FFmpegProcessSupervisor.class);
+
+            List<FFmpegProcessSupervisor.StageRun> stageRuns = new CopyOnWriteArrayList<>();
+            supervisor.addStageListener(stageRuns::add);
+
+            // 배경 음악 베드 등 시작 시 미리 계산하는 작업이 측정에 섞이지 않도록 대기
+            awaitIdle(context.getBean("renderTaskExecutor", ThreadPoolTaskExecutor.class));
+
+            List<RunResult> results = new ArrayList<>();
+            long sequence = 0;
+            for (int i = 0; i < repeat; i++) {
+                for (String mode : modes) {
+                    for (String profileName : profiles) {
+                        String storyId = String.valueOf(STORY_ID_BASE + sequence++);
+                        documents.put(storyId, sceneDocument(storyId, scenes));
+                        setRenderMode(videoService, mode);
+
+                        results.add(render(videoService, workspaceManager, storyContextService, encodingProfiles.resolve(profileName),
+                                storyId, mode, profileName, i, stageRuns));
+                        documents.remove(storyId);
+                    }
+                }
+            }
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("generatedAt", Instant.now().toString());
+            report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+            report.put("scenes", sceneCount);
+            report.put("linesPerScene", linesPerScene);
+            report.put("lineSeconds", lineSeconds);
+            report.put("repeat", repeat);
+            report.put("runs", results);
+
+            if (reportPath.getParent() != null) {
+                Files.createDirectories(reportPath.getParent());
+            }
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportPath.toFile(), report);
+            printSummary(results);
+            System.out.println("report: " + reportPath.toAbsolutePath());
+        } finally {
+            deleteDirectory(assetDir);
+        }
+    }
+
+    private static RunResult render(VideoService videoService, RenderWorkspaceManager workspaceManager,
+                                    StoryContextService storyContextService,
+                                    EncodingProfileProperties.EncodingProfile profile, String storyId, String mode,
+                                    String profileName, int iteration, List<FFmpegProcessSupervisor.StageRun> stageRuns) throws IOException {
+        resetPeakRss();
+        Duration cpuBefore = jvmCpuTime();
+        long start = System.nanoTime();
+        long outputBytes;
+        // 렌더링 단계는 작업 범위의 스테이징을 사용하므로 작업으로 감쌈
+        storyContextService.begin(storyId);
+        try (RenderWorkspaceManager.RenderWorkspace workspace = workspaceManager.open(storyId)) {
+            Path output = workspace.resolve("final_" + storyId + ".mp4");
+            videoService.createFinalVideo(storyId, output.toString(), workspace, profile, List.of(), false);
+            outputBytes = Files.size(output);
+        } finally {
+            storyContextService.end(storyId);
+        }
+        long wallMillis = (System.nanoTime() - start) / 1_000_000;
+        double jvmCpuSeconds = (jvmCpuTime().toNanos() - cpuBefore.toNanos()) / 1e9;
+
+        List<FFmpegProcessSupervisor.StageRun> runs = stageRuns.stream()
+                .filter(run -> storyId.equals(run.storyId()))
+                .toList();
+        Map<FFmpegProcessSupervisor.Stage, StageSummary> stages = new LinkedHashMap<>();
+        for (FFmpegProcessSupervisor.StageRun run : runs) {
+            stages.merge(run.stage(), StageSummary.of(run), StageSummary::plus);
+        }
+        return new RunResult(mode, profileName, iteration, wallMillis, jvmCpuSeconds, peakRssKb(), outputBytes,
+                new ArrayList<>(stages.values()));
+    }
+
+    private static void printSummary(List<RunResult> results) {
+        System.out.printf(Locale.ROOT, "%-12s %-10s %4s %10s %10s %12s %12s%n",
+                "mode", "profile", "iter", "wall(s)", "ffcpu(s)", "ffrss(KB)", "bytes");
+        for (RunResult result : results) {
+            double ffmpegCpu = result.stages().stream().mapToDouble(StageSummary::cpuSeconds).sum();
+            long ffmpegRss = result.stages().stream().mapToLong(StageSummary::maxRssKb).max().orElse(-1);
+            System.out.printf(Locale.ROOT, "%-12s %-10s %4d %10.3f %10.3f %12d %12d%n", result.mode(), result.profile(),
+                    result.iteration(), result.wallMillis() / 1000.0, ffmpegCpu, ffmpegRss, result.outputBytes());
+            for (StageSummary stage : result.stages()) {
+                System.out.printf(Locale.ROOT, "    %-16s x%-3d %10.3f %10.3f %12d%n", stage.stage(), stage.count(),
+                        stage.wallMillis() / 1000.0, stage.cpuSeconds(), stage.maxRssKb());
+            }
+        }
+    }
+
+    /**
+     * 렌더링에 필요한 빈만 등록한 컨텍스트 (외부 저장소는 스텁)
+     */
+    private static AnnotationConfigApplicationContext createContext(String ffmpeg, String ffprobe,
+                                                                    Map<String, SceneDocument> documents) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("ffmpeg.path", ffmpeg);
+        properties.put("ffprobe.path", ffprobe);
+        // S3 클라이언트 생성에만 사용 (요청은 보내지 않음)
+        properties.put("aws.accessKey", "benchmark");
+        properties.put("aws.secretKey", "benchmark");
+        // 반복 실행이 캐시 적중으로 끝나지 않도록 씬 클립 캐시와 HLS 공개는 끔
+        properties.put("video.clip-cache.enabled", "false");
+        properties.put("video.hls.enabled", "false");
+        properties.put("video.upload.streaming", "false");
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("renderBenchmark", properties));
+
+        context.register(BenchmarkConfig.class, FFmpegConfig.class, AsyncConfig.class, S3Config.class, S3TransferMetrics.class,
+                FFmpegSupervisorProperties.class, StillEncodingProperties.class, EncodingProfileProperties.class,
+                RenderWorkspaceProperties.class, RenditionProperties.class,
+                FFmpegProcessSupervisor.class, AudioAssemblyService.class, AssetStagingService.class,
+                SceneFrameCompositor.class, SceneClipCache.class, MediaProbeService.class, RenderWorkspaceManager.class,
+                BackgroundMusicService.class, HlsPublishService.class, SseEmitterRepository.class,
+                VideoProcessingStatusService.class, VideoStatusSseService.class, StoryContextService.class, VideoService.class);
+
+        // Redis는 렌더링 경로에서 사용하지 않음 (연결 없이 등록만)
+        context.getBeanFactory().registerSingleton("stringRedisTemplate", new StringRedisTemplate());
+        context.getBeanFactory().registerSingleton("meterRegistry", new SimpleMeterRegistry());
+        context.registerBean(SceneDocumentRepository.class, () -> repositoryStub(SceneDocumentRepository.class, documents));
+        context.registerBean(StoryRepository.class, () -> repositoryStub(StoryRepository.class, documents));
+        context.registerBean(VideoRepository.class, () -> repositoryStub(VideoRepository.class, documents));
+        context.registerBean(UserRepository.class, () -> repositoryStub(UserRepository.class, documents));
+
+        context.refresh();
+        return context;
+    }
+
+    /**
+     * findByStoryId는 합성 문서를, Optional을 반환하는 조회는 빈 값을 돌려주는 저장소 스텁
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T repositoryStub(Class<T> type, Map<String, SceneDocument> documents) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, methodArgs) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == methodArgs[0];
+                default:
+                    break;
+            }
+            if (type == SceneDocumentRepository.class && method.getName().equals("findByStoryId")) {
+                return Optional.ofNullable(documents.get(String.valueOf(methodArgs[0])));
+            }
+            if (method.getReturnType() == Optional.class) {
+                return Optional.empty();
+            }
+            throw new UnsupportedOperationException("벤치마크에서 지원하지 않는 저장소 호출: "
+                    + type.getSimpleName() + "." + method.getName());
+        });
+    }
+
+    /**
+     * 씬 이미지와 대사 오디오를 생성하고 sceneArr 형식으로 반환한다
+     */
+    private static List<Scene> generateScenes(String ffmpeg, Path dir, int sceneCount, int linesPerScene,
+                                              double lineSeconds) throws IOException, InterruptedException {
+        List<Scene> scenes = new ArrayList<>();
+        for (int s = 0; s < sceneCount; s++) {
+            Path image = dir.resolve("scene_" + s + ".png");
+            // 씬마다 색상을 돌려 같은 프레임이 반복되지 않게 함
+            run(ffmpeg, List.of("-y", "-f", "lavfi", "-i", "testsrc2=s=1024x1024",
+                    "-vf", "hue=h=" + (s * 360 / Math.max(sceneCount, 1)), "-frames:v", "1", image.toString()));
+
+            List<AudioLine> audioArr = new ArrayList<>();
+            for (int l = 0; l < linesPerScene; l++) {
+                Path audio = dir.resolve("scene_" + s + "_line_" + l + ".mp3");
+                int frequency = 220 + ((s * linesPerScene + l) % 24) * 20;
+                run(ffmpeg, List.of("-y", "-f", "lavfi", "-i",
+                        String.format(Locale.ROOT, "sine=frequency=%d:duration=%.3f", frequency, lineSeconds),
+                        "-ac", "1", "-ar", "44100", "-c:a", "libmp3lame", "-b:a", "128k", audio.toString()));
+
+                AudioLine line = new AudioLine();
+                line.setAudioId(l + 1);
+                line.setAudio_url(audio.toString());
+                // 20자를 넘는 대사는 자막 줄바꿈 경로도 거치도록 길이를 번갈아 사용
+                line.setText(l % 2 == 0
+                        ? "벤치마크 씬 " + (s + 1) + "의 " + (l + 1) + "번째 대사"
+                        : "벤치마크 씬 " + (s + 1) + "의 " + (l + 1) + "번째 대사는 자막이 두 줄로 나뉩니다");
+                line.setDuration(lineSeconds);
+                audioArr.add(line);
+            }
+
+            Scene scene = new Scene();
+            scene.setSceneId(s + 1);
+            scene.setImage_url(image.toString());
+            scene.setAudioArr(audioArr);
+            scenes.add(scene);
+        }
+        return scenes;
+    }
+
+    private static SceneDocument sceneDocument(String storyId, List<Scene> scenes) {
+        SceneDocument document = new SceneDocument();
+        document.setStoryId(storyId);
+        document.setStoryTitle("렌더링 벤치마크");
+        document.setSceneArr(scenes);
+        return document;
+    }
+
+    private static void setRenderMode(VideoService videoService, String mode) {
+        Field field = ReflectionUtils.findField(VideoService.class, "renderMode");
+        if (field == null) {
+            throw new IllegalStateException("VideoService에 renderMode 필드가 없습니다");
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, videoService, mode);
+    }
+
+    private static void awaitIdle(ThreadPoolTaskExecutor executor) throws InterruptedException {
+        while (executor.getActiveCount() > 0 || !executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            Thread.sleep(200);
+        }
+    }
+
+    private static Duration jvmCpuTime() {
+        return ProcessHandle.current().info().totalCpuDuration().orElse(Duration.ZERO);
+    }
+
+    // Linux: 최대 상주 메모리(VmHWM) 초기화 (지원하지 않으면 프로세스 전체 최대값이 기록됨)
+    private static void resetPeakRss() {
+        try {
+            Files.writeString(Paths.get("/proc/self/clear_refs"), "5");
+        } catch (IOException | RuntimeException ignored) {
+            // Linux가 아니거나 권한 없음
+        }
+    }
+
+    private static long peakRssKb() {
+        try (Stream<String> lines = Files.lines(Paths.get("/proc/self/status"))) {
+            return lines.filter(line -> line.startsWith("VmHWM:"))
+                    .map(line -> Long.parseLong(line.replaceAll("[^0-9]", "")))
+                    .findFirst()
+                    .orElse(-1L);
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private static void run(String ffmpeg, List<String> args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpeg);
+        command.add("-hide_banner");
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        StringBuilder log = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                log.append(line).append('\n');
+            }
+        }
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("ffmpeg 실행 실패: " + String.join(" ", command) + "\n" + log);
+        }
+    }
+
+    private static void deleteDirectory(Path dir) throws IOException {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * @ConfigurationProperties 바인딩 활성화 (설정 클래스는 직접 등록)
+     */
+    @Configuration
+    @EnableConfigurationProperties
+    static class BenchmarkConfig {
+    }
+
+    /**
+     * 렌더링 한 번의 측정 결과
+     * @param jvmCpuSeconds 렌더링 동안 JVM 프로세스의 CPU 시간 (프레임 합성, 오디오 조립 등 Java 단계 포함)
+     * @param jvmPeakRssKb 렌더링 동안 JVM 프로세스의 최대 상주 메모리
+     * @param stages FFmpeg 단계별 합계 (병렬 실행된 씬 클립은 벽시계 시간이 합산됨)
+     */
+    record RunResult(String mode, String profile, int iteration, long wallMillis, double jvmCpuSeconds,
+                     long jvmPeakRssKb, long outputBytes, List<StageSummary> stages) {
+    }
+
+    record StageSummary(FFmpegProcessSupervisor.Stage stage, int count, long wallMillis, double cpuSeconds,
+                        long maxRssKb, long outputBytes) {
+
+        static StageSummary of(FFmpegProcessSupervisor.StageRun run) {
+            return new StageSummary(run.stage(), 1, run.wallMillis(), Math.max(run.cpuSeconds(), 0),
+                    run.maxRssKb(), Math.max(run.outputBytes(), 0));
+        }
+
+        StageSummary plus(StageSummary other) {
+            return new StageSummary(stage, count + other.count, wallMillis + other.wallMillis,
+                    cpuSeconds + other.cpuSeconds, Math.max(maxRssKb, other.maxRssKb), outputBytes + other.outputBytes);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.sss.backend.benchmark;
+
+import com.sss.backend.config.StillEncodingProperties;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 씬 클립 인코딩 벤치마크 (기존 설정 vs 정지 이미지 프로필)
+ * - lavfi로 만든 1080x1920 정지 프레임과 스테레오 오디오를 씬 클립으로 인코딩한다
+ * - 벽시계 시간, CPU 시간(ffmpeg -benchmark의 utime+stime), 결과 파일 크기를 비교한다
+ *
+ * 실행: ./gradlew benchmark -PbenchmarkArgs="20 3"   (씬 길이 초, 반복 횟수)
+ * FFmpeg 경로는 FFMPEG_PATH 환경 변수로 지정 (기본값 ffmpeg)
+ */
+public class StillProfileBenchmark {
+
+    private static final Pattern BENCH_TIMES = Pattern.compile("bench: utime=([0-9.]+)s stime=([0-9.]+)s rtime=([0-9.]+)s");
+
+    public static void main(String[] args) throws Exception {
+        double sceneSeconds = args.length > 0 ? Double.parseDouble(args[0]) : 20;
+        int repeat = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        String ffmpeg = System.getenv().getOrDefault("FFMPEG_PATH", "ffmpeg");
+
+        Path workDir = Files.createTempDirectory("still_profile_benchmark_");
+        try {
+            Path frame = workDir.resolve("frame.png");
+            Path audio = workDir.resolve("audio.wav");
+            run(ffmpeg, List.of("-y", "-f", "lavfi", "-i", "testsrc2=s=1080x1920", "-frames:v", "1", frame.toString()));
+            run(ffmpeg, List.of("-y", "-f", "lavfi", "-i", "sine=frequency=440:duration=" + format(sceneSeconds),
+                    "-ac", "2", "-ar", "44100", "-c:a", "pcm_s16le", audio.toString()));
+
+            StillEncodingProperties still = new StillEncodingProperties();
+            List<Result> results = new ArrayList<>();
+            for (int i = 0; i < repeat; i++) {
+                results.add(encode(ffmpeg, "baseline", baselineArgs(frame, audio, sceneSeconds), workDir));
+                results.add(encode(ffmpeg, "still", stillArgs(still, frame, audio, sceneSeconds), workDir));
+            }
+
+            System.out.printf(Locale.ROOT, "scene=%.1fs repeat=%d preset=%s internalFps=%d outputFps=%d gop=%d%n",
+                    sceneSeconds, repeat, still.getPreset(), still.getInternalFps(), still.getOutputFps(), still.getGopFrames());
+            System.out.printf(Locale.ROOT, "%-10s %10s %10s %12s%n", "profile", "wall(s)", "cpu(s)", "bytes");
+            for (String profile : List.of("baseline", "still")) {
+                List<Result> runs = results.stream().filter(r -> r.profile.equals(profile)).toList();
+                System.out.printf(Locale.ROOT, "%-10s %10.3f %10.3f %12d%n", profile,
+                        runs.stream().mapToDouble(r -> r.wallSeconds).average().orElse(0),
+                        runs.stream().mapToDouble(r -> r.cpuSeconds).average().orElse(0),
+                        (long) runs.stream().mapToLong(r -> r.bytes).average().orElse(0));
+            }
+        } finally {
+            try (Stream<Path> walk = Files.walk(workDir)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    // 정지 이미지 프로필 적용 전 씬 클립 설정 (30fps, GOP 60, 기본 프리셋, CRF 23)
+    private static List<String> baselineArgs(Path frame, Path audio, double seconds) {
+        String duration = format(seconds);
+        List<String> args = new ArrayList<>(List.of("-i", frame.toString(), "-i", audio.toString(),
+                "-filter_complex", "[0:v]fps=30,setsar=1,tpad=stop_mode=clone:stop_duration=" + duration
+                        + ",trim=duration=" + duration + ",setpts=PTS-STARTPTS,format=yuv420p[outv]",
+                "-map", "[outv]", "-map", "1:a",
+                "-c:v", "libx264", "-crf", "23", "-pix_fmt", "yuv420p",
+                "-r", "30", "-g", "60", "-keyint_min", "60", "-sc_threshold", "0"));
+        args.addAll(audioArgs());
+        return args;
+    }
+
+    // VideoService 씬 클립과 같은 정지 이미지 프로필
+    private static List<String> stillArgs(StillEncodingProperties still, Path frame, Path audio, double seconds) {
+        String duration = format(seconds);
+        List<String> args = new ArrayList<>(List.of("-i", frame.toString(), "-i", audio.toString(),
+                "-filter_complex", "[0:v]fps=" + still.getInternalFps() + ",setsar=1,tpad=stop_mode=clone:stop_duration="
+                        + duration + ",trim=duration=" + duration + ",setpts=PTS-STARTPTS,format=yuv420p[outv]",
+                "-map", "[outv]", "-map", "1:a",
+                "-c:v", "libx264", "-pix_fmt", "yuv420p"));
+        args.addAll(still.x264Args());
+        args.addAll(audioArgs());
+        return args;
+    }
+
+    private static List<String> audioArgs() {
+        return List.of("-c:a", "aac", "-b:a", "128k", "-ar", "44100", "-ac", "2",
+                "-video_track_timescale", "15360", "-threads", "2", "-f", "mp4");
+    }
+
+    private static Result encode(String ffmpeg, String profile, List<String> encodeArgs, Path workDir) throws Exception {
+        Path output = workDir.resolve(profile + "_" + System.nanoTime() + ".mp4");
+        List<String> args = new ArrayList<>(List.of("-y", "-benchmark"));
+        args.addAll(encodeArgs);
+        args.add(output.toString());
+
+        long start = System.nanoTime();
+        String log = run(ffmpeg, args);
+        double wall = (System.nanoTime() - start) / 1e9;
+
+        double cpu = 0;
+        Matcher matcher = BENCH_TIMES.matcher(log);
+        if (matcher.find()) {
+            cpu = Double.parseDouble(matcher.group(1)) + Double.parseDouble(matcher.group(2));
+        }
+        long bytes = Files.size(output);
+        Files.deleteIfExists(output);
+        return new Result(profile, wall, cpu, bytes);
+    }
+
+    private static String run(String ffmpeg, List<String> args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpeg);
+        command.add("-hide_banner");
+        command.addAll(args);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        StringBuilder log = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                log.append(line).append('\n');
+            }
+        }
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("ffmpeg 실행 실패: " + String.join(" ", command) + "\n" + log);
+        }
+        return log.toString();
+    }
+
+    private static String format(double seconds) {
+        return String.format(Locale.ROOT, "%.3f", seconds);
+    }
+
+    private static class Result {
+        final String profile;
+        final double wallSeconds;
+        final double cpuSeconds;
+        final long bytes;
+
+        Result(String profile, double wallSeconds, double cpuSeconds, long bytes) {
+            this.profile = profile;
+            this.wallSeconds = wallSeconds;
+            this.cpuSeconds = cpuSeconds;
+            this.bytes = bytes;
+        }
+    }
+}
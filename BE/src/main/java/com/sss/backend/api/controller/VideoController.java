@@ -1,15 +1,17 @@
 package com.sss.backend.api.controller;
 
 import com.sss.backend.api.dto.*;
+import com.sss.backend.config.EncodingProfileProperties;
 import com.sss.backend.config.S3Config;
-import com.sss.backend.domain.entity.Story;
 import com.sss.backend.domain.entity.Users;
 import com.sss.backend.domain.entity.Video;
 import com.sss.backend.domain.entity.Video.VideoStatus;
 import com.sss.backend.domain.entity.VideoProcessingStep;
-import com.sss.backend.domain.repository.StoryRepository;
 import com.sss.backend.domain.repository.UserRepository;
+import com.sss.backend.domain.service.HlsPublishService;
 import com.sss.backend.domain.service.MediaService;
+import com.sss.backend.domain.service.StoryContextService;
+import com.sss.backend.domain.service.StoryPipelineExecutor;
 import com.sss.backend.domain.service.StoryService;
 import com.sss.backend.domain.service.VideoProcessingStatusService;
 import com.sss.backend.domain.service.VideoService;
@@ -41,9 +43,12 @@ public class VideoController {
     private final StoryService storyService;
     private final S3Config s3Config;
     private final UserRepository userRepository;
-    private final StoryRepository storyRepository;
     private final JWTUtil jwtUtil;
     private final VideoProcessingStatusService videoProcessingStatusService;
+    private final EncodingProfileProperties encodingProfileProperties;
+    private final HlsPublishService hlsPublishService;
+    private final StoryPipelineExecutor storyPipelineExecutor;
+    private final StoryContextService storyContextService;
 
     @Value("${temp.directory}")
     private String tempDirectory;
@@ -53,7 +58,22 @@ public class VideoController {
     public ResponseEntity<VideoStatusResponseDto> generateVideoAsync(
             @Valid @RequestBody StoryRequestDTO request,
             HttpServletRequest httpRequest) {
+        StoryPipelineExecutor.Ticket ticket = null;
         try {
+            // 인코딩 프로필 확인
+            String encodingProfile = request.getEncodingProfile();
+            if (!encodingProfileProperties.exists(encodingProfile)) {
+                log.warn("알 수 없는 인코딩 프로필: {}", encodingProfile);
+                return ResponseEntity.badRequest().build();
+            }
+
+            // 파이프라인 자리 확보 (스토리를 만들기 전에 확인, 가득 차면 429)
+            Optional<StoryPipelineExecutor.Ticket> reserved = storyPipelineExecutor.tryReserve();
+            if (reserved.isEmpty()) {
+                return tooManyPipelines();
+            }
+            ticket = reserved.get();
+
             // 스토리 저장.
             Long storyId = storyService.saveBasicStory(request, httpRequest);
             log.info("스토리 엔티티 생성 완료: {}", storyId);
@@ -65,8 +85,8 @@ public class VideoController {
             String imageModelName = request.getImageModelName();
             String audioModelName = request.getAudioModelName();
             
-            // 비동기 처리 시작
-            CompletableFuture.runAsync(() -> {
+            // 비동기 처리 시작 (파이프라인 실행기에서 가상 스레드로 실행)
+            ticket.execute(storyId.toString(), () -> {
                 try {
                     // 스토리 서비스에서 스크립트 생성 및 상태 업데이트 처리
                     storyService.saveStoryWithProcessingStatus(storyId, request);
@@ -92,10 +112,13 @@ public class VideoController {
                     
                     // 비디오 생성 및 업로드 - 비디오 서비스에서 상태 업데이트
                     String outputPath = tempDirectory + "/" + UUID.randomUUID() + "_final.mp4";
-                    String videoUrl = videoService.createAndUploadVideo(storyId.toString(), outputPath);
+                    String videoUrl = videoService.createAndUploadVideo(storyId.toString(), outputPath, encodingProfile);
                     
                     // 상태 업데이트: 완료 (VideoService에서 처리)
                     videoService.updateVideoCompleted(storyId.toString(), videoUrl);
+
+                    // 미리보기 프로필이면 고화질 렌더링을 낮은 우선순위로 이어서 실행
+                    videoService.scheduleFollowUpRender(storyId.toString(), encodingProfile);
                     
                 } catch (Exception e) {
                     log.error("비디오 생성 중 오류 발생: {}", e.getMessage(), e);
@@ -112,6 +135,9 @@ public class VideoController {
             
         } catch (Exception e) {
             log.error("비디오 생성 요청 처리 중 오류: {}", e.getMessage(), e);
+            if (ticket != null) {
+                ticket.release();
+            }
             return ResponseEntity.internalServerError().build();
         }
     }
@@ -130,6 +156,9 @@ public class VideoController {
                 }
             }
 
+            // 렌더링 중 공개된 HLS 플레이리스트 pre-signed URL 추가
+            status.setPlaylistUrl(hlsPublishService.getPlaylistUrl(storyId));
+
             // 썸네일 URL 추가
             String thumbnailUrl = videoService.getFirstImageURL(storyId);
             if (thumbnailUrl != null) {
@@ -142,6 +171,11 @@ public class VideoController {
                 String presignedUrl = s3Config.generatePresignedUrl(s3Key);
                 status.setVideoUrl(presignedUrl);
             }
+
+            // 렌디션 URL도 pre-signed URL로 변환
+            if (status.getRenditions() != null) {
+                status.getRenditions().replaceAll((name, url) -> s3Config.generatePresignedUrl(s3Config.extractS3KeyFromUrl(url)));
+            }
             
             return ResponseEntity.ok(status);
         } catch (Exception e) {
@@ -150,6 +184,21 @@ public class VideoController {
         }
     }
 
+    // 렌더링 없이 미리보기를 재생하기 위한 타임라인 조회 API
+    @GetMapping("/{storyId}/timeline")
+    public ResponseEntity<TimelineManifestDto> getTimeline(@PathVariable String storyId) {
+        try {
+            return ResponseEntity.ok(videoService.buildTimelineManifest(storyId));
+        } catch (IllegalStateException e) {
+            // 이미지/오디오가 아직 생성되지 않음
+            log.warn("타임라인 생성 불가: storyId={}, {}", storyId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("타임라인 조회 중 오류: {}", e.getMessage(), e);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/status/user/{userId}")
     public ResponseEntity<VideoListResponseDTO> getAllVideoStatusByUser(@PathVariable Long userId){
         try {
@@ -303,14 +352,28 @@ public class VideoController {
     public ResponseEntity<VideoStatusResponseDto> regenerateVideoAsync(
             @Valid @RequestBody RetryRequestDto request, HttpServletRequest httpRequest) {
 
+        StoryPipelineExecutor.Ticket ticket = null;
         try {
             // 스토리 불러오기
             Long storyId = request.getStoryId();
             log.info("재생성할 스토리 ID 조회 : {}", storyId);
 
+            // 인코딩 프로필 확인
+            String encodingProfile = request.getEncodingProfile();
+            if (!encodingProfileProperties.exists(encodingProfile)) {
+                log.warn("알 수 없는 인코딩 프로필: {}", encodingProfile);
+                return ResponseEntity.badRequest().build();
+            }
+
+            // 파이프라인 자리 확보 (가득 차면 429)
+            Optional<StoryPipelineExecutor.Ticket> reserved = storyPipelineExecutor.tryReserve();
+            if (reserved.isEmpty()) {
+                return tooManyPipelines();
+            }
+            ticket = reserved.get();
 
-            // 비동기 처리 시작
-            CompletableFuture.runAsync(() -> {
+            // 비동기 처리 시작 (파이프라인 실행기에서 가상 스레드로 실행)
+            ticket.execute(storyId.toString(), () -> {
                 try {
                     // 스토리 서비스에서 스크립트 생성 및 상태 업데이트 처리
                     // MongoDB에서 해당 스토리 id에 해당하는 script가 있는지 확인
@@ -325,8 +388,13 @@ public class VideoController {
 
                     }
 
-                    Story storyEntity = storyRepository.findById(storyId)
-                            .orElseThrow(() -> new RuntimeException("스토리 엔티티를 찾을 수 없습니다."));
+                    // 모델 이름은 작업 스냅샷에서 조회 (이후 단계가 같은 스토리 엔티티를 재사용)
+                    StoryContextService.StoryContext storyContext = storyContextService.context(storyId.toString());
+                    String audioModelName = storyContext.getAudioModelName();
+                    String imageModelName = storyContext.getImageModelName();
+                    if (audioModelName == null || imageModelName == null) {
+                        throw new RuntimeException("스토리 엔티티를 찾을 수 없습니다.");
+                    }
 
 
                     log.info("스토리 스크립트 확인 완료");
@@ -339,7 +407,7 @@ public class VideoController {
                     // 미디어 생성 처리 - 실패 시 즉시 예외 전파
                     try {
                         // 미디어 서비스에서 오디오/이미지 생성 및 상태 업데이트
-                        CompletableFuture<Void> future = mediaService.processAllScenes(storyId.toString(), storyEntity.getAudioModelName() , storyEntity.getImageModelName());
+                        CompletableFuture<Void> future = mediaService.processAllScenes(storyId.toString(), audioModelName, imageModelName);
                         future.get(30, TimeUnit.MINUTES);
                     } catch (Exception e) {
                         log.error("미디어 생성 중 오류 발생: {}", e.getMessage(), e);
@@ -357,9 +425,12 @@ public class VideoController {
                     } else {
                         // 비디오 생성 및 업로드 - 비디오 서비스에서 상태 업데이트
                         String outputPath = tempDirectory + "/" + UUID.randomUUID() + "_final.mp4";
-                        String videoUrl = videoService.createAndUploadVideo(storyId.toString(), outputPath);
+                        String videoUrl = videoService.retryAndUploadVideo(storyId.toString(), outputPath, encodingProfile);
                         // 상태 업데이트: 완료 (VideoService에서 처리)
                         videoService.updateVideoCompleted(storyId.toString(), videoUrl);
+
+                        // 미리보기 프로필이면 고화질 렌더링을 낮은 우선순위로 이어서 실행
+                        videoService.scheduleFollowUpRender(storyId.toString(), encodingProfile);
                     }
 
                 } catch (Exception e) {
@@ -377,9 +448,19 @@ public class VideoController {
 
         } catch (Exception e) {
             log.error("비디오 생성 요청 처리 중 오류: {}", e.getMessage(), e);
+            if (ticket != null) {
+                ticket.release();
+            }
             return ResponseEntity.internalServerError().build();
         }
 
 
     }
-}
\ No newline at end of file
+
+    // 파이프라인 대기열이 가득 찼을 때 응답 (Retry-After: 예상 대기 시간(초))
+    private <T> ResponseEntity<T> tooManyPipelines() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(storyPipelineExecutor.getRetryAfterSeconds()))
+                .build();
+    }
+}
@@ -9,4 +9,8 @@ import lombok.Setter;
 public class RetryRequestDto {
     @JsonProperty("storyId")
     private Long StoryId;
+
+    // 인코딩 프로필 (preview, standard, archive, 없으면 기본 프로필)
+    @JsonProperty("encodingProfile")
+    private String encodingProfile;
 }
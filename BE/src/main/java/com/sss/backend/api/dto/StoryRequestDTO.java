@@ -30,6 +30,10 @@ public class StoryRequestDTO {
     @JsonProperty("imageModelName")
     private String imageModelName;
 
+    // 인코딩 프로필 (preview, standard, archive, 없으면 기본 프로필)
+    @JsonProperty("encodingProfile")
+    private String encodingProfile;
+
     // MongoDB에 저장할 데이터 추가
     @JsonProperty("characterArr") // JSON 키와 Java 필드 매핑
     private List<Map<String, Object>> characterArr = new ArrayList<>();
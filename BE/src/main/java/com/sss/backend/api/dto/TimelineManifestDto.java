@@ -0,0 +1,94 @@
+package com.sss.backend.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 렌더링 없이 클라이언트에서 미리보기를 재생하기 위한 타임라인
+ * 좌표는 렌더링 캔버스(width x height) 기준이고, 시간은 스토리 시작 기준 초 단위
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimelineManifestDto {
+    private String storyId;
+    private String title;
+    private int width;
+    private int height;
+    private double durationSeconds; // 마지막 1초 구간 포함
+    private Box imageBox; // 씬 이미지가 놓이는 영역
+    private List<Caption> headerCaptions = new ArrayList<>(); // 제목, 사용자 정보 (영상 전체 구간)
+    private List<Segment> segments = new ArrayList<>();
+
+    /**
+     * 씬 하나 (이미지 한 장 + 대사 오디오들)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Segment {
+        private int sceneIndex;
+        private String imageUrl;
+        private double start;
+        private double end;
+        private List<Line> lines = new ArrayList<>();
+    }
+
+    /**
+     * 대사 하나 (오디오 + 자막)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Line {
+        private String audioUrl;
+        private double start;
+        private double end;
+        private Caption caption;
+    }
+
+    /**
+     * 자막 텍스트와 위치 (ASS 자막과 같은 배치, 줄바꿈은 \n)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Caption {
+        private String text;
+        private int x;
+        private int y;
+        private String anchor; // center: (x, y)가 중앙, bottom-left: (x, y)가 좌하단
+        private int fontSize;
+
+        public Caption(String text, int x, int y, String anchor, int fontSize) {
+            this.text = text;
+            this.x = x;
+            this.y = y;
+            this.anchor = anchor;
+            this.fontSize = fontSize;
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class Box {
+        private int x;
+        private int y;
+        private int width;
+        private int height;
+
+        public Box(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
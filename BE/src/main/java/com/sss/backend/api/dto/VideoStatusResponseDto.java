@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.Map;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +20,10 @@ public class VideoStatusResponseDto {
     private String createdAt;
     private String completedAt;
     private String processingStep; // 처리 단계에 대한 상세 정보
+    private Integer progress; // 렌더링 진행률 (0-100, VIDEO_RENDERING 단계에서만)
+    private String playlistUrl; // 렌더링 중 재생 가능한 HLS 플레이리스트 pre-signed URL (첫 씬 공개 이후)
     private String thumbnailUrl;
+    private Map<String, String> renditions; // 추가 출력 형식 (렌디션 이름 -> URL, COMPLETED 상태에서만)
     
     // 진행 중인 경우 초기 응답용 생성자 (storyId, status, createdAt 포함)
     public VideoStatusResponseDto(String storyId, VideoStatus status, String createdAt) {
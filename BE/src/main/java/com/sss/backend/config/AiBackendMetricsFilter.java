@@ -0,0 +1,89 @@
+package com.sss.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AI 서버(ElevenLabs, Zonos, 이미지 생성, 스크립트 변환) 호출 메트릭 WebClient 필터
+ * 요청 경로로 백엔드를 구분하고, 응답 헤더를 받을 때까지의 시간과 오류 수를 기록한다
+ * (호출 측 timeout()으로 응답 전에 구독이 취소되면 outcome=cancelled로 기록)
+ * (AI 서버 경로가 아닌 요청은 기록하지 않음)
+ */
+@Component
+@RequiredArgsConstructor
+public class AiBackendMetricsFilter implements ExchangeFilterFunction {
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String backend = resolveBackend(request.url().getPath());
+        if (backend == null) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            // 응답을 받은 뒤 하위 연산자가 구독을 취소해도 한 번만 기록
+            AtomicBoolean recorded = new AtomicBoolean();
+            return next.exchange(request)
+                    .doOnSuccess(response -> recordOnce(recorded, backend, start,
+                            response != null && !response.statusCode().isError() ? "success" : "error"))
+                    .doOnError(e -> recordOnce(recorded, backend, start, "error"))
+                    .doOnCancel(() -> recordOnce(recorded, backend, start, "cancelled"));
+        });
+    }
+
+    // FastAPI/Zonos 서버의 엔드포인트 경로로 백엔드 구분
+    private static String resolveBackend(String path) {
+        if (path == null) {
+            return null;
+        }
+        if (path.contains("/elevenlabs/")) {
+            return "elevenlabs";
+        }
+        if (path.contains("/zonos/")) {
+            return "zonos";
+        }
+        if (path.contains("/images/")) {
+            return "image";
+        }
+        if (path.contains("/script/")) {
+            return "script";
+        }
+        return null;
+    }
+
+    private void recordOnce(AtomicBoolean recorded, String backend, long start, String outcome) {
+        if (recorded.compareAndSet(false, true)) {
+            record(backend, start, outcome);
+        }
+    }
+
+    private void record(String backend, long start, String outcome) {
+        Timer.builder("ai.backend.call.duration")
+                .description("AI 서버 호출 소요 시간")
+                .tag("backend", backend)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!"success".equals(outcome)) {
+            Counter.builder("ai.backend.call.errors")
+                    .description("AI 서버 호출 실패 수 (오류 응답, 연결 실패, 시간 초과)")
+                    .tag("backend", backend)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.sss.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -12,6 +13,10 @@ import java.util.concurrent.ThreadPoolExecutor;
 @EnableAsync
 public class AsyncConfig {
 
+    // FFmpeg 프로세스 하나에 할당하는 스레드 수 (렌더 풀 크기 계산에 사용)
+    @Value("${video.render.threads-per-job:2}")
+    private int renderThreadsPerJob;
+
     @Bean(name = "mediaTaskExecutor")
     public Executor mediaTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -45,4 +50,53 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 씬 렌더링 전용 스레드 풀
+     * 코어 수를 FFmpeg 프로세스당 스레드 수로 나눈 만큼만 동시에 인코딩하여 CPU 과다 할당을 막는다
+     */
+    @Bean(name = "renderTaskExecutor")
+    public ThreadPoolTaskExecutor renderTaskExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        int poolSize = Math.max(1, cores / Math.max(1, renderThreadsPerJob));
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);    // 동시에 실행할 FFmpeg 프로세스 수
+        executor.setMaxPoolSize(poolSize);     // 코어 예산을 넘지 않도록 고정
+        executor.setQueueCapacity(500);        // 여러 스토리의 씬이 대기
+        executor.setThreadNamePrefix("RenderTask-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * S3 에셋 스테이징(다운로드) 전용 스레드 풀 (네트워크 대기 위주라 CPU 코어 수와 무관하게 설정)
+     */
+    @Bean(name = "stagingTaskExecutor")
+    public Executor stagingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);       // 기본 스레드 풀 크기
+        executor.setMaxPoolSize(16);       // 최대 스레드 풀 크기
+        executor.setQueueCapacity(500);    // 큐 용량
+        executor.setThreadNamePrefix("StagingTask-");  // 스레드 이름 접두사
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 미리보기 이후 이어서 실행하는 고화질 렌더링 풀
+     * 한 번에 하나만 실행하여 새 요청의 렌더링에 CPU를 먼저 쓰도록 한다
+     */
+    @Bean(name = "followUpRenderExecutor")
+    public ThreadPoolTaskExecutor followUpRenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);       // 동시에 하나만 실행
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(200);    // 대기 중인 고화질 렌더링
+        executor.setThreadNamePrefix("FollowUpRender-");
+        executor.setThreadPriority(Thread.MIN_PRIORITY);
+        executor.initialize();
+        return executor;
+    }
 }
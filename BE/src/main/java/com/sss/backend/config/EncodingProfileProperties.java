@@ -0,0 +1,99 @@
+package com.sss.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 최종 비디오 인코딩 프로필 설정
+ * 요청마다 프로필 이름(preview, standard, archive 등)을 골라 해상도, 프리셋, 화질, 오디오 비트레이트, 스레드 수를 바꾼다
+ * followUp이 지정된 프로필(preview)은 완료 후 지정한 프로필로 한 번 더 렌더링하여 결과를 교체한다
+ */
+@Component
+@ConfigurationProperties(prefix = "video.encoding")
+@Getter
+@Setter
+public class EncodingProfileProperties {
+
+    // 요청에 프로필이 없을 때 사용할 프로필
+    private String defaultProfile = "standard";
+
+    private Map<String, EncodingProfile> profiles = new LinkedHashMap<>(Map.of(
+            "preview", new EncodingProfile(540, 960, "ultrafast", 28, 96, 2, "standard"),
+            "standard", new EncodingProfile(1080, 1920, null, null, 192, 0, null),
+            "archive", new EncodingProfile(1080, 1920, "slow", 18, 256, 0, null)
+    ));
+
+    @PostConstruct
+    public void init() {
+        profiles.forEach((name, profile) -> profile.setName(name));
+        if (!profiles.containsKey(defaultProfile)) {
+            throw new IllegalStateException("기본 인코딩 프로필이 정의되지 않았습니다: " + defaultProfile);
+        }
+    }
+
+    public boolean exists(String name) {
+        return name == null || name.isBlank() || profiles.containsKey(name);
+    }
+
+    /**
+     * 이름으로 프로필 조회 (비어 있으면 기본 프로필, 없는 이름이면 예외)
+     */
+    public EncodingProfile resolve(String name) {
+        String profileName = name == null || name.isBlank() ? defaultProfile : name;
+        EncodingProfile profile = profiles.get(profileName);
+        if (profile == null) {
+            throw new IllegalArgumentException("알 수 없는 인코딩 프로필: " + name);
+        }
+        return profile;
+    }
+
+    public boolean isDefault(EncodingProfile profile) {
+        return defaultProfile.equals(profile.getName());
+    }
+
+    @Getter
+    @Setter
+    public static class EncodingProfile {
+        private String name;
+
+        // 출력 해상도 (합성은 1080x1920으로 하고 인코딩 직전에 축소)
+        private int width = 1080;
+        private int height = 1920;
+
+        // x264 프리셋, 화질 (비어 있으면 video.encode.still 설정 사용)
+        private String preset;
+        private Integer crf;
+
+        // AAC 비트레이트 (kbps)
+        private int audioBitrateKbps = 192;
+
+        // FFmpeg 스레드 수 (0이면 감독 서비스 기본값)
+        private int threads = 0;
+
+        // 완료 후 이어서 렌더링할 프로필 (낮은 우선순위 큐에서 실행, 없으면 null)
+        private String followUp;
+
+        public EncodingProfile() {
+        }
+
+        public EncodingProfile(int width, int height, String preset, Integer crf, int audioBitrateKbps, int threads, String followUp) {
+            this.width = width;
+            this.height = height;
+            this.preset = preset;
+            this.crf = crf;
+            this.audioBitrateKbps = audioBitrateKbps;
+            this.threads = threads;
+            this.followUp = followUp;
+        }
+
+        public boolean isScaled() {
+            return width != 1080 || height != 1920;
+        }
+    }
+}
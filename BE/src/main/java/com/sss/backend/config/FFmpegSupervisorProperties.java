@@ -0,0 +1,41 @@
+package com.sss.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * FFmpeg 프로세스 실행 제한 설정
+ * 단계별 최대 실행 시간, 프로세스 우선순위(nice), 프로세스당 스레드 수를 지정한다
+ */
+@Component
+@ConfigurationProperties(prefix = "video.ffmpeg")
+@Getter
+@Setter
+public class FFmpegSupervisorProperties {
+
+    // nice 값 (0이면 적용하지 않음, 클수록 API 요청 처리보다 우선순위가 낮아짐)
+    private int niceness = 10;
+
+    // 낮은 우선순위 작업(미리보기 이후 고화질 렌더링 등)에 적용할 nice 값
+    private int backgroundNiceness = 19;
+
+    // 스레드 수를 지정하지 않은 명령에 적용할 -threads 값 (0이면 FFmpeg 기본값)
+    private int maxThreads = 0;
+
+    // 단계별 최대 실행 시간 (초)
+    private long audioTimeoutSeconds = 120;
+    private long clipTimeoutSeconds = 300;
+    private long mergeTimeoutSeconds = 600;
+    private long renderTimeoutSeconds = 1800;
+
+    // 종료 요청(SIGTERM) 후 강제 종료까지 기다리는 시간 (초)
+    private long killGraceSeconds = 5;
+
+    // 진행률 이벤트 최소 간격 (밀리초)
+    private long progressIntervalMillis = 1000;
+
+    // -benchmark로 단계별 CPU 시간/최대 메모리 사용량을 수집할지 여부
+    private boolean collectUsage = true;
+}
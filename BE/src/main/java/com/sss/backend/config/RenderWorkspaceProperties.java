@@ -0,0 +1,38 @@
+package com.sss.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+
+/**
+ * 렌더링 작업 공간 설정
+ * 작업마다 독립된 디렉토리를 만들 위치(디스크 / tmpfs)와 작업별·전체 디스크 사용량 한도를 지정한다
+ * 작업 간에 공유하는 캐시(씬 클립 캐시, 배경 음악 베드)도 cacheRoot 아래에 두어 전체 사용량에 포함한다
+ */
+@Component
+@ConfigurationProperties(prefix = "video.workspace")
+@Getter
+@Setter
+public class RenderWorkspaceProperties {
+
+    // 작업 디렉토리 루트 (디스크)
+    private String root = System.getProperty("java.io.tmpdir") + File.separator + "sss_app_temp" + File.separator + "jobs";
+
+    // tmpfs 루트 (비어 있으면 사용하지 않음, 여유 공간이 작업 한도보다 작으면 디스크 루트 사용)
+    private String tmpfsRoot = "";
+
+    // 공유 캐시 루트 (고아 정리 대상이 아님, 작업 루트 밖에 두어야 함)
+    private String cacheRoot = System.getProperty("java.io.tmpdir") + File.separator + "sss_app_temp" + File.separator + "cache";
+
+    // 작업 하나가 사용할 수 있는 최대 용량 (기본 2GB)
+    private long jobQuotaBytes = 2L * 1024 * 1024 * 1024;
+
+    // 모든 작업 디렉토리와 공유 캐시의 최대 용량 합 (기본 20GB, 캐시 최대 용량보다 충분히 크게 설정)
+    private long globalQuotaBytes = 20L * 1024 * 1024 * 1024;
+
+    // 활성 작업이 아닌 디렉토리를 고아로 판단하는 기준 (분)
+    private long orphanMaxAgeMinutes = 120;
+}
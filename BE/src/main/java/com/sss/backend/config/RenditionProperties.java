@@ -0,0 +1,118 @@
+package com.sss.backend.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 추가 출력 형식(렌디션) 설정
+ * 단일 패스 렌더링에서 합성된 영상을 split으로 나눠 같은 FFmpeg 프로세스의 여러 인코더로 보낸다
+ * (정사각형 피드용, 저용량 모바일용, 목록용 움직이는 미리보기 등)
+ */
+@Component
+@ConfigurationProperties(prefix = "video.rendition")
+@Getter
+@Setter
+public class RenditionProperties {
+
+    // 최종 렌더링마다 함께 만들 렌디션 이름 (비어 있으면 만들지 않음)
+    private List<String> enabled = new ArrayList<>();
+
+    private Map<String, Rendition> definitions = new LinkedHashMap<>(Map.of(
+            // 1080x1920 캔버스에서 자막(y=640)과 이미지(y=850~1650)가 모두 들어가도록 y=580부터 정사각형으로 잘라냄
+            "square", new Rendition("mp4", 1080, 1080, 580, 0, 23, 0, 128, 0),
+            "mobile", new Rendition("mp4", 540, 960, -1, 0, 28, 800, 64, 0),
+            "preview", new Rendition("webp", 270, 480, -1, 10, 0, 0, 0, 3)
+    ));
+
+    @PostConstruct
+    public void init() {
+        definitions.forEach((name, rendition) -> {
+            rendition.setName(name);
+            if (!List.of("mp4", "webp", "gif").contains(rendition.getExtension())) {
+                throw new IllegalStateException("지원하지 않는 렌디션 형식: " + name + " (" + rendition.getFormat() + ")");
+            }
+        });
+        for (String name : enabled) {
+            if (!definitions.containsKey(name)) {
+                throw new IllegalStateException("정의되지 않은 렌디션: " + name);
+            }
+        }
+    }
+
+    /**
+     * 활성화된 렌디션 목록 (설정 순서)
+     */
+    public List<Rendition> enabledRenditions() {
+        return enabled.stream().map(definitions::get).toList();
+    }
+
+    @Getter
+    @Setter
+    public static class Rendition {
+        private String name;
+
+        // mp4, webp, gif
+        private String format = "mp4";
+
+        // 출력 해상도
+        private int width;
+        private int height;
+
+        // 1080x1920 캔버스에서 잘라낼 정사각형/직사각형의 시작 y (음수면 자르지 않고 축소만)
+        private int cropY = -1;
+
+        // 출력 프레임레이트 (0이면 원본 유지)
+        private int fps;
+
+        // mp4: x264 화질, 최대 비트레이트 (kbps, 0이면 제한 없음), AAC 비트레이트 (kbps)
+        private int crf = 23;
+        private int maxBitrateKbps;
+        private int audioBitrateKbps = 128;
+
+        // 앞부분만 사용할 길이 (초, 0이면 전체)
+        private int durationSeconds;
+
+        // webp 품질 (0-100)
+        private int quality = 60;
+
+        public Rendition() {
+        }
+
+        public Rendition(String format, int width, int height, int cropY, int fps, int crf,
+                         int maxBitrateKbps, int audioBitrateKbps, int durationSeconds) {
+            this.format = format;
+            this.width = width;
+            this.height = height;
+            this.cropY = cropY;
+            this.fps = fps;
+            this.crf = crf;
+            this.maxBitrateKbps = maxBitrateKbps;
+            this.audioBitrateKbps = audioBitrateKbps;
+            this.durationSeconds = durationSeconds;
+        }
+
+        public boolean isAnimation() {
+            return "webp".equalsIgnoreCase(format) || "gif".equalsIgnoreCase(format);
+        }
+
+        public String getExtension() {
+            return format.toLowerCase();
+        }
+
+        public String getContentType() {
+            return switch (getExtension()) {
+                case "webp" -> "image/webp";
+                case "gif" -> "image/gif";
+                default -> "video/mp4";
+            };
+        }
+    }
+}
@@ -8,21 +8,39 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.client.config.ClientOverrideConfiguration;
+import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Configuration
 @Slf4j
@@ -31,6 +49,9 @@ public class S3Config {
 
     private static final Logger logger = LoggerFactory.getLogger(S3Config.class);
 
+    // S3 멀티파트 업로드의 최소 파트 크기 (마지막 파트 제외)
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
     @Value("${aws.accessKey}")
     private String accessKey;
     
@@ -49,7 +70,8 @@ public class S3Config {
     public S3Config(
         @Value("${aws.accessKey}") String accessKey,
         @Value("${aws.secretKey}") String secretKey,
-        @Value("${aws.region:ap-northeast-2}") String region
+        @Value("${aws.region:ap-northeast-2}") String region,
+        S3TransferMetrics s3TransferMetrics
     ) {
         if (accessKey == null || secretKey == null) {
             throw new IllegalStateException(
@@ -62,10 +84,13 @@ public class S3Config {
         
         Region awsRegion = Region.of(region);
         
-        // S3 클라이언트 초기화
+        // S3 클라이언트 초기화 (요청별 소요 시간/전송 바이트 메트릭 기록)
         this.s3Client = S3Client.builder()
             .region(awsRegion)
             .credentialsProvider(credentialsProvider)
+            .overrideConfiguration(ClientOverrideConfiguration.builder()
+                .addExecutionInterceptor(s3TransferMetrics)
+                .build())
             .build();
             
         // S3 Presigner 초기화
@@ -106,6 +131,39 @@ public class S3Config {
         }
     }
 
+    /**
+     * S3 객체 크기 (HEAD 요청)
+     */
+    public long getObjectSize(String s3Key) throws IOException {
+        try {
+            return s3Client.headObject(HeadObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .build()).contentLength();
+        } catch (S3Exception e) {
+            throw new IOException("S3 객체 정보 조회 중 오류 발생: " + s3Key + " - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * S3 객체의 일부 범위만 읽기 (Range 요청, 객체 끝을 넘으면 남은 바이트만 반환)
+     */
+    public byte[] readRangeFromS3(String s3Key, long start, int length) throws IOException {
+        if (length <= 0) {
+            return new byte[0];
+        }
+        try {
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .range("bytes=" + start + "-" + (start + length - 1))
+                .build();
+            return s3Client.getObjectAsBytes(getObjectRequest).asByteArray();
+        } catch (S3Exception e) {
+            throw new IOException("S3 범위 읽기 중 오류 발생: " + s3Key + " - " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 파일을 S3에 업로드
      */
@@ -118,6 +176,183 @@ public class S3Config {
         s3Client.putObject(request, Paths.get(localPath));
     }
 
+    /**
+     * 파일을 Content-Type을 지정하여 S3에 업로드
+     */
+    public void uploadToS3(Path localPath, String s3Key, String contentType) throws IOException {
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .contentType(contentType)
+                .build(), localPath);
+        } catch (S3Exception e) {
+            throw new IOException("S3 업로드 중 오류 발생: " + s3Key + " - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 문자열을 S3에 업로드 (계속 갱신되는 객체이므로 캐시하지 않음)
+     */
+    public void uploadTextToS3(String content, String s3Key, String contentType) throws IOException {
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .contentType(contentType)
+                .cacheControl("no-cache")
+                .build(), RequestBody.fromString(content));
+        } catch (S3Exception e) {
+            throw new IOException("S3 업로드 중 오류 발생: " + s3Key + " - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 스트림 업로드용 멀티파트 업로드 시작
+     * @param partSizeBytes 파트 크기 (5MB 미만이면 5MB)
+     * @param maxInFlightParts 동시에 업로드할 최대 파트 수 (메모리 사용량 = 파트 크기 x (이 값 + 1))
+     */
+    public MultipartStreamUpload startMultipartUpload(String s3Key, String contentType, int partSizeBytes, int maxInFlightParts) throws IOException {
+        try {
+            String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucketName)
+                .key(s3Key)
+                .contentType(contentType)
+                .build()).uploadId();
+            logger.info("S3 멀티파트 업로드 시작: {} (uploadId={})", s3Key, uploadId);
+            return new MultipartStreamUpload(s3Key, uploadId, Math.max(partSizeBytes, MIN_PART_SIZE), Math.max(1, maxInFlightParts));
+        } catch (S3Exception e) {
+            throw new IOException("S3 멀티파트 업로드 시작 중 오류 발생: " + s3Key + " - " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 길이를 모르는 스트림을 파트 단위로 나눠 올리는 멀티파트 업로드
+     * - uploadFrom(): 스트림을 읽으면서 채워진 파트를 바로 업로드한다 (읽기와 업로드가 겹침)
+     * - complete(): 모든 파트를 하나의 객체로 확정한다 (스트림 생산자가 성공한 뒤에만 호출)
+     * - abort(): 업로드한 파트를 버린다 (실패 시 반드시 호출)
+     */
+    public class MultipartStreamUpload {
+        private final String s3Key;
+        private final String uploadId;
+        private final int partSize;
+        private final Semaphore inFlight;
+        private final List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private long uploadedBytes;
+
+        private MultipartStreamUpload(String s3Key, String uploadId, int partSize, int maxInFlightParts) {
+            this.s3Key = s3Key;
+            this.uploadId = uploadId;
+            this.partSize = partSize;
+            this.inFlight = new Semaphore(maxInFlightParts);
+        }
+
+        /**
+         * 스트림을 EOF까지 읽어 파트로 업로드하고, 모든 파트 업로드가 끝날 때까지 기다린다
+         */
+        public void uploadFrom(InputStream in) throws IOException {
+            int partNumber = 1;
+            while (true) {
+                byte[] buffer = in.readNBytes(partSize);
+                if (buffer.length == 0 && partNumber > 1) {
+                    break;
+                }
+                if (buffer.length == 0) {
+                    throw new IOException("업로드할 데이터가 없습니다: " + s3Key);
+                }
+                if (failure.get() != null) {
+                    break;
+                }
+
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("S3 멀티파트 업로드가 중단되었습니다: " + s3Key);
+                }
+                int number = partNumber++;
+                uploadedBytes += buffer.length;
+                parts.add(CompletableFuture
+                    .supplyAsync(() -> uploadPart(number, buffer), runnable -> Thread.ofVirtual().start(runnable))
+                    .whenComplete((part, e) -> {
+                        if (e != null) {
+                            failure.compareAndSet(null, e);
+                        }
+                        inFlight.release();
+                    }));
+
+                if (buffer.length < partSize) {
+                    break;
+                }
+            }
+
+            try {
+                CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                // 아래에서 최초 원인으로 처리
+            }
+            Throwable cause = failure.get();
+            if (cause != null) {
+                if (cause instanceof CompletionException && cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                throw new IOException("S3 파트 업로드 실패: " + s3Key + " - " + cause.getMessage(), cause);
+            }
+            logger.info("S3 파트 업로드 완료: {} ({}개 파트, {}bytes)", s3Key, parts.size(), uploadedBytes);
+        }
+
+        /**
+         * 업로드한 파트를 하나의 객체로 확정
+         */
+        public void complete() throws IOException {
+            try {
+                List<CompletedPart> completedParts = new ArrayList<>();
+                for (CompletableFuture<CompletedPart> part : parts) {
+                    completedParts.add(part.join());
+                }
+                completedParts.sort(Comparator.comparing(CompletedPart::partNumber));
+                s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                    .build());
+                logger.info("S3 멀티파트 업로드 완료: {} ({}bytes)", s3Key, uploadedBytes);
+            } catch (S3Exception | CompletionException e) {
+                throw new IOException("S3 멀티파트 업로드 완료 처리 중 오류 발생: " + s3Key + " - " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * 업로드 취소 (업로드된 파트 삭제, 실패는 로그만 남김)
+         */
+        public void abort() {
+            try {
+                s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .uploadId(uploadId)
+                    .build());
+                logger.info("S3 멀티파트 업로드 취소: {}", s3Key);
+            } catch (S3Exception e) {
+                logger.warn("S3 멀티파트 업로드 취소 실패: {} - {}", s3Key, e.getMessage());
+            }
+        }
+
+        private CompletedPart uploadPart(int partNumber, byte[] data) {
+            String eTag = s3Client.uploadPart(UploadPartRequest.builder()
+                    .bucket(bucketName)
+                    .key(s3Key)
+                    .uploadId(uploadId)
+                    .partNumber(partNumber)
+                    .contentLength((long) data.length)
+                    .build(),
+                RequestBody.fromBytes(data)).eTag();
+            return CompletedPart.builder().partNumber(partNumber).eTag(eTag).build();
+        }
+    }
+
     /**
      * URL에서 S3 키를 추출하는 헬퍼 메소드 추가
      */
@@ -139,13 +374,20 @@ public class S3Config {
      * S3 객체에 대한 pre-signed URL 생성
      */
     public String generatePresignedUrl(String s3Key) {
+        return generatePresignedUrl(s3Key, Duration.ofMinutes(10));
+    }
+
+    /**
+     * 유효 시간을 지정한 pre-signed URL 생성
+     */
+    public String generatePresignedUrl(String s3Key, Duration signatureDuration) {
         GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                 .bucket(bucketName)
                 .key(s3Key)
                 .build();
 
         GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofMinutes(10))
+                .signatureDuration(signatureDuration)
                 .getObjectRequest(getObjectRequest)
                 .build();
 
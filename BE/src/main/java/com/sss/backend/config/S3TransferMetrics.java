@@ -0,0 +1,96 @@
+package com.sss.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.http.SdkHttpHeaders;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * S3 요청 메트릭 (S3Client 실행 인터셉터)
+ * 작업(PutObject, UploadPart, GetObject 등)별 소요 시간과 전송 바이트 수를 기록한다
+ * 업로드는 요청 본문 크기, 다운로드는 응답 Content-Length를 사용한다
+ * (GetObject 스트림은 응답 헤더를 받은 시점까지만 시간에 포함됨)
+ */
+@Component
+@RequiredArgsConstructor
+public class S3TransferMetrics implements ExecutionInterceptor {
+
+    private static final ExecutionAttribute<Long> START_NANOS = new ExecutionAttribute<>("S3TransferMetricsStart");
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes executionAttributes) {
+        executionAttributes.putAttribute(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterExecution(Context.AfterExecution context, ExecutionAttributes executionAttributes) {
+        String operation = operation(executionAttributes);
+        record(operation, executionAttributes, "success");
+
+        if (context.httpRequest().firstMatchingHeader("Content-Length").isPresent() && context.requestBody().isPresent()) {
+            countBytes(operation, "upload", contentLength(context.httpRequest()));
+        } else if ("GetObject".equals(operation)) {
+            countBytes(operation, "download", contentLength(context.httpResponse()));
+        }
+    }
+
+    @Override
+    public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes executionAttributes) {
+        record(operation(executionAttributes), executionAttributes, "error");
+    }
+
+    private void record(String operation, ExecutionAttributes executionAttributes, String outcome) {
+        Long start = executionAttributes.getAttribute(START_NANOS);
+        if (start == null) {
+            return;
+        }
+        Timer.builder("s3.transfer.duration")
+                .description("S3 요청 소요 시간")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void countBytes(String operation, String direction, long bytes) {
+        if (bytes <= 0) {
+            return;
+        }
+        Counter.builder("s3.transfer.bytes")
+                .description("S3 전송 바이트 수")
+                .baseUnit("bytes")
+                .tag("operation", operation)
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .increment(bytes);
+    }
+
+    private static String operation(ExecutionAttributes executionAttributes) {
+        return Optional.ofNullable(executionAttributes.getAttribute(SdkExecutionAttribute.OPERATION_NAME)).orElse("unknown");
+    }
+
+    private static long contentLength(SdkHttpHeaders headers) {
+        return headers.firstMatchingHeader("Content-Length")
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        return 0L;
+                    }
+                })
+                .orElse(0L);
+    }
+}
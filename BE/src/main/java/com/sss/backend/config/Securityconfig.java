@@ -4,6 +4,7 @@ package com.sss.backend.config;
 import com.sss.backend.jwt.JWTFilter;
 import com.sss.backend.jwt.JWTUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,6 +14,7 @@ import org.springframework.security.config.annotation.web.configurers.AuthorizeH
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -28,6 +30,10 @@ public class Securityconfig {
 
     private final JWTUtil jwtUtil;
 
+    // Actuator 전용 관리 포트 (외부에 공개하지 않는 포트, 설정하지 않으면 -1)
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     public Securityconfig(JWTUtil jwtUtil) {
         this.jwtUtil = jwtUtil;
     }
@@ -69,9 +75,21 @@ public class Securityconfig {
         auth
                 .requestMatchers("/", "/api/auth/oauth", "/api/auth/check", "/api/auth/refresh", "/api/youtube/auth", "/api/youtube/auth/callback", "/api/youtube/auth/validate","/api/redis/*").permitAll()
                 .requestMatchers(HttpMethod.POST,"/api/youtube/upload","/api/youtube/auth/logout").permitAll()
+                // 헬스 체크
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                // Prometheus 수집은 관리 포트로 들어온 요청만 허용 (공개 포트에서는 인증 필요)
+                .requestMatchers(managementPortRequest(HttpMethod.GET, "/actuator/prometheus")).permitAll()
                 .anyRequest().authenticated();
     }
 
+    // 관리 포트(management.server.port)로 들어온 요청만 일치
+    private RequestMatcher managementPortRequest(HttpMethod method, String path) {
+        return request -> managementPort > 0
+                && request.getLocalPort() == managementPort
+                && method.matches(request.getMethod())
+                && path.equals(request.getRequestURI());
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,63 @@
+package com.sss.backend.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 정지 이미지 씬 클립용 인코딩 프로필
+ * 씬 클립은 한 장의 그림과 오디오뿐이므로 낮은 내부 프레임레이트로 필터를 돌리고,
+ * 출력 프레임레이트로 복제한 프레임을 긴 GOP + stillimage 튜닝으로 인코딩한다
+ */
+@Component
+@ConfigurationProperties(prefix = "video.encode.still")
+@Getter
+@Setter
+public class StillEncodingProperties {
+
+    // x264 프리셋 (빠를수록 인코딩 시간 감소, 정지 화면이라 화질 차이는 작음)
+    private String preset = "veryfast";
+
+    // x264 튜닝
+    private String tune = "stillimage";
+
+    // 화질 설정 (0-51, 낮을수록 고화질)
+    private int crf = 23;
+
+    // 필터(정지 화면 유지, 자막)를 처리하는 내부 프레임레이트 (자막 타이밍 해상도 = 1/internalFps 초)
+    private int internalFps = 10;
+
+    // 최종 출력 프레임레이트 (YouTube Shorts 권장 범위 24~60)
+    private int outputFps = 30;
+
+    // 키프레임 간격 (초)
+    private int gopSeconds = 10;
+
+    public int getGopFrames() {
+        return outputFps * gopSeconds;
+    }
+
+    /**
+     * libx264 출력 옵션 목록 (코덱, 픽셀 포맷 제외)
+     */
+    public List<String> x264Args() {
+        return x264Args(preset, crf, outputFps);
+    }
+
+    /**
+     * 프리셋/화질/출력 프레임레이트를 지정한 libx264 출력 옵션 목록 (튜닝, GOP 길이(초)는 이 프로필 값 사용)
+     */
+    public List<String> x264Args(String preset, int crf, int outputFps) {
+        return List.of(
+                "-preset", preset,
+                "-tune", tune,
+                "-crf", String.valueOf(crf),
+                "-r", String.valueOf(outputFps),
+                "-g", String.valueOf(outputFps * gopSeconds),
+                "-sc_threshold", "0"
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.sss.backend.config;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
@@ -14,8 +15,12 @@ import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebClientConfig {
 
+    // AI 서버 호출 시간/오류 메트릭
+    private final AiBackendMetricsFilter aiBackendMetricsFilter;
+
     @Bean
     public WebClient webClient(WebClient.Builder builder) {
 
@@ -38,6 +43,7 @@ public class WebClientConfig {
         return builder
                 .exchangeStrategies(exchangeStrategies)
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(aiBackendMetricsFilter)
 //                .baseUrl("http://35.216.58.38:8000")  // 컨테이너 네트워크에서 접속
                 .baseUrl(System.getenv("FASTAPI_BASE_URL")+":8000")  // 컨테이너 네트워크에서 접속
                 .defaultHeader("Content-Type", "application/json")
@@ -49,6 +55,7 @@ public class WebClientConfig {
         return builder
 //                .baseUrl("http://35.216.58.38:8001")  // 컨테이너 네트워크에서 접속
                 .baseUrl(System.getenv("FASTAPI_BASE_URL")+":8001")  // 컨테이너 네트워크에서 접속
+                .filter(aiBackendMetricsFilter)
                 .defaultHeader("Content-Type", "application/json")
                 .build();
 
@@ -58,6 +65,7 @@ public class WebClientConfig {
     public WebClient webClientVoice(WebClient.Builder builder) {
         return builder
                 .baseUrl("http://64.46.12.35:40696")  // 컨테이너 네트워크에서 접속
+                .filter(aiBackendMetricsFilter)
                 .defaultHeader("Content-Type", "application/json")
                 .build();
 
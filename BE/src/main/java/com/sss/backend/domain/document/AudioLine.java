@@ -0,0 +1,42 @@
+package com.sss.backend.domain.document;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Scene.audioArr의 대사 하나
+ * 스크립트 변환 시 채워지는 값(text, type, character, emotion, emotionParams)과
+ * 오디오 생성 후 저장되는 값(audio_url, duration 등)을 함께 가진다
+ * 필드 이름은 기존 문서의 키와 같음
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL) // 문서에 없는 키는 응답에서도 제외
+public class AudioLine {
+
+    private Integer audioId;
+    private String text;
+    private String type;
+    private String character;
+    private String emotion;
+    private EmotionParams emotionParams;
+
+    // 오디오 생성 결과
+    private String audio_url;
+    private String content_type;
+    private Long file_size;
+    private String base_model;
+    private String audio_settings;
+    private String voice_code;
+    private Double duration;
+
+    // Zonos 생성 결과
+    private Integer sample_rate;
+    private Long seed;
+
+    // 오디오가 생성되어 있는지
+    public boolean hasAudio() {
+        return audio_url != null && !audio_url.isEmpty();
+    }
+}
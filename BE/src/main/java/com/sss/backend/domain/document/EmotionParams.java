@@ -0,0 +1,22 @@
+package com.sss.backend.domain.document;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 대사의 감정 수치 (0 ~ 1.0, 스크립트 변환 시 누락된 감정은 0으로 채움)
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL) // 문서에 없는 키는 응답에서도 제외
+public class EmotionParams {
+
+    private Double happiness;
+    private Double sadness;
+    private Double disgust;
+    private Double fear;
+    private Double surprise;
+    private Double anger;
+    private Double neutral;
+}
@@ -0,0 +1,46 @@
+package com.sss.backend.domain.document;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * SceneDocument.sceneArr의 씬 하나
+ * 필드 이름은 기존 문서의 키와 같음 (sceneId, image_prompt, image_url, audioArr)
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL) // 문서에 없는 키는 응답에서도 제외
+public class Scene {
+
+    private Integer sceneId;
+    private String image_prompt;
+    private String image_url;
+    private List<AudioLine> audioArr;
+
+    // 이미지가 생성되어 있는지
+    public boolean hasImage() {
+        return image_url != null && !image_url.isEmpty();
+    }
+
+    /**
+     * audioId로 대사 찾기
+     * audioId는 1부터 순서대로 부여되므로 (ScriptTransformService) 해당 위치를 먼저 확인하고, 다르면 전체에서 찾는다
+     */
+    public Optional<AudioLine> findAudioLine(int audioId) {
+        if (audioArr == null) {
+            return Optional.empty();
+        }
+        int index = audioId - 1;
+        if (index >= 0 && index < audioArr.size() && Objects.equals(audioArr.get(index).getAudioId(), audioId)) {
+            return Optional.of(audioArr.get(index));
+        }
+        return audioArr.stream()
+                .filter(line -> Objects.equals(line.getAudioId(), audioId))
+                .findFirst();
+    }
+}
@@ -7,7 +7,8 @@ import lombok.Setter;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 //@Data
 @Getter
@@ -23,6 +24,33 @@ public class SceneDocument {
     private String narVoiceCode;
     private String audioModelName;
     private String imageModelName;
-    private List<Map<String,Object>> characterArr;
-    private List<Map<String,Object>> sceneArr;
+    private List<StoryCharacter> characterArr;
+    private List<Scene> sceneArr;
+
+    /**
+     * sceneId로 씬 찾기
+     * sceneId는 1부터 순서대로 부여되므로 (ScriptTransformService) 해당 위치를 먼저 확인하고, 다르면 전체에서 찾는다
+     */
+    public Optional<Scene> findScene(int sceneId) {
+        if (sceneArr == null) {
+            return Optional.empty();
+        }
+        int index = sceneId - 1;
+        if (index >= 0 && index < sceneArr.size() && Objects.equals(sceneArr.get(index).getSceneId(), sceneId)) {
+            return Optional.of(sceneArr.get(index));
+        }
+        return sceneArr.stream()
+                .filter(scene -> Objects.equals(scene.getSceneId(), sceneId))
+                .findFirst();
+    }
+
+    // 이름으로 등장인물 찾기
+    public Optional<StoryCharacter> findCharacter(String name) {
+        if (characterArr == null || name == null) {
+            return Optional.empty();
+        }
+        return characterArr.stream()
+                .filter(character -> name.equals(character.getName()))
+                .findFirst();
+    }
 }
@@ -0,0 +1,20 @@
+package com.sss.backend.domain.document;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SceneDocument.characterArr의 등장인물 하나
+ * (java.lang.Character와 겹치지 않도록 StoryCharacter로 명명)
+ */
+@Getter
+@Setter
+@JsonInclude(JsonInclude.Include.NON_NULL) // 문서에 없는 키는 응답에서도 제외
+public class StoryCharacter {
+
+    private String name;
+    private String gender;
+    private String properties;
+    private String voiceCode;
+}
@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 
 @Entity
 @Getter @Setter
@@ -37,6 +39,13 @@ public class Video {
     @Column
     private LocalDateTime completedAt;
 
+    // 추가 출력 형식 (렌디션 이름 -> S3 URL)
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "video_rendition", joinColumns = @JoinColumn(name = "video_id"))
+    @MapKeyColumn(name = "name")
+    @Column(name = "url")
+    private Map<String, String> renditions = new HashMap<>();
+
     public enum VideoStatus {
         PENDING,       // 대기 중
         PROCESSING,    // 처리 중
@@ -0,0 +1,18 @@
+package com.sss.backend.domain.event;
+
+import lombok.Getter;
+
+/**
+ * 렌더링 중 HLS 플레이리스트가 재생 가능해졌을 때 발행되는 이벤트 (첫 씬 공개 시 한 번)
+ */
+@Getter
+public class HlsPlaylistReadyEvent {
+
+    private final String storyId;
+    private final String playlistUrl;
+
+    public HlsPlaylistReadyEvent(String storyId, String playlistUrl) {
+        this.storyId = storyId;
+        this.playlistUrl = playlistUrl;
+    }
+}
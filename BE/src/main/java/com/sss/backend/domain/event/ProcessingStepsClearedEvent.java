@@ -0,0 +1,16 @@
+package com.sss.backend.domain.event;
+
+import lombok.Getter;
+
+/**
+ * 비디오 처리가 끝나(완료/실패) 처리 단계 정보가 삭제될 때 발행되는 이벤트
+ */
+@Getter
+public class ProcessingStepsClearedEvent {
+
+    private final String storyId;
+
+    public ProcessingStepsClearedEvent(String storyId) {
+        this.storyId = storyId;
+    }
+}
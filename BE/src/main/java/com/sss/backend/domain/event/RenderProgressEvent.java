@@ -0,0 +1,18 @@
+package com.sss.backend.domain.event;
+
+import lombok.Getter;
+
+/**
+ * 비디오 렌더링 진행률 변경 이벤트
+ */
+@Getter
+public class RenderProgressEvent {
+
+    private final String storyId;
+    private final int percent;
+
+    public RenderProgressEvent(String storyId, int percent) {
+        this.storyId = storyId;
+        this.percent = percent;
+    }
+}
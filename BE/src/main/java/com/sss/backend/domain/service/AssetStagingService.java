@@ -0,0 +1,182 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.config.S3Config;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 작업 단위 에셋 스테이징 서비스
+ * - 이미지/오디오가 생성되는 즉시 S3Client로 작업 디렉토리에 내려받는다 (pre-signed HTTP 사용 안 함)
+ * - 같은 URL은 작업 안에서 한 번만 다운로드하고, 이후 단계(길이 추출, 오디오 조립, 렌더링)는 로컬 파일을 사용한다
+ * - 스테이징 디렉토리는 작업마다 RenderWorkspaceManager의 작업 공간으로 만들어 용량 한도/고아 정리 대상에 포함된다
+ * - 작업이 끝나면(StoryContextService.end) 성공/실패와 관계없이 close()로 정리한다
+ */
+@Slf4j
+@Service
+public class AssetStagingService {
+
+    private final S3Config s3Config;
+    private final RenderWorkspaceManager renderWorkspaceManager;
+    private final Executor stagingTaskExecutor;
+
+    public AssetStagingService(S3Config s3Config, RenderWorkspaceManager renderWorkspaceManager,
+                               @Qualifier("stagingTaskExecutor") Executor stagingTaskExecutor) {
+        this.s3Config = s3Config;
+        this.renderWorkspaceManager = renderWorkspaceManager;
+        this.stagingTaskExecutor = stagingTaskExecutor;
+    }
+
+    /**
+     * 작업 하나의 스테이징 시작 (디렉토리는 첫 다운로드 때 만듦, close()를 반드시 호출)
+     */
+    public Staging open(String storyId) {
+        return new Staging(storyId);
+    }
+
+    /**
+     * 작업 하나의 스테이징된 에셋
+     */
+    public class Staging implements AutoCloseable {
+        private final String storyId;
+        // 에셋 URL -> 다운로드 작업
+        private final Map<String, CompletableFuture<Path>> assets = new ConcurrentHashMap<>();
+        // 작업 공간 생성/삭제 보호 (생성 시 디스크 사용량을 조회하므로 가상 스레드를 고정하지 않도록 ReentrantLock 사용)
+        private final ReentrantLock lock = new ReentrantLock();
+        private RenderWorkspaceManager.RenderWorkspace workspace;
+        private boolean closed;
+
+        private Staging(String storyId) {
+            this.storyId = storyId;
+        }
+
+        /**
+         * 에셋 다운로드를 비동기로 시작한다 (이미 요청된 URL이면 기존 작업을 반환)
+         * S3 URL이 아닌 로컬 경로는 그대로 반환한다
+         */
+        public CompletableFuture<Path> prefetch(String assetUrl) {
+            if (assetUrl == null || assetUrl.isBlank()) {
+                return CompletableFuture.failedFuture(new IllegalArgumentException("에셋 URL이 비어있습니다"));
+            }
+            if (!assetUrl.startsWith("http")) {
+                return CompletableFuture.completedFuture(Paths.get(assetUrl));
+            }
+            if (isClosed()) {
+                return CompletableFuture.failedFuture(new IllegalStateException("이미 정리된 스테이징입니다: storyId=" + storyId));
+            }
+            return assets.computeIfAbsent(assetUrl,
+                    url -> CompletableFuture.supplyAsync(() -> download(url), stagingTaskExecutor));
+        }
+
+        /**
+         * 에셋의 로컬 경로를 반환한다 (다운로드가 진행 중이면 완료될 때까지 대기)
+         */
+        public Path stage(String assetUrl) {
+            CompletableFuture<Path> future = prefetch(assetUrl);
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                // 실패한 작업은 캐시에서 제거하여 다음 요청 때 다시 시도
+                assets.remove(assetUrl, future);
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                throw new RuntimeException("에셋 스테이징 실패: " + assetUrl + " - " + cause.getMessage(), cause);
+            }
+        }
+
+        /**
+         * 여러 에셋을 병렬로 내려받고 입력 순서대로 로컬 경로를 반환한다
+         */
+        public List<Path> stageAll(List<String> assetUrls) {
+            // 먼저 모든 다운로드를 시작한 뒤 순서대로 대기
+            for (String assetUrl : assetUrls) {
+                prefetch(assetUrl);
+            }
+
+            List<Path> paths = new ArrayList<>();
+            for (String assetUrl : assetUrls) {
+                paths.add(stage(assetUrl));
+            }
+            return paths;
+        }
+
+        /**
+         * 진행 중인 다운로드를 취소하고 스테이징 디렉토리를 삭제한다 (여러 번 호출해도 안전)
+         */
+        @Override
+        public void close() {
+            RenderWorkspaceManager.RenderWorkspace toDelete;
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                toDelete = workspace;
+            } finally {
+                lock.unlock();
+            }
+            assets.values().forEach(future -> future.cancel(false));
+            assets.clear();
+            if (toDelete != null) {
+                toDelete.close();
+                log.info("스테이징 디렉토리 정리 완료: storyId={}", storyId);
+            }
+        }
+
+        private boolean isClosed() {
+            lock.lock();
+            try {
+                return closed;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 첫 다운로드 때 작업 공간을 만듦
+        private RenderWorkspaceManager.RenderWorkspace workspace() throws IOException {
+            lock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("이미 정리된 스테이징입니다: storyId=" + storyId);
+                }
+                if (workspace == null) {
+                    workspace = renderWorkspaceManager.open(storyId);
+                }
+                return workspace;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // S3Client로 임시 파일에 받은 뒤 최종 경로로 이동 (중간에 실패해도 불완전한 파일이 남지 않음)
+        private Path download(String assetUrl) {
+            String s3Key = s3Config.extractS3KeyFromUrl(assetUrl);
+            try {
+                Path target = workspace().resolve(s3Key.replace('/', '_'));
+                Path partial = target.resolveSibling(target.getFileName() + ".part");
+
+                long start = System.currentTimeMillis();
+                s3Config.downloadFromS3(s3Key, partial.toString());
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.info("에셋 스테이징 완료: storyId={}, key={}, {}ms", storyId, s3Key, System.currentTimeMillis() - start);
+                return target;
+            } catch (IOException e) {
+                throw new RuntimeException("에셋 다운로드 실패: " + s3Key + " - " + e.getMessage(), e);
+            }
+        }
+    }
+}
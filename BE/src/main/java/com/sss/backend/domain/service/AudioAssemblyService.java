@@ -0,0 +1,259 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.config.S3Config;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 씬 오디오 조립 서비스
+ * - 스토리의 모든 대사 오디오를 한 번의 FFmpeg 실행으로 PCM 디코딩한 뒤 Java에서 이어 붙인다
+ * - 대사별 시작 위치를 샘플 단위로 기록하여 자막 타이밍에 사용한다
+ * - 대사를 하나씩 추가하며 MP3를 다시 인코딩하지 않으므로 작업량이 대사 수에 선형이고 음질 손실이 없다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AudioAssemblyService {
+
+    // 조립된 트랙의 PCM 형식 (s16le, 44.1kHz, 스테레오)
+    public static final int SAMPLE_RATE = 44100;
+    public static final int CHANNELS = 2;
+    // FFmpeg 채널 레이아웃 이름 (anullsrc/aformat 등 필터에서 같은 형식을 만들 때 사용)
+    public static final String CHANNEL_LAYOUT = CHANNELS == 1 ? "mono" : "stereo";
+    private static final int BYTES_PER_FRAME = CHANNELS * 2;
+    private static final int WAV_HEADER_SIZE = 44;
+
+    private final FFmpegProcessSupervisor ffmpegProcessSupervisor;
+    private final S3Config s3Config;
+
+    /**
+     * 스토리 전체 오디오를 씬별 WAV 트랙으로 조립한다
+     *
+     * @param sceneAudioUrls 씬 순서대로 정렬된 대사 오디오 URL 목록
+     * @param workDir 중간 파일과 씬 트랙을 저장할 디렉토리
+     * @return 씬별 트랙과 대사 오프셋 정보
+     */
+    public StoryTrack assembleStory(List<List<String>> sceneAudioUrls, Path workDir) throws IOException {
+        Files.createDirectories(workDir);
+
+        List<String> flatUrls = new ArrayList<>();
+        for (List<String> urls : sceneAudioUrls) {
+            if (urls.isEmpty()) {
+                throw new IllegalArgumentException("오디오가 없는 씬이 있습니다");
+            }
+            flatUrls.addAll(urls);
+        }
+
+        // 모든 대사를 한 번에 PCM으로 디코딩
+        List<Path> pcmFiles = decodeToPcm(flatUrls, workDir);
+
+        try {
+            List<SceneTrack> scenes = new ArrayList<>();
+            int offset = 0;
+            for (int i = 0; i < sceneAudioUrls.size(); i++) {
+                int lineCount = sceneAudioUrls.get(i).size();
+                Path sceneWav = workDir.resolve("scene_" + i + ".wav");
+                scenes.add(writeTrack(pcmFiles.subList(offset, offset + lineCount), sceneWav));
+                offset += lineCount;
+            }
+
+            StoryTrack storyTrack = new StoryTrack(scenes);
+            log.info("스토리 오디오 조립 완료: 씬 {}개, 대사 {}개, 길이 {}초",
+                    scenes.size(), flatUrls.size(), storyTrack.getDurationSeconds());
+            return storyTrack;
+        } finally {
+            for (Path pcm : pcmFiles) {
+                Files.deleteIfExists(pcm);
+            }
+        }
+    }
+
+    /**
+     * 한 씬의 대사 오디오를 하나의 WAV 트랙으로 조립한다
+     */
+    public SceneTrack assembleScene(List<String> audioUrls, Path outputPath) throws IOException {
+        if (audioUrls.isEmpty()) {
+            throw new IllegalArgumentException("병합할 오디오 URL이 없습니다");
+        }
+        Path workDir = outputPath.toAbsolutePath().getParent();
+        Files.createDirectories(workDir);
+
+        List<Path> pcmFiles = decodeToPcm(audioUrls, workDir);
+        try {
+            return writeTrack(pcmFiles, outputPath);
+        } finally {
+            for (Path pcm : pcmFiles) {
+                Files.deleteIfExists(pcm);
+            }
+        }
+    }
+
+    /**
+     * 입력 오디오를 하나의 FFmpeg 프로세스에서 각각 raw PCM 파일로 디코딩한다
+     */
+    private List<Path> decodeToPcm(List<String> audioUrls, Path workDir) throws IOException {
+        List<String> args = new ArrayList<>();
+        args.add("-y");
+        args.add("-protocol_whitelist");
+        args.add("file,http,https,tcp,tls");
+
+        for (String audioUrl : audioUrls) {
+            args.add("-i");
+            args.add(resolveInput(audioUrl));
+        }
+
+        List<Path> pcmFiles = new ArrayList<>();
+        for (int i = 0; i < audioUrls.size(); i++) {
+            Path pcm = workDir.resolve("line_" + i + "_" + System.nanoTime() + ".pcm");
+            args.add("-map");
+            args.add(i + ":a:0");
+            args.add("-ac");
+            args.add(String.valueOf(CHANNELS));
+            args.add("-ar");
+            args.add(String.valueOf(SAMPLE_RATE));
+            args.add("-c:a");
+            args.add("pcm_s16le");
+            args.add("-f");
+            args.add("s16le");
+            args.add(pcm.toString());
+            pcmFiles.add(pcm);
+        }
+
+        ffmpegProcessSupervisor.run(FFmpegProcessSupervisor.Stage.AUDIO_DECODE, args);
+        return pcmFiles;
+    }
+
+    // S3 URL은 pre-signed URL로 변환, 로컬 경로는 그대로 사용
+    private String resolveInput(String audioUrl) {
+        if (audioUrl.startsWith("http")) {
+            return s3Config.generatePresignedUrl(s3Config.extractS3KeyFromUrl(audioUrl));
+        }
+        return audioUrl;
+    }
+
+    /**
+     * PCM 파일들을 순서대로 이어 붙여 WAV 트랙을 만들고 대사별 샘플 오프셋을 기록한다
+     */
+    private SceneTrack writeTrack(List<Path> pcmFiles, Path outputPath) throws IOException {
+        long[] lineStarts = new long[pcmFiles.size()];
+        long[] lineLengths = new long[pcmFiles.size()];
+        long totalBytes = 0;
+
+        for (int i = 0; i < pcmFiles.size(); i++) {
+            long size = Files.size(pcmFiles.get(i));
+            lineStarts[i] = totalBytes / BYTES_PER_FRAME;
+            lineLengths[i] = size / BYTES_PER_FRAME;
+            totalBytes += lineLengths[i] * BYTES_PER_FRAME;
+        }
+
+        try (FileChannel out = FileChannel.open(outputPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            out.write(wavHeader(totalBytes));
+            for (int i = 0; i < pcmFiles.size(); i++) {
+                try (FileChannel in = FileChannel.open(pcmFiles.get(i), StandardOpenOption.READ)) {
+                    long remaining = lineLengths[i] * BYTES_PER_FRAME;
+                    long position = 0;
+                    while (position < remaining) {
+                        position += in.transferTo(position, remaining - position, out);
+                    }
+                }
+            }
+        }
+
+        return new SceneTrack(outputPath, lineStarts, lineLengths);
+    }
+
+    // 표준 44바이트 PCM WAV 헤더
+    private ByteBuffer wavHeader(long dataBytes) {
+        ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("RIFF".getBytes());
+        header.putInt((int) (36 + dataBytes));
+        header.put("WAVE".getBytes());
+        header.put("fmt ".getBytes());
+        header.putInt(16);
+        header.putShort((short) 1);
+        header.putShort((short) CHANNELS);
+        header.putInt(SAMPLE_RATE);
+        header.putInt(SAMPLE_RATE * BYTES_PER_FRAME);
+        header.putShort((short) BYTES_PER_FRAME);
+        header.putShort((short) 16);
+        header.put("data".getBytes());
+        header.putInt((int) dataBytes);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * 조립된 씬 오디오 트랙 (대사별 시작 샘플과 길이 포함)
+     */
+    @Getter
+    public static class SceneTrack {
+        private final Path file;
+        private final long[] lineStartSamples;
+        private final long[] lineSampleCounts;
+
+        public SceneTrack(Path file, long[] lineStartSamples, long[] lineSampleCounts) {
+            this.file = file;
+            this.lineStartSamples = lineStartSamples;
+            this.lineSampleCounts = lineSampleCounts;
+        }
+
+        public int getLineCount() {
+            return lineStartSamples.length;
+        }
+
+        public long getTotalSamples() {
+            int last = lineStartSamples.length - 1;
+            return last < 0 ? 0 : lineStartSamples[last] + lineSampleCounts[last];
+        }
+
+        public double getLineStartSeconds(int line) {
+            return (double) lineStartSamples[line] / SAMPLE_RATE;
+        }
+
+        public double getLineEndSeconds(int line) {
+            return (double) (lineStartSamples[line] + lineSampleCounts[line]) / SAMPLE_RATE;
+        }
+
+        public double getDurationSeconds() {
+            return (double) getTotalSamples() / SAMPLE_RATE;
+        }
+    }
+
+    /**
+     * 스토리 전체 오디오 타임라인 (씬 트랙 목록)
+     */
+    @Getter
+    public static class StoryTrack {
+        private final List<SceneTrack> scenes;
+
+        public StoryTrack(List<SceneTrack> scenes) {
+            this.scenes = scenes;
+        }
+
+        // 스토리 시작 기준 씬 시작 시간 (초)
+        public double getSceneStartSeconds(int scene) {
+            long samples = 0;
+            for (int i = 0; i < scene; i++) {
+                samples += scenes.get(i).getTotalSamples();
+            }
+            return (double) samples / SAMPLE_RATE;
+        }
+
+        public double getDurationSeconds() {
+            return getSceneStartSeconds(scenes.size());
+        }
+    }
+}
@@ -3,32 +3,51 @@ package com.sss.backend.domain.service;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sss.backend.api.dto.constant.DefaultTensors;
+import com.sss.backend.domain.document.AudioLine;
+import com.sss.backend.domain.document.EmotionParams;
+import com.sss.backend.domain.document.Scene;
 import com.sss.backend.domain.document.SceneDocument;
-import com.sss.backend.domain.repository.SceneDocumentRepository;
+import com.sss.backend.domain.document.StoryCharacter;
 import com.sss.backend.config.S3Config;
 import com.sss.backend.domain.repository.VoiceRepository;
 import net.bramp.ffmpeg.FFmpeg;
-import net.bramp.ffmpeg.FFprobe;
-import net.bramp.ffmpeg.probe.FFmpegProbeResult;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.beans.factory.annotation.Value;
 
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 public class AudioService {
 
-    private final SceneDocumentRepository sceneDocumentRepository;
+    private final StoryContextService storyContextService;
     private final VoiceRepository voiceRepository;
     private final WebClient webClient;
     private final S3Config s3Config;
     private final FFmpeg ffmpeg;
-    private final FFprobe ffprobe;
+    private final MediaProbeService mediaProbeService;
+    private final MongoTemplate mongoTemplate;
 
     @Value("${api.password}")
     private String apiPassword;
@@ -42,16 +61,53 @@ public class AudioService {
     @Value("${audio.zonos.api.url}")
     private String zonosApiUrl;
 
+    // 제공자별 동시 요청 수 (모든 스토리 합산)
+    @Value("${audio.eleven.max-in-flight:4}")
+    private int elevenLabsMaxInFlight;
 
+    @Value("${audio.zonos.max-in-flight:2}")
+    private int zonosMaxInFlight;
 
-    public AudioService(SceneDocumentRepository sceneDocumentRepository, WebClient webClient, 
-                       S3Config s3Config, FFmpeg ffmpeg, FFprobe ffprobe, VoiceRepository voiceRepository) {
-        this.sceneDocumentRepository = sceneDocumentRepository;
+    // 스토리 전체 생성 시 한 번에 저장할 대사 결과 수
+    @Value("${audio.save-batch-size:8}")
+    private int audioSaveBatchSize;
+
+    private Semaphore elevenLabsPermits;
+    private Semaphore zonosPermits;
+
+    // 대사별 생성 요청은 응답을 기다리는 동안 스레드를 점유하지 않도록 가상 스레드에서 실행
+    private final ExecutorService ttsExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("Tts-", 0).factory());
+
+
+
+    public AudioService(StoryContextService storyContextService, WebClient webClient, 
+                       S3Config s3Config, FFmpeg ffmpeg, VoiceRepository voiceRepository,
+                       MediaProbeService mediaProbeService, MongoTemplate mongoTemplate) {
+        this.storyContextService = storyContextService;
         this.webClient = webClient;
         this.s3Config = s3Config;
         this.ffmpeg = ffmpeg;
-        this.ffprobe = ffprobe;
         this.voiceRepository = voiceRepository;
+        this.mediaProbeService = mediaProbeService;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (elevenLabsMaxInFlight <= 0 || zonosMaxInFlight <= 0) {
+            throw new IllegalStateException("오디오 생성 동시 요청 수는 1 이상이어야 합니다");
+        }
+        if (audioSaveBatchSize <= 0) {
+            throw new IllegalStateException("오디오 저장 묶음 크기는 1 이상이어야 합니다");
+        }
+        elevenLabsPermits = new Semaphore(elevenLabsMaxInFlight, true);
+        zonosPermits = new Semaphore(zonosMaxInFlight, true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ttsExecutor.shutdownNow();
     }
 
 //    @Value("${audio.default.model-id}")
@@ -67,11 +123,14 @@ public class AudioService {
 
 
     // 스토리 전체 오디오 생성
+    // 대사별 생성 요청을 동시에 보내고 (제공자별 동시 요청 수 제한), 결과는 각 대사 위치에만 일괄 저장한다
+    // 일부 대사가 실패해도 나머지는 저장하고, 실패한 대사 목록을 담아 예외를 던진다 (재시도 시 성공한 대사는 건너뜀)
     public SceneDocument generateAllAudios(String storyId, String audioModelName) {
         log.info("스토리 전체 오디오 생성 시작: storyId={}", storyId);
 
-        // 스토리 문서 조회
-        Optional<SceneDocument> sceneDocumentOpt = sceneDocumentRepository.findByStoryId(storyId);
+        // 스토리 문서 조회 (작업 스냅샷, 저장한 결과도 스냅샷에 반영됨)
+        StoryContextService.StoryContext context = storyContextService.context(storyId);
+        Optional<SceneDocument> sceneDocumentOpt = context.findSceneDocument();
         if (sceneDocumentOpt.isEmpty()) {
             throw new RuntimeException("해당 스토리를 찾을 수 없습니다: " + storyId);
         }
@@ -79,47 +138,66 @@ public class AudioService {
         //scene arr 찾기 위한 중간 작업(Optional 처리)
         SceneDocument sceneDocument = sceneDocumentOpt.get();
 
-        List<Map<String, Object>> sceneArr = sceneDocument.getSceneArr();
+        List<Scene> sceneArr = sceneDocument.getSceneArr();
+
+        boolean zonos = audioModelName.equals("Zonos");
+        log.info("사용된 오디오 생성 모델: {} ({})", audioModelName, zonos ? "zonos" : "elevenlabs");
+
+        // 완료된 대사 결과는 모아서 일괄 저장
+        AudioWriteBatch writeBatch = new AudioWriteBatch(context);
+        List<AudioLineTask> tasks = new ArrayList<>();
 
         // 각 씬에 대해 반복 처리
         // scene 배열 안에 각각의 scene 안에 audio 배열 존재
-        for (Map<String, Object> scene : sceneArr) {
-            int sceneId = ((Number) scene.get("sceneId")).intValue();
-            List<Map<String, Object>> audioArr = (List<Map<String, Object>>) scene.get("audioArr");
+        for (Scene scene : sceneArr) {
+            int sceneId = scene.getSceneId();
 
             // 각 씬의 오디오에 대해 반복 처리
-            for (Map<String, Object> audio : audioArr) {
-                int audioId = ((Number) audio.get("audioId")).intValue();
+            for (AudioLine audio : scene.getAudioArr()) {
+                int audioId = audio.getAudioId();
                 
                 // 이미 오디오가 생성되어 있는지 확인
-                if (audio.get("audio_url") != null && !((String) audio.get("audio_url")).isEmpty()) {
+                if (audio.hasAudio()) {
                     log.info("오디오가 이미 생성되어 있어 건너뜀: storyId={}, sceneId={}, audioId={}", 
                             storyId, sceneId, audioId);
                     continue;
                 }
 
-                if(audioModelName.equals("Zonos")){
-                    log.info("사용된 오디오 생성 모델: " + audioModelName + "--------zonos?");
-
-                    //zonos
-                    generateZonosAudio(storyId, sceneId, audioId);
-
-                }else{
-                    log.info("사용된 오디오 생성 모델: " + audioModelName+ "--------elevenlabs?");
-                    //elevenlabs
-                    generateAudio(storyId, sceneId, audioId);
-                }
+                CompletableFuture<Void> future = CompletableFuture.runAsync(() -> {
+                    // 제공자 요청만 동시 요청 수 제한을 받음 (길이 추출/저장은 제한 밖에서)
+                    Map<String, Object> fields = zonos
+                            ? withPermit(zonosPermits, () -> requestZonosAudio(storyId, sceneDocument, sceneId, audioId))
+                            : withPermit(elevenLabsPermits, () -> requestElevenLabsAudio(storyId, sceneDocument, sceneId, audioId));
+                    fields.put("duration", extractAudioDuration(context, (String) fields.get("audio_url")));
+                    writeBatch.add(new AudioLineResult(sceneId, audioId, fields));
+                }, ttsExecutor);
+                tasks.add(new AudioLineTask(sceneId, audioId, future));
             }
         }
 
-        // 최종 문서 조회하여 반환
-        Optional<SceneDocument> updatedDocumentOpt = sceneDocumentRepository.findByStoryId(storyId);
-        if (updatedDocumentOpt.isEmpty()) {
-            throw new RuntimeException("업데이트된 문서를 찾을 수 없습니다: storyId=" + storyId);
+        // 대사 순서대로 결과 확인
+        List<String> failures = new ArrayList<>();
+        for (AudioLineTask task : tasks) {
+            try {
+                task.future().join();
+            } catch (CompletionException | CancellationException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.error("오디오 생성 실패: storyId={}, sceneId={}, audioId={}, error={}",
+                        storyId, task.sceneId(), task.audioId(), cause.getMessage());
+                failures.add("sceneId=" + task.sceneId() + ", audioId=" + task.audioId() + " - " + cause.getMessage());
+            }
+        }
+        // 남은 결과 저장 (실패한 대사가 있어도 성공한 대사는 저장)
+        writeBatch.flush();
+        failures.addAll(writeBatch.getFailures());
+        if (!failures.isEmpty()) {
+            throw new RuntimeException(String.format("오디오 생성 실패 (%d/%d개 대사): %s",
+                    failures.size(), tasks.size(), String.join("; ", failures)));
         }
 
-        log.info("스토리 전체 오디오 생성 완료: storyId={}", storyId);
-        return updatedDocumentOpt.get();
+        // 저장한 결과가 반영된 스냅샷 반환 (다시 조회하지 않음)
+        log.info("스토리 전체 오디오 생성 완료: storyId={}, 생성 {}개", storyId, tasks.size());
+        return context.getSceneDocument();
     }
 
 
@@ -128,19 +206,25 @@ public class AudioService {
         log.info("오디오 생성 시작: storyId={}, sceneId={}, audioId={}", storyId, sceneId, audioId);
 
         // 스토리 데이터 조회
-        Optional<SceneDocument> sceneDocumentOpt = sceneDocumentRepository.findByStoryId(storyId);
-        if (sceneDocumentOpt.isEmpty()) {
-            throw new RuntimeException("해당 스토리를 찾을 수 없습니다: " + storyId);
-        }
+        StoryContextService.StoryContext context = storyContextService.context(storyId);
+        SceneDocument sceneDocument = context.getSceneDocument();
 
-        SceneDocument sceneDocument = sceneDocumentOpt.get();
+        Map<String, Object> fields = withPermit(elevenLabsPermits,
+                () -> requestElevenLabsAudio(storyId, sceneDocument, sceneId, audioId));
+
+        // 오디오 길이 추출 및 저장
+        fields.put("duration", extractAudioDuration(context, (String) fields.get("audio_url")));
+        return saveAudioFields(context, sceneId, audioId, fields);
+    }
 
+    // (elevenlabs) 오디오 생성 API 호출, 대사에 저장할 값 반환 (문서는 변경하지 않음)
+    private Map<String, Object> requestElevenLabsAudio(String storyId, SceneDocument sceneDocument, int sceneId, int audioId) {
         // 해당 오디오 찾기
-        Map<String, Object> targetAudio = findSceneAndAudio(sceneDocument, sceneId, audioId);
+        AudioLine targetAudio = findSceneAndAudio(sceneDocument, sceneId, audioId);
 
         //오디오의 text와 character 찾기 -> request에 넣어야함
-        String text = (String) targetAudio.get("text");
-        String character = (String) targetAudio.get("character");
+        String text = targetAudio.getText();
+        String character = targetAudio.getCharacter();
 
         if (text == null || text.trim().isEmpty()) {
             throw new RuntimeException("오디오 텍스트가 비어있습니다: audioId=" + audioId);
@@ -169,30 +253,21 @@ public class AudioService {
                     .bodyValue(requestData)
                     .retrieve()
                     .bodyToMono(Map.class)
-                    .block(); // 동기 처리를 위해 block() 사용
+                    .block(); // 동기 처리를 위해 block() 사용 (가상 스레드에서 대기)
 
             if (responseBody == null) {
                 throw new RuntimeException("오디오 생성 API 응답이 없습니다");
             }
 
-            // 해당 오디오 정보 업데이트 (기존에 있더라도 덮어쓰기)
-            String audioUrl = (String) responseBody.get("s3_url");
-            targetAudio.put("audio_url", audioUrl);
-            targetAudio.put("content_type", responseBody.get("content_type"));
-            targetAudio.put("file_size", responseBody.get("file_size"));
-            targetAudio.put("base_model", defaultModelId);
-            targetAudio.put("audio_settings", defaultOutputFormat);
-            targetAudio.put("voice_code", voiceCode);
-
-            // 오디오 길이 추출 및 저장
-            double durationInSeconds = extractAudioDuration(audioUrl);
-            targetAudio.put("duration", durationInSeconds);
-
-            // SceneDocument 저장
-            SceneDocument updatedDocument = sceneDocumentRepository.save(sceneDocument);
-            log.info("오디오 생성 및 문서 업데이트 완료: storyId={}, sceneId={}, audioId={}", storyId, sceneId, audioId);
-
-            return updatedDocument;
+            // 해당 오디오 정보 (기존에 있더라도 덮어쓰기)
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("audio_url", responseBody.get("s3_url"));
+            fields.put("content_type", responseBody.get("content_type"));
+            fields.put("file_size", responseBody.get("file_size"));
+            fields.put("base_model", defaultModelId);
+            fields.put("audio_settings", defaultOutputFormat);
+            fields.put("voice_code", voiceCode);
+            return fields;
         } catch (Exception e) {
             log.error("오디오 생성 중 오류 발생", e);
             throw new RuntimeException("오디오 생성에 실패했습니다: " + e.getMessage(), e);
@@ -204,19 +279,25 @@ public class AudioService {
         log.info("zonos 오디오 생성 시작: storyId={}, sceneId={}, audioId={}", storyId, sceneId, audioId);
 
         // 스토리 데이터 조회
-        Optional<SceneDocument> sceneDocumentOpt = sceneDocumentRepository.findByStoryId(storyId);
-        if (sceneDocumentOpt.isEmpty()) {
-            throw new RuntimeException("해당 스토리를 찾을 수 없습니다: " + storyId);
-        }
+        StoryContextService.StoryContext context = storyContextService.context(storyId);
+        SceneDocument sceneDocument = context.getSceneDocument();
 
-        SceneDocument sceneDocument = sceneDocumentOpt.get();
+        Map<String, Object> fields = withPermit(zonosPermits,
+                () -> requestZonosAudio(storyId, sceneDocument, sceneId, audioId));
+
+        // 오디오 길이 추출 및 저장
+        fields.put("duration", extractAudioDuration(context, (String) fields.get("audio_url")));
+        return saveAudioFields(context, sceneId, audioId, fields);
+    }
 
+    // (Zonos) 오디오 생성 API 호출, 대사에 저장할 값 반환 (문서는 변경하지 않음)
+    private Map<String, Object> requestZonosAudio(String storyId, SceneDocument sceneDocument, int sceneId, int audioId) {
         // 해당 오디오 찾기
-        Map<String, Object> targetAudio = findSceneAndAudio(sceneDocument, sceneId, audioId);
+        AudioLine targetAudio = findSceneAndAudio(sceneDocument, sceneId, audioId);
 
         //오디오의 text와 character 찾기 -> request에 넣어야함
-        String text = (String) targetAudio.get("text");
-        String character = (String) targetAudio.get("character");
+        String text = targetAudio.getText();
+        String character = targetAudio.getCharacter();
 
         if (text == null || text.trim().isEmpty()) {
             throw new RuntimeException("오디오 텍스트가 비어있습니다: audioId=" + audioId);
@@ -256,24 +337,24 @@ public class AudioService {
         }
 
         //emtion arr 찾기------------------------------------------------------------------------------------
-        Map<String, Object> emotionParams = (Map<String, Object>) targetAudio.get("emotionParams");
+        EmotionParams emotionParams = targetAudio.getEmotionParams();
         List<Float> emotions = new ArrayList<>();
 
         // 요청 형식에 맞게 emotion 값 변환
         // [0_행복, 1_슬픔, 2_혐오, 3_두려움, 4_놀람, 5_분노, 6_기타, 7_중립]
         if (emotionParams != null) {
             // 0_행복
-            emotions.add(((Number) emotionParams.getOrDefault("happiness", 0)).floatValue());
+            emotions.add(emotionValue(emotionParams.getHappiness()));
             // 1_슬픔
-            emotions.add(((Number) emotionParams.getOrDefault("sadness", 0)).floatValue());
+            emotions.add(emotionValue(emotionParams.getSadness()));
             // 2_혐오
-            emotions.add(((Number) emotionParams.getOrDefault("disgust", 0)).floatValue());
+            emotions.add(emotionValue(emotionParams.getDisgust()));
             // 3_두려움
-            emotions.add(((Number) emotionParams.getOrDefault("fear", 0)).floatValue());
+            emotions.add(emotionValue(emotionParams.getFear()));
             // 4_놀람
-            emotions.add(((Number) emotionParams.getOrDefault("surprise", 0)).floatValue());
+            emotions.add(emotionValue(emotionParams.getSurprise()));
             // 5_분노
-            emotions.add(((Number) emotionParams.getOrDefault("anger", 0)).floatValue());
+            emotions.add(emotionValue(emotionParams.getAnger()));
             // 6_기타
             emotions.add(0.0f); // 기타 감정은 기본값 0으로 설정
             // 7_중립 - 항상 1로 설정
@@ -313,84 +394,241 @@ public class AudioService {
                 throw new RuntimeException("오디오 생성 API 응답이 없습니다");
             }
 
-            // 해당 오디오 정보 업데이트 (기존에 있더라도 덮어쓰기)
-            String audioUrl = (String) responseBody.get("s3_url");
-            targetAudio.put("audio_url", audioUrl);
-            targetAudio.put("base_model", "Zyphra/Zonos-v0.1-transformer");
-            targetAudio.put("audio_settings", defaultOutputFormat);
-            targetAudio.put("voice_code", voiceCode);
+            // 해당 오디오 정보 (기존에 있더라도 덮어쓰기)
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("audio_url", responseBody.get("s3_url"));
+            fields.put("base_model", "Zyphra/Zonos-v0.1-transformer");
+            fields.put("audio_settings", defaultOutputFormat);
+            fields.put("voice_code", voiceCode);
 
             //저장 할 지 말지 결정
-            targetAudio.put("sample_rate", responseBody.get("sample_rate"));
-            targetAudio.put("seed", responseBody.get("seed"));
-
-            // 오디오 길이 추출 및 저장
-            double durationInSeconds = extractAudioDuration(audioUrl);
-            targetAudio.put("duration", durationInSeconds);
-
-            // SceneDocument 저장
-            SceneDocument updatedDocument = sceneDocumentRepository.save(sceneDocument);
-            log.info("오디오 생성 및 문서 업데이트 완료: storyId={}, sceneId={}, audioId={}", storyId, sceneId, audioId);
-
-            return updatedDocument;
+            fields.put("sample_rate", responseBody.get("sample_rate"));
+            fields.put("seed", responseBody.get("seed"));
+            return fields;
         } catch (Exception e) {
             log.error("오디오 생성 중 오류 발생", e);
             throw new RuntimeException("오디오 생성에 실패했습니다: " + e.getMessage(), e);
         }
     }
 
-    // 오디오 파일 길이 추출 메서드
-    private double extractAudioDuration(String audioUrl) {
-        try {
-            String s3Key = s3Config.extractS3KeyFromUrl(audioUrl);
-            String presignedUrl = s3Config.generatePresignedUrl(s3Key);
-            
-            // net.bramp.ffmpeg 라이브러리 API 사용
-            FFmpegProbeResult probeResult = ffprobe.probe(presignedUrl);
-            double durationInSeconds = probeResult.format.duration;
-            
-            log.info("오디오 길이 추출 성공: {} 초", durationInSeconds);
-            return durationInSeconds;
-        } catch (Exception e) {
-            log.error("오디오 길이 추출 중 오류 발생: {}", e.getMessage(), e);
-            return 0.0; // 추출 실패 시 기본값 0으로 설정
+    // 생성된 오디오 정보를 해당 대사 위치에만 저장하고, 스냅샷에 반영하여 반환
+    private SceneDocument saveAudioFields(StoryContextService.StoryContext context, int sceneId, int audioId,
+                                          Map<String, Object> fields) {
+        String storyId = context.getStoryId();
+        UpdateResult result = mongoTemplate.updateFirst(
+                audioLineQuery(storyId, sceneId, audioId), audioLineUpdate(sceneId, audioId, fields), "scenes");
+        if (result.getMatchedCount() == 0) {
+            throw new RuntimeException("해당 대사를 찾을 수 없습니다: storyId=" + storyId
+                    + ", sceneId=" + sceneId + ", audioId=" + audioId);
         }
+        log.info("오디오 생성 및 문서 업데이트 완료: storyId={}, sceneId={}, audioId={}", storyId, sceneId, audioId);
+
+        context.updateAudioLine(sceneId, audioId, line -> applyAudioFields(line, fields));
+        return context.getSceneDocument();
     }
 
-    //특정 씬과 오디오 찾는 메서드
-    private Map<String, Object> findSceneAndAudio(SceneDocument sceneDocument, int sceneId, Integer audioId) {
+    // 저장한 값을 스냅샷의 대사에 반영 (키는 Mongo 필드 이름)
+    private static void applyAudioFields(AudioLine line, Map<String, Object> fields) {
+        fields.forEach((key, value) -> {
+            switch (key) {
+                case "audio_url" -> line.setAudio_url((String) value);
+                case "content_type" -> line.setContent_type((String) value);
+                case "file_size" -> line.setFile_size(value instanceof Number number ? number.longValue() : null);
+                case "base_model" -> line.setBase_model((String) value);
+                case "audio_settings" -> line.setAudio_settings((String) value);
+                case "voice_code" -> line.setVoice_code((String) value);
+                case "duration" -> line.setDuration(value instanceof Number number ? number.doubleValue() : null);
+                case "sample_rate" -> line.setSample_rate(value instanceof Number number ? number.intValue() : null);
+                case "seed" -> line.setSeed(value instanceof Number number ? number.longValue() : null);
+                default -> {
+                }
+            }
+        });
+    }
+
+    // 대사 위치까지 조건에 포함 (arrayFilters는 일치하는 원소가 없어도 문서와 일치하므로, 잘못된 sceneId/audioId를 matchedCount로 알 수 있도록)
+    private static Query audioLineQuery(String storyId, int sceneId, int audioId) {
+        return new Query(Criteria.where("storyId").is(storyId)
+                .and("sceneArr").elemMatch(Criteria.where("sceneId").is(sceneId)
+                        .and("audioArr").elemMatch(Criteria.where("audioId").is(audioId))));
+    }
+
+    // sceneArr.$[scene].audioArr.$[audio] 위치의 필드만 $set (문서 전체를 다시 쓰지 않으므로 이미지 저장 등 다른 필드 변경과 겹치지 않음)
+    private static Update audioLineUpdate(int sceneId, int audioId, Map<String, Object> fields) {
+        Update update = new Update();
+        fields.forEach((key, value) -> update.set("sceneArr.$[scene].audioArr.$[audio]." + key, value));
+        return update
+                .filterArray(Criteria.where("scene.sceneId").is(sceneId))
+                .filterArray(Criteria.where("audio.audioId").is(audioId));
+    }
+
+    // 생성이 끝난 대사 하나의 저장할 값
+    private record AudioLineResult(int sceneId, int audioId, Map<String, Object> fields) {
+    }
 
-        // 해당 씬 찾기
-        Map<String, Object> targetScene = null;
-        List<Map<String, Object>> sceneArr = sceneDocument.getSceneArr();
+    // 한 스토리의 대사 결과를 모아 BulkOperations로 일괄 저장 (audio.save-batch-size개마다, 마지막에 flush)
+    // ttsExecutor의 가상 스레드에서 호출되므로 synchronized 대신 ReentrantLock을 쓰고, 저장은 잠금 밖에서 실행
+    private class AudioWriteBatch {
+        private final StoryContextService.StoryContext context;
+        private final String storyId;
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<AudioLineResult> pending = new ArrayList<>();
+        private final List<String> failures = new ArrayList<>();
+
+        private AudioWriteBatch(StoryContextService.StoryContext context) {
+            this.context = context;
+            this.storyId = context.getStoryId();
+        }
 
-        for (Map<String, Object> scene : sceneArr) {
-            if (((Number) scene.get("sceneId")).intValue() == sceneId) {
-                targetScene = scene;
-                break;
+        void add(AudioLineResult result) {
+            List<AudioLineResult> batch = null;
+            lock.lock();
+            try {
+                pending.add(result);
+                if (pending.size() >= audioSaveBatchSize) {
+                    batch = takePending();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (batch != null) {
+                write(batch);
             }
         }
 
-        if (targetScene == null) {
-            throw new RuntimeException("해당 씬을 찾을 수 없습니다: sceneId=" + sceneId);
+        void flush() {
+            List<AudioLineResult> batch;
+            lock.lock();
+            try {
+                batch = takePending();
+            } finally {
+                lock.unlock();
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
         }
 
-        // audioId가 null이면 씬 자체를 반환
-        if (audioId == null) {
-            return targetScene;
+        List<String> getFailures() {
+            lock.lock();
+            try {
+                return new ArrayList<>(failures);
+            } finally {
+                lock.unlock();
+            }
         }
 
-        // 해당 씬의 오디오 배열 가져오기
-        List<Map<String, Object>> audioArr = (List<Map<String, Object>>) targetScene.get("audioArr");
+        // 잠금을 잡은 상태에서 호출
+        private List<AudioLineResult> takePending() {
+            List<AudioLineResult> batch = pending;
+            pending = new ArrayList<>();
+            return batch;
+        }
 
-        // 해당 audioId의 오디오 찾기
-        for (Map<String, Object> audio : audioArr) {
-            if (((Number) audio.get("audioId")).intValue() == audioId) {
-                return audio;
+        private void write(List<AudioLineResult> batch) {
+            try {
+                BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "scenes");
+                for (AudioLineResult result : batch) {
+                    bulkOperations.updateOne(audioLineQuery(storyId, result.sceneId(), result.audioId()),
+                            audioLineUpdate(result.sceneId(), result.audioId(), result.fields()));
+                }
+                BulkWriteResult writeResult = bulkOperations.execute();
+
+                // 일괄 결과에는 연산별 일치 여부가 없으므로, 모자랄 때만 대사별로 존재를 확인해 저장되지 않은 대사를 찾음
+                List<AudioLineResult> saved = batch;
+                if (writeResult.getMatchedCount() < batch.size()) {
+                    log.warn("일부 대사 위치를 찾지 못했습니다: storyId={}, 요청 {}개, 일치 {}개",
+                            storyId, batch.size(), writeResult.getMatchedCount());
+                    saved = new ArrayList<>();
+                    List<String> missing = new ArrayList<>();
+                    for (AudioLineResult result : batch) {
+                        if (mongoTemplate.exists(audioLineQuery(storyId, result.sceneId(), result.audioId()), "scenes")) {
+                            saved.add(result);
+                        } else {
+                            missing.add("sceneId=" + result.sceneId() + ", audioId=" + result.audioId()
+                                    + " - 저장 실패: 대사를 찾을 수 없습니다");
+                        }
+                    }
+                    addFailures(missing);
+                }
+                log.info("오디오 정보 일괄 저장 완료: storyId={}, {}개 대사", storyId, saved.size());
+                for (AudioLineResult result : saved) {
+                    context.updateAudioLine(result.sceneId(), result.audioId(), line -> applyAudioFields(line, result.fields()));
+                }
+            } catch (RuntimeException e) {
+                log.error("오디오 정보 일괄 저장 실패: storyId={}, error={}", storyId, e.getMessage());
+                addFailures(batch.stream()
+                        .map(result -> "sceneId=" + result.sceneId() + ", audioId=" + result.audioId()
+                                + " - 저장 실패: " + e.getMessage())
+                        .toList());
             }
         }
 
-        throw new RuntimeException("해당 오디오를 찾을 수 없습니다: audioId=" + audioId);
+        private void addFailures(List<String> messages) {
+            lock.lock();
+            try {
+                failures.addAll(messages);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // 제공자 동시 요청 수 제한 안에서 실행
+    private <T> T withPermit(Semaphore permits, Supplier<T> call) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("오디오 생성 대기 중 중단되었습니다", e);
+        }
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    // 동시에 생성 중인 대사 하나
+    private record AudioLineTask(int sceneId, int audioId, CompletableFuture<Void> future) {
+    }
+
+    // 오디오 파일 길이 추출 메서드 (작업 중이면 생성 직후 스테이징된 로컬 파일 사용, 렌더링 단계에서도 재사용됨)
+    // 진행 중인 작업이 없는 단건 요청은 스테이징하지 않고 S3 범위 요청으로 추출 (정리할 작업이 없으므로)
+    private double extractAudioDuration(StoryContextService.StoryContext context, String audioUrl) {
+        try {
+            String probeInput = audioUrl;
+            Optional<AssetStagingService.Staging> staging = context.getStaging();
+            if (staging.isPresent()) {
+                try {
+                    probeInput = staging.get().stage(audioUrl).toString();
+                } catch (Exception e) {
+                    log.warn("오디오 스테이징 실패, S3 범위 요청으로 길이를 추출합니다: {}", e.getMessage());
+                }
+            }
+            
+            // 프레임/청크 헤더만 읽어 길이 계산 (ffprobe 프로세스 없음)
+            double durationInSeconds = mediaProbeService.probeDuration(probeInput);
+            
+            log.info("오디오 길이 추출 성공: {} 초", durationInSeconds);
+            return durationInSeconds;
+        } catch (Exception e) {
+            log.error("오디오 길이 추출 중 오류 발생: {}", e.getMessage(), e);
+            return 0.0; // 추출 실패 시 기본값 0으로 설정
+        }
+    }
+
+    //특정 씬과 오디오 찾는 메서드
+    private AudioLine findSceneAndAudio(SceneDocument sceneDocument, int sceneId, int audioId) {
+        Scene targetScene = sceneDocument.findScene(sceneId)
+                .orElseThrow(() -> new RuntimeException("해당 씬을 찾을 수 없습니다: sceneId=" + sceneId));
+        return targetScene.findAudioLine(audioId)
+                .orElseThrow(() -> new RuntimeException("해당 오디오를 찾을 수 없습니다: audioId=" + audioId));
+    }
+
+    // 누락된 감정 수치는 0
+    private static float emotionValue(Double value) {
+        return value != null ? value.floatValue() : 0.0f;
     }
 
     //character로 따른 voiceCode를 찾는 새로운 메서드
@@ -402,14 +640,9 @@ public class AudioService {
         }
 
         //characterArr에서 해당 이름의 캐릭터 찾기
-        List<Map<String, Object>> characterArr = sceneDocument.getCharacterArr();
-        if(characterArr != null){
-            for(Map<String,Object> character : characterArr){
-                String name = (String) character.get("name");
-                if(characterName.equals(name)){
-                    return (String) character.get("voiceCode");
-                }
-            }
+        Optional<StoryCharacter> character = sceneDocument.findCharacter(characterName);
+        if (character.isPresent()) {
+            return character.get().getVoiceCode();
         }
 
         // 일치하는 캐릭터가 없으면 narvoicecode 사용
@@ -0,0 +1,248 @@
+package com.sss.backend.domain.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * 배경 음악 베드 서비스
+ * - 클래스패스의 배경 음악을 출력 샘플레이트/채널의 AAC로 미리 인코딩한다 (음량 정규화 + 믹스 볼륨 적용)
+ * - 곡마다 길이 구간(30/60/90/120초 등)만큼 반복한 베드를 만들어 두고, 스토리 길이에 맞는 베드를 고른다
+ * - 렌더링에서는 베드를 한 번 입력으로 넣고 최종 인코딩과 같은 패스에서 섞는다 (무한 반복/별도 mux/길이 확인 없음)
+ * - 서버 시작 시 렌더 풀에서 미리 만들고, 아직 없으면 요청 시점에 만든다
+ * - 베드는 RenderWorkspaceManager의 캐시 루트 아래에 두어 전체 사용량에 포함된다
+ */
+@Slf4j
+@Service
+public class BackgroundMusicService {
+
+    private static final String BACKGROUND_MUSIC_PATH = "audios"; // 배경음악 폴더 경로
+    // 베드 인코딩 버전 (코덱 설정이 바뀌면 올려서 이전 베드를 다시 만듦, 필터 값은 파일명의 해시로 구분)
+    private static final String BED_VERSION = "1";
+    private static final String BED_EXTENSION = ".m4a";
+
+    private final FFmpegProcessSupervisor ffmpegProcessSupervisor;
+    private final RenderWorkspaceManager renderWorkspaceManager;
+    private final ThreadPoolTaskExecutor renderTaskExecutor;
+    private final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+
+    // 베드/원본 배경 음악 디렉토리 (init에서 결정)
+    private Path bgmDir;
+
+    // 원본 배경 음악 (임시 디렉토리로 복사한 경로)
+    private final List<Path> sourceTracks = new ArrayList<>();
+
+    // 베드 파일명 -> 인코딩 작업 (같은 베드는 한 번만 인코딩)
+    private final Map<String, CompletableFuture<Path>> beds = new ConcurrentHashMap<>();
+
+    // 베드 길이 구간 (초, 오름차순)
+    @Value("${video.bgm.bucket-seconds:30,60,90,120}")
+    private List<Integer> bucketSeconds;
+
+    // 정규화된 음악에 적용하는 믹스 볼륨
+    @Value("${video.bgm.volume:0.15}")
+    private double volume;
+
+    // 음량 정규화 목표 (LUFS)
+    @Value("${video.bgm.target-loudness:-16}")
+    private double targetLoudness;
+
+    public BackgroundMusicService(FFmpegProcessSupervisor ffmpegProcessSupervisor,
+                                  RenderWorkspaceManager renderWorkspaceManager,
+                                  @Qualifier("renderTaskExecutor") ThreadPoolTaskExecutor renderTaskExecutor) {
+        this.ffmpegProcessSupervisor = ffmpegProcessSupervisor;
+        this.renderWorkspaceManager = renderWorkspaceManager;
+        this.renderTaskExecutor = renderTaskExecutor;
+    }
+
+    @PostConstruct
+    public void init() {
+        bucketSeconds = bucketSeconds.stream().filter(seconds -> seconds > 0).sorted().toList();
+        copySourceTracks();
+        deleteStaleBeds();
+
+        // 모든 곡/구간의 베드를 렌더 풀에서 미리 인코딩 (실패해도 요청 시 다시 시도)
+        for (Path track : sourceTracks) {
+            for (int seconds : bucketSeconds) {
+                bed(track, seconds);
+            }
+        }
+    }
+
+    /**
+     * 주어진 길이 이상인 베드 중 가장 짧은 것을 곡을 랜덤하게 골라 반환한다
+     * 가장 긴 구간보다 긴 스토리는 첫 구간 단위로 올림한 길이의 베드를 새로 만든다
+     * @return 베드 파일 경로, 배경 음악이 없거나 인코딩에 실패하면 null
+     */
+    public Path selectBed(double durationSeconds) {
+        if (sourceTracks.isEmpty()) {
+            log.warn("사용 가능한 배경 음악 파일이 없습니다.");
+            return null;
+        }
+        Path track = sourceTracks.get(ThreadLocalRandom.current().nextInt(sourceTracks.size()));
+        int seconds = bucketFor(durationSeconds);
+
+        try {
+            return bed(track, seconds).join();
+        } catch (CompletionException e) {
+            log.warn("배경 음악 베드 준비 실패: {} ({}초) - {}", track.getFileName(), seconds,
+                    e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 베드를 최종 인코딩의 오디오와 섞는 필터 (베드는 스토리보다 길고 이미 볼륨이 적용되어 있음)
+     * @param speech 음성 스트림 라벨 (예: [speech], [0:a])
+     * @param bedInput 베드 입력 인덱스
+     * @param output 출력 라벨
+     */
+    public String mixFilter(String speech, int bedInput, String output) {
+        return speech + "[" + bedInput + ":a]amix=inputs=2:duration=first:dropout_transition=0:normalize=0" + output;
+    }
+
+    private int bucketFor(double durationSeconds) {
+        for (int seconds : bucketSeconds) {
+            if (seconds >= durationSeconds) {
+                return seconds;
+            }
+        }
+        int step = bucketSeconds.isEmpty() ? 30 : bucketSeconds.get(0);
+        return (int) Math.ceil(durationSeconds / step) * step;
+    }
+
+    private CompletableFuture<Path> bed(Path track, int seconds) {
+        String name = track.getFileName().toString().replaceFirst("\\.[^.]+$", "")
+                + "_" + seconds + "s" + bedSuffix();
+        return beds.compute(name, (key, existing) -> {
+            // 실패한 작업은 다시 시도
+            if (existing != null && !existing.isCompletedExceptionally()) {
+                return existing;
+            }
+            return CompletableFuture.supplyAsync(() -> encodeBed(track, seconds, bgmDir.resolve(key)), renderTaskExecutor);
+        });
+    }
+
+    private Path encodeBed(Path track, int seconds, Path bedPath) {
+        if (Files.exists(bedPath)) {
+            return bedPath;
+        }
+        Path partial = bedPath.resolveSibling(bedPath.getFileName() + ".partial");
+        try {
+            List<String> args = new ArrayList<>();
+            args.add("-y");
+            args.add("-stream_loop");
+            args.add("-1");
+            args.add("-i");
+            args.add(track.toString());
+            args.add("-t");
+            args.add(String.valueOf(seconds));
+            args.add("-af");
+            args.add(bedFilter());
+            args.add("-c:a");
+            args.add("aac");
+            args.add("-b:a");
+            args.add("128k");
+            args.add("-ar");
+            args.add(String.valueOf(AudioAssemblyService.SAMPLE_RATE));
+            args.add("-ac");
+            args.add(String.valueOf(AudioAssemblyService.CHANNELS));
+            args.add("-f");
+            args.add("mp4");
+            args.add(partial.toString());
+
+            ffmpegProcessSupervisor.run(FFmpegProcessSupervisor.Stage.PRECOMPUTE, args);
+            Files.move(partial, bedPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("배경 음악 베드 생성: {}", bedPath);
+            return bedPath;
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // 다음 시도에서 덮어씀
+            }
+            throw new CompletionException(new IOException("배경 음악 베드 생성 실패: " + bedPath.getFileName() + " - " + e.getMessage(), e));
+        }
+    }
+
+    // 음량 정규화 + 출력 포맷 + 믹스 볼륨 필터 (video.bgm.volume / target-loudness 반영)
+    private String bedFilter() {
+        return String.format(Locale.ROOT,
+                "loudnorm=I=%.1f:TP=-1.5:LRA=11,aresample=%d,aformat=sample_fmts=fltp:channel_layouts=stereo,volume=%.3f",
+                targetLoudness, AudioAssemblyService.SAMPLE_RATE, volume);
+    }
+
+    // 베드 파일명 끝부분 (버전 + 필터 해시, 볼륨/음량 설정이 바뀌면 다른 파일이 되어 다시 인코딩됨)
+    private String bedSuffix() {
+        return "_v" + BED_VERSION + "_" + SceneClipCache.key(bedFilter()).substring(0, 12) + BED_EXTENSION;
+    }
+
+    // 현재 설정과 다른 필터로 만든 이전 베드 삭제 (캐시 루트 사용량에 계속 남지 않도록)
+    private void deleteStaleBeds() {
+        if (bgmDir == null) {
+            return;
+        }
+        String suffix = bedSuffix();
+        try (Stream<Path> files = Files.list(bgmDir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(suffix))
+                    .forEach(path -> {
+                        path.toFile().delete();
+                        log.info("이전 배경 음악 베드 삭제: {}", path.getFileName());
+                    });
+        } catch (IOException e) {
+            log.warn("이전 배경 음악 베드 정리 실패 (무시됨): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 클래스패스에서 배경 음악 파일들을 복사하여 임시 디렉토리에 저장하는 메소드
+     */
+    private void copySourceTracks() {
+        try {
+            bgmDir = renderWorkspaceManager.cacheDirectory("bgm");
+            Path sourceDir = Files.createDirectories(bgmDir.resolve("source"));
+            Resource[] resources = resourcePatternResolver.getResources("classpath:" + BACKGROUND_MUSIC_PATH + "/*.mp3");
+
+            if (resources.length == 0) {
+                log.warn("배경 음악 파일이 없음: {}", BACKGROUND_MUSIC_PATH);
+                return;
+            }
+
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+                if (filename == null) continue;
+
+                Path destFile = sourceDir.resolve(filename);
+                try (InputStream inputStream = resource.getInputStream()) {
+                    Files.copy(inputStream, destFile, StandardCopyOption.REPLACE_EXISTING);
+                    sourceTracks.add(destFile);
+                    log.info("배경 음악 파일 복사 완료: {}", destFile);
+                }
+            }
+        } catch (IOException e) {
+            log.error("배경 음악 파일 복사 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,663 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.config.FFmpegSupervisorProperties;
+import com.sss.backend.domain.event.RenderProgressEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import net.bramp.ffmpeg.FFmpeg;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * FFmpeg 프로세스 감독 서비스
+ * - 모든 렌더링 단계의 FFmpeg 실행이 이 서비스를 거친다 (단계별 최대 실행 시간, nice 우선순위, 스레드 수 제한)
+ * - -progress 출력을 읽어 작업 진행률을 계산하고 RenderProgressEvent로 발행한다
+ * - 취소/시간 초과/스레드 인터럽트 시 프로세스를 종료하고, 주기적으로 남은 프로세스를 정리한다
+ * - 취소는 작업(jobId) 단위이므로 같은 스토리의 다른 작업(미리보기/후속 렌더링/재시도)에는 영향을 주지 않는다
+ * - 취소된 작업은 release 전까지 기록해 두고, 그 뒤에 시작하려는 실행도 거부한다 (남은 씬 작업이 새 프로세스를 띄우지 않음)
+ * - stdout/stderr는 항상 끝까지 읽고 닫는다 (파이프가 가득 차서 프로세스가 멈추지 않음)
+ * - runStreaming은 stdout으로 나오는 미디어 출력을 OutputSink에 넘기고, 진행률은 stderr에서 읽는다
+ * - 실행이 끝날 때마다 단계별 실행 시간/CPU 시간/최대 메모리/출력 크기를 StageListener에 알린다
+ */
+@Slf4j
+@Service
+public class FFmpegProcessSupervisor {
+
+    /**
+     * 실행 단계 (단계마다 최대 실행 시간이 다름)
+     */
+    public enum Stage {
+        AUDIO_DECODE,
+        SCENE_CLIP,
+        MERGE,
+        SUBTITLE,
+        BACKGROUND_MUSIC,
+        SINGLE_PASS,
+        PRECOMPUTE,
+        HLS_SEGMENT
+    }
+
+    /**
+     * FFmpeg stdout(pipe:1) 출력을 소비하는 대상 (EOF까지 읽어야 함)
+     */
+    @FunctionalInterface
+    public interface OutputSink {
+        void consume(InputStream stdout) throws IOException;
+    }
+
+    /**
+     * FFmpeg 실행 하나가 끝날 때마다 호출되는 리스너 (실패/취소 포함, 실행한 스레드에서 호출됨)
+     */
+    @FunctionalInterface
+    public interface StageListener {
+        void onStageFinished(StageRun run);
+    }
+
+    /**
+     * FFmpeg 실행 하나의 자원 사용량
+     * @param cpuSeconds 사용자+시스템 CPU 시간 (수집하지 못했으면 -1)
+     * @param maxRssKb 최대 상주 메모리 (KB, 수집하지 못했으면 -1)
+     * @param outputBytes 출력 파일 크기 (파이프 출력이거나 파일이 없으면 -1)
+     */
+    public record StageRun(String storyId, Stage stage, long wallMillis, double cpuSeconds, long maxRssKb,
+                           long outputBytes, boolean success) {
+    }
+
+    // 실패 메시지에 포함할 stderr 마지막 줄 수
+    private static final int STDERR_TAIL_LINES = 20;
+    // 작업 공간 밖에서 FFmpeg가 쓰는 앱 임시 디렉토리 (무음/배경 등 미리 만드는 파일)
+    private static final String APP_TEMP_DIR = System.getProperty("java.io.tmpdir") + File.separator + "sss_app_temp";
+    // -progress 출력 줄 (key=value, 공백 없음)
+    private static final Pattern PROGRESS_LINE = Pattern.compile("^[a-z_0-9]+=\\S*$");
+    // -benchmark 출력 (bench: utime=0.123s stime=0.045s rtime=0.200s / bench: maxrss=12345KiB)
+    private static final Pattern BENCH_TIME = Pattern.compile("utime=([0-9.]+)s stime=([0-9.]+)s");
+    private static final Pattern BENCH_MAXRSS = Pattern.compile("maxrss=([0-9]+)(?:KiB|kB)");
+
+    private final FFmpeg ffmpeg;
+    private final FFmpegSupervisorProperties properties;
+    private final RenderWorkspaceManager renderWorkspaceManager;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // pid -> 실행 중인 프로세스
+    private final Map<Long, RunningProcess> runningProcesses = new ConcurrentHashMap<>();
+
+    // 취소된 작업 ID (release로 해제할 때까지 새 실행을 거부)
+    private final Set<String> cancelledJobs = ConcurrentHashMap.newKeySet();
+
+    private final List<StageListener> stageListeners = new CopyOnWriteArrayList<>();
+
+    private final boolean niceAvailable;
+
+    // 현재 스레드에서 실행하는 FFmpeg를 낮은 우선순위로 실행할지 여부 (runInBackground 안에서만 true)
+    private static final ThreadLocal<Boolean> BACKGROUND = ThreadLocal.withInitial(() -> false);
+
+    public FFmpegProcessSupervisor(FFmpeg ffmpeg, FFmpegSupervisorProperties properties,
+                                   RenderWorkspaceManager renderWorkspaceManager,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.ffmpeg = ffmpeg;
+        this.properties = properties;
+        this.renderWorkspaceManager = renderWorkspaceManager;
+        this.eventPublisher = eventPublisher;
+        this.niceAvailable = !System.getProperty("os.name").toLowerCase(Locale.ROOT).contains("win")
+                && (Files.isExecutable(Paths.get("/usr/bin/nice")) || Files.isExecutable(Paths.get("/bin/nice")));
+    }
+
+    /**
+     * 이전 실행에서 남은 FFmpeg 프로세스 정리
+     * 부모가 없어진 프로세스 중 설정된 작업 공간/캐시 루트(tmpfs 포함)나 앱 임시 디렉토리의 파일을 다루는 것만 종료한다
+     */
+    @PostConstruct
+    public void reapOrphans() {
+        List<String> roots = new ArrayList<>();
+        renderWorkspaceManager.managedRoots().forEach(root -> roots.add(root.toAbsolutePath().normalize().toString()));
+        roots.add(Paths.get(APP_TEMP_DIR).toAbsolutePath().normalize().toString());
+
+        ProcessHandle.allProcesses()
+                .filter(this::isFFmpegProcess)
+                .filter(handle -> handle.parent().map(parent -> parent.pid() == 1).orElse(true))
+                .filter(handle -> handle.info().arguments()
+                        .map(args -> Arrays.stream(args).anyMatch(arg -> roots.stream().anyMatch(arg::contains)))
+                        .orElse(false))
+                .forEach(handle -> {
+                    log.warn("이전 실행에서 남은 FFmpeg 프로세스 종료: pid={}", handle.pid());
+                    handle.destroyForcibly();
+                });
+    }
+
+    /**
+     * FFmpeg 실행 완료 리스너 등록 (메트릭 수집, 벤치마크 등)
+     */
+    public void addStageListener(StageListener listener) {
+        stageListeners.add(listener);
+    }
+
+    /**
+     * 진행률을 추적하지 않는 FFmpeg 실행 (스토리와 무관한 작업)
+     */
+    public void run(Stage stage, List<String> args) throws IOException {
+        run(null, null, stage, args, 0, null);
+    }
+
+    /**
+     * FFmpeg를 실행하고 끝날 때까지 기다린다
+     * @param storyId 진행률/실행 기록의 스토리 (없으면 null)
+     * @param jobId 취소 단위 (작업 공간 ID, 없으면 null)
+     * @param expectedSeconds 출력 길이 (진행률 계산용, 모르면 0)
+     * @param progress 진행률을 누적할 대상 (없으면 null)
+     */
+    public void run(String storyId, String jobId, Stage stage, List<String> args, double expectedSeconds,
+                    RenderProgress progress) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ffmpeg.getPath());
+        command.add("-hide_banner");
+        command.add("-nostdin");
+        command.add("-nostats");
+        if (properties.isCollectUsage()) {
+            command.add("-benchmark");
+        }
+        command.add("-progress");
+        command.add("pipe:1");
+        command.addAll(withThreadLimit(args));
+
+        ProgressParser parser = new ProgressParser(expectedSeconds, progress);
+        execute(storyId, jobId, stage, command, parser, null);
+        if (progress != null) {
+            progress.finish(parser.pid, expectedSeconds);
+        }
+    }
+
+    /**
+     * 출력을 파일 대신 stdout(pipe:1)으로 내보내는 FFmpeg를 실행하고, 출력 스트림을 sink에 넘긴다
+     * sink가 실패하면 프로세스를 종료하고, 프로세스가 실패하면 sink가 끝까지 읽었더라도 예외를 던진다
+     * (호출자는 이 메서드가 정상 반환한 뒤에만 결과를 확정해야 함)
+     * @param args 마지막 인자가 pipe:1인 FFmpeg 인자
+     */
+    public void runStreaming(String storyId, String jobId, Stage stage, List<String> args, double expectedSeconds,
+                             RenderProgress progress, OutputSink sink) throws IOException {
+        if (args.isEmpty() || !"pipe:1".equals(args.get(args.size() - 1))) {
+            throw new IllegalArgumentException("스트리밍 출력은 마지막 인자가 pipe:1이어야 합니다");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(ffmpeg.getPath());
+        command.add("-hide_banner");
+        command.add("-nostdin");
+        command.add("-nostats");
+        if (properties.isCollectUsage()) {
+            command.add("-benchmark");
+        }
+        // stdout은 미디어 출력이 사용하므로 진행률은 stderr로 받음
+        command.add("-progress");
+        command.add("pipe:2");
+        command.addAll(withThreadLimit(args));
+
+        ProgressParser parser = new ProgressParser(expectedSeconds, progress);
+        execute(storyId, jobId, stage, command, parser, sink);
+        if (progress != null) {
+            progress.finish(parser.pid, expectedSeconds);
+        }
+    }
+
+    /**
+     * 작업 안에서 현재 스레드가 실행하는 FFmpeg를 backgroundNiceness로 실행한다
+     */
+    public <T> T runInBackground(Callable<T> task) throws Exception {
+        boolean previous = BACKGROUND.get();
+        BACKGROUND.set(true);
+        try {
+            return task.call();
+        } finally {
+            BACKGROUND.set(previous);
+        }
+    }
+
+    /**
+     * 작업을 취소 상태로 만들고 실행 중인 FFmpeg 프로세스를 모두 종료한다 (같은 스토리의 다른 작업은 유지)
+     * 이후 같은 작업으로 시작하는 실행은 release 전까지 바로 실패한다
+     * @return 종료 요청한 프로세스 수
+     */
+    public int cancel(String jobId) {
+        cancelledJobs.add(jobId);
+        int cancelled = 0;
+        for (RunningProcess running : runningProcesses.values()) {
+            if (jobId.equals(running.jobId) && running.process.isAlive()) {
+                running.cancelled = true;
+                running.process.destroy();
+                cancelled++;
+            }
+        }
+        if (cancelled > 0) {
+            log.info("FFmpeg 작업 취소: jobId={}, {}개 프로세스", jobId, cancelled);
+        }
+        return cancelled;
+    }
+
+    /**
+     * 작업이 취소되었는지 여부 (실행 전에 확인하여 남은 단계를 건너뜀)
+     */
+    public boolean isCancelled(String jobId) {
+        return jobId != null && cancelledJobs.contains(jobId);
+    }
+
+    /**
+     * 작업의 취소 기록 해제 (작업의 모든 실행이 끝난 뒤, 작업 공간을 삭제하기 전에 호출)
+     */
+    public void release(String jobId) {
+        cancelledJobs.remove(jobId);
+    }
+
+    /**
+     * 스토리 렌더링 진행률 추적 시작
+     * @param totalSeconds 전체 작업량 (각 FFmpeg 실행의 출력 길이 합)
+     */
+    public RenderProgress startProgress(String storyId, double totalSeconds) {
+        return new RenderProgress(storyId, totalSeconds);
+    }
+
+    /**
+     * 제한 시간을 넘긴 프로세스와 추적되지 않는 오래된 FFmpeg 자식 프로세스를 강제 종료한다
+     */
+    @Scheduled(fixedDelayString = "${video.ffmpeg.reaper-interval-millis:30000}")
+    public void reap() {
+        long now = System.currentTimeMillis();
+        long graceMillis = TimeUnit.SECONDS.toMillis(properties.getKillGraceSeconds());
+
+        runningProcesses.values().removeIf(running -> {
+            if (!running.process.isAlive()) {
+                return true;
+            }
+            if (now > running.deadlineMillis + graceMillis) {
+                log.warn("제한 시간을 넘긴 FFmpeg 프로세스 강제 종료: pid={}, stage={}, storyId={}, jobId={}",
+                        running.process.pid(), running.stage, running.storyId, running.jobId);
+                killTree(running.process.toHandle());
+            }
+            return false;
+        });
+
+        // 감독 서비스를 거치지 않고 실행되어 남아 있는 FFmpeg/FFprobe 자식 프로세스
+        Instant oldest = Instant.now().minusSeconds(properties.getRenderTimeoutSeconds() + properties.getKillGraceSeconds());
+        ProcessHandle.current().descendants()
+                .filter(this::isFFmpegProcess)
+                .filter(handle -> !runningProcesses.containsKey(handle.pid()))
+                .filter(handle -> handle.info().startInstant().map(start -> start.isBefore(oldest)).orElse(false))
+                .forEach(handle -> {
+                    log.warn("추적되지 않는 오래된 FFmpeg 프로세스 종료: pid={}", handle.pid());
+                    killTree(handle);
+                });
+    }
+
+    private void execute(String storyId, String jobId, Stage stage, List<String> command, ProgressParser parser,
+                         OutputSink sink) throws IOException {
+        if (isCancelled(jobId)) {
+            throw new IOException("FFmpeg 작업이 취소되었습니다: stage=" + stage + ", storyId=" + storyId + ", jobId=" + jobId);
+        }
+        List<String> fullCommand = new ArrayList<>();
+        int niceness = BACKGROUND.get() ? properties.getBackgroundNiceness() : properties.getNiceness();
+        if (niceAvailable && niceness > 0) {
+            fullCommand.add("nice");
+            fullCommand.add("-n");
+            fullCommand.add(String.valueOf(niceness));
+        }
+        fullCommand.addAll(command);
+
+        long timeoutSeconds = timeoutSeconds(stage);
+        long start = System.currentTimeMillis();
+        Process process = new ProcessBuilder(fullCommand).start();
+        process.getOutputStream().close();
+
+        long pid = process.pid();
+        RunningProcess running = new RunningProcess(storyId, jobId, stage, process,
+                start + TimeUnit.SECONDS.toMillis(timeoutSeconds));
+        runningProcesses.put(pid, running);
+        // 등록 직전에 취소된 경우 (cancel은 취소 기록 후 등록된 프로세스를 종료하므로 둘 중 한쪽에서 반드시 종료됨)
+        if (isCancelled(jobId)) {
+            running.cancelled = true;
+            process.destroy();
+        }
+        parser.pid = pid;
+        log.debug("FFmpeg 실행: stage={}, pid={}, storyId={}, jobId={}, command={}",
+                stage, pid, storyId, jobId, String.join(" ", fullCommand));
+
+        Deque<String> stderrTail = new ArrayDeque<>();
+        UsageParser usage = new UsageParser();
+        AtomicReference<Throwable> sinkFailure = new AtomicReference<>();
+        Thread stdoutReader = Thread.ofVirtual().name("ffmpeg-stdout-" + pid)
+                .start(() -> {
+                    if (sink == null) {
+                        drain(process.getInputStream(), parser);
+                        return;
+                    }
+                    try (InputStream stdout = process.getInputStream()) {
+                        sink.consume(stdout);
+                        // sink가 EOF 전에 반환해도 프로세스가 멈추지 않도록 나머지를 버림
+                        stdout.transferTo(OutputStream.nullOutputStream());
+                    } catch (Throwable e) {
+                        // 출력을 더 받을 곳이 없으므로 인코딩도 중단
+                        sinkFailure.set(e);
+                        process.destroy();
+                    }
+                });
+        Thread stderrReader = Thread.ofVirtual().name("ffmpeg-stderr-" + pid)
+                .start(() -> drain(process.getErrorStream(), line -> {
+                    if (sink != null && PROGRESS_LINE.matcher(line).matches()) {
+                        parser.accept(line);
+                        return;
+                    }
+                    if (line.startsWith("bench: ")) {
+                        usage.accept(line);
+                        return;
+                    }
+                    synchronized (stderrTail) {
+                        stderrTail.addLast(line);
+                        if (stderrTail.size() > STDERR_TAIL_LINES) {
+                            stderrTail.removeFirst();
+                        }
+                    }
+                }));
+
+        boolean success = false;
+        try {
+            if (!process.waitFor(timeoutSeconds, TimeUnit.SECONDS)) {
+                terminate(process);
+                throw new IOException(String.format("FFmpeg 실행 시간 초과: stage=%s, %d초", stage, timeoutSeconds));
+            }
+
+            long graceMillis = TimeUnit.SECONDS.toMillis(properties.getKillGraceSeconds());
+            // sink는 마지막 출력 조각을 처리(업로드 등)할 시간이 필요하므로 단계 제한 시간까지 기다림
+            stdoutReader.join(sink != null ? TimeUnit.SECONDS.toMillis(timeoutSeconds) : graceMillis);
+            stderrReader.join(graceMillis);
+
+            if (running.cancelled) {
+                throw new IOException("FFmpeg 작업이 취소되었습니다: stage=" + stage + ", storyId=" + storyId + ", jobId=" + jobId);
+            }
+            if (sinkFailure.get() != null) {
+                throw new IOException("FFmpeg 출력 처리 실패: stage=" + stage + " - " + sinkFailure.get().getMessage(), sinkFailure.get());
+            }
+            if (sink != null && stdoutReader.isAlive()) {
+                throw new IOException("FFmpeg 출력 처리 시간 초과: stage=" + stage);
+            }
+            int exitCode = process.exitValue();
+            if (exitCode != 0) {
+                String tail;
+                synchronized (stderrTail) {
+                    tail = String.join("\n", stderrTail);
+                }
+                throw new IOException(String.format("FFmpeg 실행 실패: stage=%s, exit=%d\n%s", stage, exitCode, tail));
+            }
+            success = true;
+            log.info("FFmpeg 완료: stage={}, pid={}, {}ms", stage, pid, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            // 씬 렌더링 취소 등으로 스레드가 인터럽트되면 프로세스도 함께 종료
+            terminate(process);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("FFmpeg 작업이 중단되었습니다: stage=" + stage);
+        } finally {
+            runningProcesses.remove(pid);
+            if (process.isAlive()) {
+                killTree(process.toHandle());
+            }
+            notifyStageFinished(new StageRun(storyId, stage, System.currentTimeMillis() - start,
+                    usage.cpuSeconds, usage.maxRssKb, outputBytes(command), success));
+        }
+    }
+
+    private void notifyStageFinished(StageRun run) {
+        for (StageListener listener : stageListeners) {
+            try {
+                listener.onStageFinished(run);
+            } catch (RuntimeException e) {
+                // 수집 실패가 렌더링에 영향을 주지 않도록 무시
+                log.debug("FFmpeg 실행 리스너 오류: {}", e.getMessage());
+            }
+        }
+    }
+
+    // 마지막 인자가 일반 파일이면 출력 파일로 보고 크기를 반환
+    private long outputBytes(List<String> command) {
+        String output = command.get(command.size() - 1);
+        if (output.startsWith("pipe:")) {
+            return -1;
+        }
+        try {
+            Path path = Paths.get(output);
+            return Files.isRegularFile(path) ? Files.size(path) : -1;
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    // SIGTERM 후 유예 시간 안에 끝나지 않으면 강제 종료
+    private void terminate(Process process) {
+        process.destroy();
+        try {
+            if (!process.waitFor(properties.getKillGraceSeconds(), TimeUnit.SECONDS)) {
+                killTree(process.toHandle());
+            }
+        } catch (InterruptedException e) {
+            killTree(process.toHandle());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void killTree(ProcessHandle handle) {
+        handle.descendants().forEach(ProcessHandle::destroyForcibly);
+        handle.destroyForcibly();
+    }
+
+    private void drain(InputStream stream, Consumer<String> consumer) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                consumer.accept(line);
+            }
+        } catch (IOException e) {
+            // 프로세스 종료로 스트림이 닫힌 경우
+        }
+    }
+
+    // 명령에 -threads가 없으면 출력 파일 앞에 스레드 수 제한 추가
+    private List<String> withThreadLimit(List<String> args) {
+        if (properties.getMaxThreads() <= 0 || args.isEmpty() || args.contains("-threads")) {
+            return args;
+        }
+        List<String> limited = new ArrayList<>(args);
+        limited.add(limited.size() - 1, "-threads");
+        limited.add(limited.size() - 1, String.valueOf(properties.getMaxThreads()));
+        return limited;
+    }
+
+    private long timeoutSeconds(Stage stage) {
+        return switch (stage) {
+            case AUDIO_DECODE, PRECOMPUTE -> properties.getAudioTimeoutSeconds();
+            case SCENE_CLIP, HLS_SEGMENT -> properties.getClipTimeoutSeconds();
+            case MERGE, SUBTITLE, BACKGROUND_MUSIC -> properties.getMergeTimeoutSeconds();
+            case SINGLE_PASS -> properties.getRenderTimeoutSeconds();
+        };
+    }
+
+    private boolean isFFmpegProcess(ProcessHandle handle) {
+        return handle.info().command()
+                .map(command -> command.endsWith("ffmpeg") || command.endsWith("ffprobe"))
+                .orElse(false);
+    }
+
+    private static class RunningProcess {
+        final String storyId;
+        final String jobId;
+        final Stage stage;
+        final Process process;
+        final long deadlineMillis;
+        volatile boolean cancelled;
+
+        RunningProcess(String storyId, String jobId, Stage stage, Process process, long deadlineMillis) {
+            this.storyId = storyId;
+            this.jobId = jobId;
+            this.stage = stage;
+            this.process = process;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+
+    /**
+     * -benchmark 출력 파서 (프로세스 종료 시 stderr에 출력됨)
+     */
+    private static class UsageParser implements Consumer<String> {
+        volatile double cpuSeconds = -1;
+        volatile long maxRssKb = -1;
+
+        @Override
+        public void accept(String line) {
+            Matcher time = BENCH_TIME.matcher(line);
+            if (time.find()) {
+                cpuSeconds = Double.parseDouble(time.group(1)) + Double.parseDouble(time.group(2));
+                return;
+            }
+            Matcher maxRss = BENCH_MAXRSS.matcher(line);
+            if (maxRss.find()) {
+                maxRssKb = Long.parseLong(maxRss.group(1));
+            }
+        }
+    }
+
+    /**
+     * -progress 출력 파서 (out_time_us: 현재까지 출력한 길이, progress=end: 종료)
+     */
+    private static class ProgressParser implements Consumer<String> {
+        private final double expectedSeconds;
+        private final RenderProgress progress;
+        volatile long pid;
+
+        ProgressParser(double expectedSeconds, RenderProgress progress) {
+            this.expectedSeconds = expectedSeconds;
+            this.progress = progress;
+        }
+
+        @Override
+        public void accept(String line) {
+            if (progress == null || expectedSeconds <= 0) {
+                return;
+            }
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                return;
+            }
+            String key = line.substring(0, separator);
+            String value = line.substring(separator + 1).trim();
+
+            // ffmpeg 4.x에서는 out_time_ms도 마이크로초 단위
+            if (key.equals("out_time_us") || key.equals("out_time_ms")) {
+                try {
+                    double seconds = Long.parseLong(value) / 1_000_000.0;
+                    progress.report(pid, Math.min(seconds, expectedSeconds));
+                } catch (NumberFormatException ignored) {
+                    // 시작 직후에는 N/A
+                }
+            }
+        }
+    }
+
+    /**
+     * 스토리 하나의 렌더링 진행률
+     * 여러 FFmpeg 실행(병렬 씬 클립 등)의 출력 길이를 합산하여 전체 대비 비율을 발행한다
+     */
+    public class RenderProgress {
+        private final String storyId;
+        private final double totalSeconds;
+        // pid -> 실행 중인 작업의 현재 출력 길이
+        private final Map<Long, Double> inFlight = new ConcurrentHashMap<>();
+        private double completedSeconds = 0;
+        private int lastPercent = -1;
+        private long lastPublishedAt = 0;
+
+        private RenderProgress(String storyId, double totalSeconds) {
+            this.storyId = storyId;
+            this.totalSeconds = totalSeconds;
+        }
+
+        private void report(long pid, double seconds) {
+            inFlight.put(pid, seconds);
+            publish(false);
+        }
+
+        // 성공한 작업만 완료 길이에 더함 (실패한 작업은 진행률에서 제외)
+        private void finish(long pid, double seconds) {
+            inFlight.remove(pid);
+            synchronized (this) {
+                completedSeconds += seconds;
+            }
+            publish(false);
+        }
+
+        /**
+         * 캐시 등으로 FFmpeg 실행 없이 끝난 작업량을 더한다
+         */
+        public void skip(double seconds) {
+            synchronized (this) {
+                completedSeconds += seconds;
+            }
+            publish(false);
+        }
+
+        /**
+         * 렌더링 완료 (100%)
+         */
+        public void complete() {
+            inFlight.clear();
+            publish(true);
+        }
+
+        private void publish(boolean done) {
+            int percent;
+            synchronized (this) {
+                if (done) {
+                    percent = 100;
+                } else {
+                    if (totalSeconds <= 0) {
+                        return;
+                    }
+                    double processed = completedSeconds + inFlight.values().stream().mapToDouble(Double::doubleValue).sum();
+                    // 100%는 complete()에서만 발행
+                    percent = (int) Math.min(99, Math.floor(processed / totalSeconds * 100));
+                }
+
+                long now = System.currentTimeMillis();
+                if (percent <= lastPercent
+                        || (!done && now - lastPublishedAt < properties.getProgressIntervalMillis())) {
+                    return;
+                }
+                lastPercent = percent;
+                lastPublishedAt = now;
+            }
+            eventPublisher.publishEvent(new RenderProgressEvent(storyId, percent));
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.config.FFmpegSupervisorProperties;
+import com.sss.backend.config.S3Config;
+import com.sss.backend.config.StillEncodingProperties;
+import com.sss.backend.domain.event.HlsPlaylistReadyEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 렌더링 중 HLS 점진 공개 서비스
+ * - 씬 클립이 완성될 때마다 스트림 복사로 fMP4 세그먼트를 만들어 S3에 올리고 미디어 플레이리스트를 갱신한다
+ * - 씬은 순서대로만 공개한다 (앞 씬이 끝나지 않았으면 뒤 씬은 대기)
+ * - 첫 씬이 공개되면 플레이리스트 S3 키를 Redis에 저장하고 pre-signed 플레이리스트 URL을 SSE로 알린다
+ * - 플레이리스트의 초기화 세그먼트/세그먼트는 pre-signed URL로 기록하여, 인증 헤더를 붙일 수 없는 기본 플레이어도 S3에서 바로 재생한다
+ * - 단계별 렌더링(video.render.mode=chain, 또는 단일 패스 실패 후 대체) + 씬 자막 모드(video.subtitle.mode=scene)에서만 동작하고,
+ *   첫 렌더링에서만 공개한다 (후속 프로필 렌더링은 공개하지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HlsPublishService {
+
+    private static final String HLS_KEY_PREFIX = "video:hls:";
+    private static final String PLAYLIST_NAME = "playlist.m3u8";
+    private static final String PLAYLIST_CONTENT_TYPE = "application/vnd.apple.mpegurl";
+    private static final Pattern MAP_URI = Pattern.compile("#EXT-X-MAP:URI=\"([^\"]+)\"");
+
+    private final FFmpegProcessSupervisor ffmpegProcessSupervisor;
+    private final S3Config s3Config;
+    private final StillEncodingProperties stillEncodingProperties;
+    private final FFmpegSupervisorProperties ffmpegSupervisorProperties;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // 단계별 렌더링 중 HLS를 공개할지 여부
+    @Value("${video.hls.enabled:false}")
+    private boolean enabled;
+
+    // 플레이리스트/세그먼트 pre-signed URL 유효 시간 (마지막 플레이리스트 갱신 기준, Redis 키도 같은 시간 뒤 만료)
+    @Value("${video.hls.url-expiry-minutes:120}")
+    private long urlExpiryMinutes;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 새 HLS 공개 세션 시작 (이전 실행의 플레이리스트는 더 이상 노출하지 않음)
+     * @param jobId 렌더링 작업 ID (세그먼트 FFmpeg 취소 단위)
+     * @param dir 세그먼트를 만들 작업 공간 안의 디렉토리
+     */
+    public HlsSession start(String storyId, String jobId, Path dir) throws IOException {
+        stringRedisTemplate.delete(HLS_KEY_PREFIX + storyId);
+        Files.createDirectories(dir);
+        String s3Prefix = "videos/hls/" + storyId + "/" + UUID.randomUUID().toString().substring(0, 8) + "/";
+        return new HlsSession(storyId, jobId, dir, s3Prefix);
+    }
+
+    /**
+     * 클라이언트가 재생할 플레이리스트 pre-signed URL (아직 공개된 씬이 없으면 null)
+     */
+    public String getPlaylistUrl(String storyId) {
+        String playlistKey = stringRedisTemplate.opsForValue().get(HLS_KEY_PREFIX + storyId);
+        if (playlistKey == null) {
+            return null;
+        }
+        return s3Config.generatePresignedUrl(playlistKey, urlExpiry());
+    }
+
+    private Duration urlExpiry() {
+        return Duration.ofMinutes(urlExpiryMinutes);
+    }
+
+    /**
+     * 비디오 작업 하나의 HLS 공개 (세그먼트 생성/업로드는 세션 전용 스레드 하나에서 순서대로 실행)
+     */
+    public class HlsSession implements AutoCloseable {
+        private final String storyId;
+        private final String jobId;
+        private final Path dir;
+        private final String s3Prefix;
+        private final ExecutorService publisher;
+
+        // 아래 상태는 publisher 스레드에서만 접근 (failed 제외)
+        private final Map<Integer, Path> readyClips = new HashMap<>();
+        private final StringBuilder entries = new StringBuilder();
+        private int nextIndex;
+        private boolean announced;
+        private volatile boolean failed;
+
+        private HlsSession(String storyId, String jobId, Path dir, String s3Prefix) {
+            this.storyId = storyId;
+            this.jobId = jobId;
+            this.dir = dir;
+            this.s3Prefix = s3Prefix;
+            this.publisher = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("HlsPublish-" + storyId).factory());
+        }
+
+        /**
+         * 씬 클립 완성 알림 (렌더 풀 스레드에서 호출, 공개는 비동기)
+         * @param index 재생 순서 (마지막 1초 클립은 씬 수)
+         */
+        public void clipReady(int index, String clipPath) {
+            publisher.execute(() -> {
+                readyClips.put(index, Paths.get(clipPath));
+                publishReadyClips();
+            });
+        }
+
+        /**
+         * 모든 클립이 전달되었음을 알린다 (플레이리스트 종료 표시, 비동기)
+         */
+        public void finish() {
+            publisher.execute(() -> {
+                if (failed) {
+                    return;
+                }
+                try {
+                    uploadPlaylist(true);
+                    log.info("HLS 공개 완료: storyId={}, 클립 {}개", storyId, nextIndex);
+                } catch (IOException | RuntimeException e) {
+                    fail(e);
+                }
+            });
+        }
+
+        /**
+         * 렌더링 실패 시 호출 (공개된 플레이리스트를 더 이상 노출하지 않음)
+         */
+        public void abort() {
+            failed = true;
+            publisher.execute(() -> stringRedisTemplate.delete(HLS_KEY_PREFIX + storyId));
+        }
+
+        /**
+         * 남은 공개 작업을 기다린다 (작업 공간이 삭제되기 전에 호출)
+         */
+        @Override
+        public void close() {
+            publisher.shutdown();
+            try {
+                if (!publisher.awaitTermination(ffmpegSupervisorProperties.getClipTimeoutSeconds(), TimeUnit.SECONDS)) {
+                    log.warn("HLS 공개 작업이 끝나지 않아 중단합니다: storyId={}", storyId);
+                    publisher.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                publisher.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 다음 순서의 클립이 준비되어 있으면 연속으로 공개
+        private void publishReadyClips() {
+            boolean published = false;
+            while (!failed && readyClips.containsKey(nextIndex)) {
+                try {
+                    publishClip(nextIndex, readyClips.remove(nextIndex));
+                    nextIndex++;
+                    published = true;
+                } catch (IOException | RuntimeException e) {
+                    fail(e);
+                }
+            }
+            if (!published || failed) {
+                return;
+            }
+            try {
+                uploadPlaylist(false);
+                if (!announced) {
+                    announced = true;
+                    eventPublisher.publishEvent(new HlsPlaylistReadyEvent(storyId,
+                            s3Config.generatePresignedUrl(s3Prefix + PLAYLIST_NAME, urlExpiry())));
+                    log.info("HLS 재생 가능: storyId={}", storyId);
+                }
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        // 클립을 스트림 복사로 fMP4 세그먼트로 나누고 업로드한 뒤 플레이리스트 항목 추가
+        private void publishClip(int index, Path clip) throws IOException {
+            String name = "clip_" + index;
+            Path clipPlaylist = dir.resolve(name + ".m3u8");
+
+            List<String> args = new ArrayList<>();
+            args.add("-y");
+            args.add("-i");
+            args.add(clip.toString());
+            args.add("-map");
+            args.add("0");
+            args.add("-c");
+            args.add("copy");
+            args.add("-f");
+            args.add("hls");
+            // 스트림 복사는 키프레임에서만 자를 수 있으므로 GOP 길이 단위로 분할
+            args.add("-hls_time");
+            args.add(String.valueOf(stillEncodingProperties.getGopSeconds()));
+            args.add("-hls_playlist_type");
+            args.add("vod");
+            args.add("-hls_segment_type");
+            args.add("fmp4");
+            args.add("-hls_fmp4_init_filename");
+            args.add(name + "_init.mp4");
+            args.add("-hls_segment_filename");
+            args.add(dir.resolve(name + "_%03d.m4s").toString());
+            args.add(clipPlaylist.toString());
+            ffmpegProcessSupervisor.run(storyId, jobId, FFmpegProcessSupervisor.Stage.HLS_SEGMENT, args, 0, null);
+
+            // 클립마다 초기화 세그먼트가 다르므로 불연속 구간으로 이어 붙임
+            StringBuilder clipEntries = new StringBuilder();
+            if (index > 0) {
+                clipEntries.append("#EXT-X-DISCONTINUITY\n");
+            }
+            for (String line : Files.readAllLines(clipPlaylist)) {
+                Matcher matcher = MAP_URI.matcher(line);
+                if (matcher.find()) {
+                    String initName = Paths.get(matcher.group(1)).getFileName().toString();
+                    s3Config.uploadToS3(dir.resolve(initName), s3Prefix + initName, "video/mp4");
+                    clipEntries.append("#EXT-X-MAP:URI=\"").append(initName).append("\"\n");
+                } else if (line.startsWith("#EXTINF")) {
+                    clipEntries.append(line).append("\n");
+                } else if (!line.isBlank() && !line.startsWith("#")) {
+                    String segmentName = Paths.get(line.trim()).getFileName().toString();
+                    s3Config.uploadToS3(dir.resolve(segmentName), s3Prefix + segmentName, "video/iso.segment");
+                    clipEntries.append(segmentName).append("\n");
+                }
+            }
+            entries.append(clipEntries);
+        }
+
+        private void uploadPlaylist(boolean ended) throws IOException {
+            StringBuilder playlist = new StringBuilder();
+            playlist.append("#EXTM3U\n");
+            playlist.append("#EXT-X-VERSION:7\n");
+            playlist.append(String.format(Locale.ROOT, "#EXT-X-TARGETDURATION:%d\n", stillEncodingProperties.getGopSeconds()));
+            playlist.append("#EXT-X-MEDIA-SEQUENCE:0\n");
+            playlist.append("#EXT-X-PLAYLIST-TYPE:EVENT\n");
+            playlist.append(signEntries());
+            if (ended) {
+                playlist.append("#EXT-X-ENDLIST\n");
+            }
+            s3Config.uploadTextToS3(playlist.toString(), s3Prefix + PLAYLIST_NAME, PLAYLIST_CONTENT_TYPE);
+            // 플레이리스트를 갱신할 때마다 세그먼트 URL이 새로 서명되므로 노출 기간도 연장
+            stringRedisTemplate.opsForValue().set(HLS_KEY_PREFIX + storyId, s3Prefix + PLAYLIST_NAME,
+                    urlExpiryMinutes, TimeUnit.MINUTES);
+        }
+
+        // 플레이리스트 항목의 초기화 세그먼트/세그먼트 이름을 pre-signed URL로 바꿈 (버킷은 비공개이므로 상대 경로로는 재생 불가)
+        private String signEntries() {
+            StringBuilder signed = new StringBuilder();
+            for (String line : entries.toString().split("\n")) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Matcher matcher = MAP_URI.matcher(line);
+                if (matcher.find()) {
+                    signed.append("#EXT-X-MAP:URI=\"").append(sign(matcher.group(1))).append("\"");
+                } else if (!line.startsWith("#")) {
+                    signed.append(sign(line.trim()));
+                } else {
+                    signed.append(line);
+                }
+                signed.append("\n");
+            }
+            return signed.toString();
+        }
+
+        private String sign(String name) {
+            return s3Config.generatePresignedUrl(s3Prefix + name, urlExpiry());
+        }
+
+        // 공개 실패는 렌더링에 영향을 주지 않음 (최종 MP4는 그대로 생성)
+        private void fail(Exception e) {
+            failed = true;
+            readyClips.clear();
+            stringRedisTemplate.delete(HLS_KEY_PREFIX + storyId);
+            log.warn("HLS 공개 실패, 이 작업은 최종 비디오만 제공합니다: storyId={}, error={}", storyId, e.getMessage());
+        }
+    }
+}
@@ -6,11 +6,12 @@ import com.sss.backend.api.dto.SceneImageRequest;
 import com.sss.backend.api.dto.SceneImageResponse;
 import com.sss.backend.config.AppProperties;
 import com.sss.backend.config.S3Config;
+import com.sss.backend.domain.document.AudioLine;
+import com.sss.backend.domain.document.Scene;
 import com.sss.backend.domain.document.SceneDocument;
+import com.sss.backend.domain.document.StoryCharacter;
 import com.sss.backend.domain.entity.Story;
-import com.sss.backend.domain.repository.SceneDocumentRepository;
 
-import com.sss.backend.domain.repository.StoryRepository;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -28,7 +29,6 @@ import java.io.File;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -44,8 +44,7 @@ public class ImageService {
     private final AppProperties appProperties;
     private final MongoTemplate mongoTemplate;
     private final ObjectMapper objectMapper; //JSON 데이터 변환에 사용
-    private final SceneDocumentRepository sceneDocumentRepository;
-    private final StoryRepository storyRepository;
+    private final StoryContextService storyContextService;
     private final S3Config s3Config;
 
     @Value("${api.password}")
@@ -64,14 +63,13 @@ public class ImageService {
 
     public ImageService(WebClient webClient, AppProperties appProperties,
                         MongoTemplate mongoTemplate, ObjectMapper objectMapper,
-                        SceneDocumentRepository sceneDocumentRepository, StoryRepository storyRepository,
+                        StoryContextService storyContextService,
                         S3Config s3Config) {
         this.webClient = webClient;
         this.appProperties = appProperties;
         this.mongoTemplate = mongoTemplate;
         this.objectMapper = objectMapper;
-        this.sceneDocumentRepository = sceneDocumentRepository;
-        this.storyRepository = storyRepository;
+        this.storyContextService = storyContextService;
         this.s3Config = s3Config;
     }
 
@@ -91,8 +89,9 @@ public class ImageService {
 //            }
 
 
-            // 스토리 문서 조회
-            Optional<SceneDocument> sceneDocumentOpt = sceneDocumentRepository.findByStoryId(storyId);
+            // 스토리 문서 조회 (작업 스냅샷, 씬마다 다시 조회하지 않음)
+            StoryContextService.StoryContext context = storyContextService.context(storyId);
+            Optional<SceneDocument> sceneDocumentOpt = context.findSceneDocument();
             if (sceneDocumentOpt.isEmpty()) {
                 return CompletableFuture.failedFuture(
                         new RuntimeException("해당 스토리를 찾을 수 없습니다: " + storyId));
@@ -101,10 +100,10 @@ public class ImageService {
             SceneDocument sceneDocument = sceneDocumentOpt.get();
 
             // 해당 씬 찾기
-            Map<String, Object> targetScene = findScene(sceneDocument, sceneId);
+            Scene targetScene = findScene(sceneDocument, sceneId);
 
             //요청 객체 준비
-            SceneImageRequest imageRequest = prepareImageRequest(sceneDocument, targetScene, sceneId, storyId);
+            SceneImageRequest imageRequest = prepareImageRequest(context, sceneDocument, targetScene, sceneId, storyId);
 
             // 이미지 생성 API 호출
             return generateImage(imageRequest, storyId, imageModelName);
@@ -118,10 +117,8 @@ public class ImageService {
     }
 
     //해당하는 씬 찾기
-    private Map<String, Object> findScene(SceneDocument sceneDocument, Integer sceneId) {
-        return sceneDocument.getSceneArr().stream()
-                .filter(scene -> ((Number) scene.get("sceneId")).intValue() == sceneId)
-                .findFirst()
+    private Scene findScene(SceneDocument sceneDocument, Integer sceneId) {
+        return sceneDocument.findScene(sceneId)
                 .orElseThrow(() -> new RuntimeException("해당 씬을 찾을 수 없습니다: sceneId=" + sceneId));
     }
 
@@ -129,7 +126,8 @@ public class ImageService {
 
     //request에 storyId 추가된 버전
     //이미지 생성 요청 객체 준비
-    private SceneImageRequest prepareImageRequest(SceneDocument sceneDocument, Map<String, Object> targetScene, Integer sceneId, String storyId) {
+    private SceneImageRequest prepareImageRequest(StoryContextService.StoryContext context, SceneDocument sceneDocument,
+                                                  Scene targetScene, Integer sceneId, String storyId) {
 
         // 이미지 생성 요청 객체 생성
         SceneImageRequest imageRequest = new SceneImageRequest();
@@ -141,27 +139,27 @@ public class ImageService {
         storyMetadata.setTitle(sceneDocument.getStoryTitle());
 
         //사용자가 입력한 이야기 요청에 추가
-        String story = storyRepository.findStoryById(Long.parseLong(storyId));
+        String story = context.getStoryText();
         storyMetadata.setOriginal_story(story);
 
 
         // Characters 설정
-        List<Map<String, Object>> characterMapList = sceneDocument.getCharacterArr();
+        List<StoryCharacter> storyCharacters = sceneDocument.getCharacterArr();
         List<SceneImageRequest.Character> characters = new ArrayList<>();
 
-        for (Map<String, Object> charMap : characterMapList) {
+        for (StoryCharacter storyCharacter : storyCharacters) {
             SceneImageRequest.Character character = new SceneImageRequest.Character();
-            character.setName((String) charMap.get("name"));
+            character.setName(storyCharacter.getName());
 
             // gender가 String이면 Integer로 변환 (예: "남자" :0, "여자":1)
-            String genderStr = (String) charMap.get("gender");
+            String genderStr = storyCharacter.getGender();
             if(genderStr.equals("남성") || genderStr.equals("남자") || genderStr.equals("1")){
                 character.setGender(0);
             }else if(genderStr.equals("여성") || genderStr.equals("여자") || genderStr.equals("2")){
                 character.setGender(1);
             }
 
-            character.setDescription((String) charMap.get("properties"));
+            character.setDescription(storyCharacter.getProperties());
             characters.add(character);
         }
 
@@ -169,15 +167,14 @@ public class ImageService {
         imageRequest.setStoryMetadata(storyMetadata);
 
         // Audios 설정
-        List<Map<String, Object>> audioMapList = (List<Map<String, Object>>) targetScene.get("audioArr");
         List<SceneImageRequest.Audio> audios = new ArrayList<>();
 
-        for (Map<String, Object> audioMap : audioMapList) {
+        for (AudioLine line : targetScene.getAudioArr()) {
             SceneImageRequest.Audio audio = new SceneImageRequest.Audio();
-            audio.setType((String) audioMap.get("type"));
-            audio.setCharacter((String) audioMap.get("character"));
-            audio.setText((String) audioMap.get("text"));
-            audio.setEmotion((String) audioMap.get("emotion"));
+            audio.setType(line.getType());
+            audio.setCharacter(line.getCharacter());
+            audio.setText(line.getText());
+            audio.setEmotion(line.getEmotion());
             audios.add(audio);
         }
 
@@ -298,6 +295,17 @@ public class ImageService {
 
             mongoTemplate.updateFirst(query, update, "scenes");
 
+            // 저장한 값을 작업 스냅샷에 반영 (렌더링 단계에서 다시 조회하지 않도록)
+            String imageUrl = newUrl;
+            StoryContextService.StoryContext context = storyContextService.context(storyId);
+            context.updateScene(response.getScene_id(), scene -> {
+                scene.setImage_prompt(response.getImage_prompt());
+                scene.setImage_url(imageUrl);
+            });
+
+            // 렌더링 단계에서 사용할 이미지를 미리 내려받기 시작 (진행 중인 작업이 없는 단건 요청은 생략)
+            context.getStaging().ifPresent(staging -> staging.prefetch(imageUrl));
+
 
             log.info("이미지 정보 MongoDB 저장 완료 - 스토리 ID: {}, 씬 ID: {}, 저장값 : {}",
                     storyId, response.getScene_id(), update);
@@ -0,0 +1,118 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.config.S3Config;
+import com.sss.backend.util.MediaProbe;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.bramp.ffmpeg.FFprobe;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 미디어 길이/스트림 정보 조회 서비스 (ffprobe 프로세스 없이 MediaProbe 사용)
+ * - 로컬 경로는 파일에서 필요한 부분만 읽는다
+ * - S3 URL은 64KB 단위 Range 요청으로 헤더 부분만 읽는다 (전체 다운로드 없음)
+ * - 길이는 헤더로 읽지 못하면 ffprobe로 다시 시도한다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MediaProbeService {
+
+    private static final int S3_BLOCK_SIZE = 64 * 1024;
+
+    private final S3Config s3Config;
+    private final FFprobe ffprobe;
+
+    /**
+     * 로컬 경로 또는 S3 URL의 미디어 정보를 읽는다
+     */
+    public MediaProbe.MediaInfo probe(String location) throws IOException {
+        long start = System.nanoTime();
+        MediaProbe.ByteSource source = location.startsWith("http")
+                ? new S3RangeSource(s3Config.extractS3KeyFromUrl(location))
+                : MediaProbe.ofFile(Paths.get(location));
+        MediaProbe.MediaInfo info = MediaProbe.probe(source);
+        log.debug("미디어 프로브: {} ({}, {}초, {}us)", location, info.getFormat(), info.getDurationSeconds(),
+                (System.nanoTime() - start) / 1000);
+        return info;
+    }
+
+    /**
+     * 미디어 길이 (초)
+     * 헤더 파싱에 실패하거나 길이가 0 이하이면 ffprobe로 다시 추출한다 (지원하지 않는 변형 파일이 길이 0으로 저장되지 않도록)
+     */
+    public double probeDuration(String location) throws IOException {
+        try {
+            double duration = probe(location).getDurationSeconds();
+            if (duration > 0) {
+                return duration;
+            }
+            log.warn("헤더에서 읽은 길이가 {}초입니다, ffprobe로 다시 추출합니다: {}", duration, location);
+        } catch (IOException | RuntimeException e) {
+            log.warn("헤더 프로브 실패, ffprobe로 길이를 추출합니다: {} - {}", location, e.getMessage());
+        }
+
+        String input = location.startsWith("http")
+                ? s3Config.generatePresignedUrl(s3Config.extractS3KeyFromUrl(location))
+                : location;
+        return ffprobe.probe(input).format.duration;
+    }
+
+    /**
+     * S3 객체를 블록 단위 Range 요청으로 읽는 ByteSource (같은 블록은 한 번만 요청)
+     */
+    private class S3RangeSource implements MediaProbe.ByteSource {
+        private final String s3Key;
+        private final Map<Long, byte[]> blocks = new HashMap<>();
+        private long size = -1;
+
+        S3RangeSource(String s3Key) {
+            this.s3Key = s3Key;
+        }
+
+        @Override
+        public long size() throws IOException {
+            if (size < 0) {
+                size = s3Config.getObjectSize(s3Key);
+            }
+            return size;
+        }
+
+        @Override
+        public byte[] read(long position, int length) throws IOException {
+            long end = Math.min(position + length, size());
+            if (end <= position) {
+                return new byte[0];
+            }
+
+            long firstBlock = position / S3_BLOCK_SIZE;
+            long lastBlock = (end - 1) / S3_BLOCK_SIZE;
+            // 큰 범위(moov 박스 등)는 블록으로 나누지 않고 한 번에 요청
+            if (lastBlock - firstBlock > 1) {
+                return s3Config.readRangeFromS3(s3Key, position, (int) (end - position));
+            }
+
+            byte[] result = new byte[(int) (end - position)];
+            for (long blockIndex = firstBlock; blockIndex <= lastBlock; blockIndex++) {
+                byte[] block = blocks.get(blockIndex);
+                if (block == null) {
+                    block = s3Config.readRangeFromS3(s3Key, blockIndex * S3_BLOCK_SIZE, S3_BLOCK_SIZE);
+                    blocks.put(blockIndex, block);
+                }
+                long blockStart = blockIndex * S3_BLOCK_SIZE;
+                long copyFrom = Math.max(position, blockStart);
+                long copyTo = Math.min(end, blockStart + block.length);
+                if (copyTo > copyFrom) {
+                    System.arraycopy(block, (int) (copyFrom - blockStart), result, (int) (copyFrom - position),
+                            (int) (copyTo - copyFrom));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.sss.backend.domain.service;
 
 import com.sss.backend.api.dto.SceneImageRequest;
+import com.sss.backend.domain.document.AudioLine;
+import com.sss.backend.domain.document.Scene;
 import com.sss.backend.domain.document.SceneDocument;
 import com.sss.backend.domain.entity.VideoProcessingStep;
-import com.sss.backend.domain.repository.*;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Async;
@@ -11,7 +12,6 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
@@ -20,17 +20,17 @@ import java.util.stream.Collectors;
 @Service
 public class MediaService {
 
-    private final SceneDocumentRepository sceneDocumentRepository;
+    private final StoryContextService storyContextService;
     private final ImageService imageService;
     private final AudioService audioService;
     private final VideoProcessingStatusService videoProcessingStatusService;
 
     public MediaService(
-            SceneDocumentRepository sceneDocumentRepository,
+            StoryContextService storyContextService,
             ImageService imageService,
             AudioService audioService,
             VideoProcessingStatusService videoProcessingStatusService) {
-        this.sceneDocumentRepository = sceneDocumentRepository;
+        this.storyContextService = storyContextService;
         this.imageService = imageService;
         this.audioService = audioService;
         this.videoProcessingStatusService = videoProcessingStatusService;
@@ -43,8 +43,8 @@ public class MediaService {
         log.info("스토리 전체 씬 미디어 처리 시작: storyId={}", storyId);
 
         try {
-            // 스토리 데이터 조회
-            Optional<SceneDocument> sceneDocumentOpt = sceneDocumentRepository.findByStoryId(storyId);
+            // 스토리 데이터 조회 (작업 스냅샷, 오디오/이미지 단계와 공유)
+            Optional<SceneDocument> sceneDocumentOpt = storyContextService.context(storyId).findSceneDocument();
             log.info("스토리데이터 조회 완료" + sceneDocumentOpt);
             if (sceneDocumentOpt.isEmpty()) {
                 return CompletableFuture.failedFuture(
@@ -58,21 +58,21 @@ public class MediaService {
             sceneDocument.setAudioModelName(audioModelName);
             sceneDocument.setImageModelName(imageModelName);
 
-            List<Map<String, Object>> sceneArr = sceneDocument.getSceneArr();
+            List<Scene> sceneArr = sceneDocument.getSceneArr();
             log.info("scene배열 가져오기");
 
             // 오디오 처리를 위한 필터링된 씬 배열 생성
-            List<Map<String, Object>> scenesToProcessAudio = new ArrayList<>();
+            List<Scene> scenesToProcessAudio = new ArrayList<>();
             
             // 각 씬별로 오디오 파일 존재 여부 확인
-            for (Map<String, Object> scene : sceneArr) {
+            for (Scene scene : sceneArr) {
                 boolean needsAudioProcessing = false;
-                List<Map<String, Object>> audioArr = (List<Map<String, Object>>) scene.get("audioArr");
+                List<AudioLine> audioArr = scene.getAudioArr();
                 
                 if (audioArr != null) {
-                    for (Map<String, Object> audio : audioArr) {
+                    for (AudioLine audio : audioArr) {
                         // audio_url이 없거나 비어있으면 오디오 생성 필요
-                        if (audio.get("audio_url") == null || ((String) audio.get("audio_url")).isEmpty()) {
+                        if (!audio.hasAudio()) {
                             needsAudioProcessing = true;
                             break;
                         }
@@ -112,11 +112,11 @@ public class MediaService {
             List<CompletableFuture<Void>> imageFutures = new ArrayList<>();
             
             // 각 씬에 대해 이미지 생성 작업 병렬로 생성
-            for (Map<String, Object> scene : sceneArr) {
-                int sceneId = ((Number) scene.get("sceneId")).intValue();
+            for (Scene scene : sceneArr) {
+                int sceneId = scene.getSceneId();
                 
                 // 이미지가 이미 존재하는지 확인
-                if (scene.get("image_url") != null && !((String) scene.get("image_url")).isEmpty()) {
+                if (scene.hasImage()) {
                     log.info("씬 이미지가 이미 존재하여 생성 건너뜀: storyId={}, sceneId={}", storyId, sceneId);
                     continue; // 이미지가 이미 있으면 생성 건너뛰기
                 }
@@ -188,10 +188,8 @@ public class MediaService {
     }
 
     //특정 씬 찾는 메서드
-    private Map<String, Object> findScene(SceneDocument sceneDocument, int sceneId) {
-        return sceneDocument.getSceneArr().stream()
-                .filter(scene -> ((Number) scene.get("sceneId")).intValue() == sceneId)
-                .findFirst()
+    private Scene findScene(SceneDocument sceneDocument, int sceneId) {
+        return sceneDocument.findScene(sceneId)
                 .orElseThrow(() -> new RuntimeException("해당 씬을 찾을 수 없습니다: sceneId=" + sceneId));
     }
 }
@@ -0,0 +1,167 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.domain.entity.VideoProcessingStep;
+import com.sss.backend.domain.event.ProcessingStepChangedEvent;
+import com.sss.backend.domain.event.ProcessingStepsClearedEvent;
+import com.sss.backend.domain.repository.SseEmitterRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파이프라인 메트릭 (Prometheus: /actuator/prometheus)
+ * - 비디오 처리 단계별 소요 시간 (ProcessingStepChangedEvent 사이의 간격)
+ * - FFmpeg 실행 단계별 소요 시간/CPU 시간/최대 메모리 (FFmpegProcessSupervisor.StageListener)
+ * - 작업 스레드 풀의 대기열 길이/실행 중 스레드 수, 스토리 파이프라인 실행/대기/거절 수, SSE 연결 수
+ * AI 서버 호출은 AiBackendMetricsFilter, S3 전송은 S3TransferMetrics에서 기록한다
+ */
+@Slf4j
+@Component
+public class PipelineMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final FFmpegProcessSupervisor ffmpegProcessSupervisor;
+    private final SseEmitterRepository sseEmitterRepository;
+    private final StoryPipelineExecutor storyPipelineExecutor;
+    private final Map<String, Executor> executors = new LinkedHashMap<>();
+
+    // storyId -> 현재 처리 단계와 시작 시각 (nanoTime)
+    private final Map<String, StepStart> currentSteps = new ConcurrentHashMap<>();
+
+    public PipelineMetrics(MeterRegistry meterRegistry,
+                           FFmpegProcessSupervisor ffmpegProcessSupervisor,
+                           SseEmitterRepository sseEmitterRepository,
+                           StoryPipelineExecutor storyPipelineExecutor,
+                           @Qualifier("mediaTaskExecutor") Executor mediaTaskExecutor,
+                           @Qualifier("audioTaskExecutor") Executor audioTaskExecutor,
+                           @Qualifier("imageTaskExecutor") Executor imageTaskExecutor,
+                           @Qualifier("renderTaskExecutor") Executor renderTaskExecutor,
+                           @Qualifier("stagingTaskExecutor") Executor stagingTaskExecutor) {
+        this.meterRegistry = meterRegistry;
+        this.ffmpegProcessSupervisor = ffmpegProcessSupervisor;
+        this.sseEmitterRepository = sseEmitterRepository;
+        this.storyPipelineExecutor = storyPipelineExecutor;
+        executors.put("mediaTaskExecutor", mediaTaskExecutor);
+        executors.put("audioTaskExecutor", audioTaskExecutor);
+        executors.put("imageTaskExecutor", imageTaskExecutor);
+        executors.put("renderTaskExecutor", renderTaskExecutor);
+        executors.put("stagingTaskExecutor", stagingTaskExecutor);
+    }
+
+    @PostConstruct
+    public void init() {
+        executors.forEach((name, executor) -> {
+            if (!(executor instanceof ThreadPoolTaskExecutor pool)) {
+                log.warn("스레드 풀 메트릭을 등록할 수 없는 Executor: {}", name);
+                return;
+            }
+            Gauge.builder("pipeline.executor.queue.depth", pool, p -> p.getThreadPoolExecutor().getQueue().size())
+                    .description("작업 스레드 풀 대기열 길이")
+                    .tag("executor", name)
+                    .register(meterRegistry);
+            Gauge.builder("pipeline.executor.active", pool, ThreadPoolTaskExecutor::getActiveCount)
+                    .description("작업 스레드 풀에서 실행 중인 스레드 수")
+                    .tag("executor", name)
+                    .register(meterRegistry);
+            Gauge.builder("pipeline.executor.pool.size", pool, ThreadPoolTaskExecutor::getPoolSize)
+                    .description("작업 스레드 풀의 현재 스레드 수")
+                    .tag("executor", name)
+                    .register(meterRegistry);
+        });
+
+        Gauge.builder("pipeline.sse.connections", sseEmitterRepository, repository -> repository.getAllEmitters().size())
+                .description("열려 있는 비디오 상태 SSE 연결 수")
+                .register(meterRegistry);
+
+        Gauge.builder("pipeline.story.running", storyPipelineExecutor, StoryPipelineExecutor::getRunningCount)
+                .description("실행 중인 스토리 파이프라인 수")
+                .register(meterRegistry);
+        Gauge.builder("pipeline.story.queued", storyPipelineExecutor, StoryPipelineExecutor::getQueuedCount)
+                .description("실행 자리를 기다리는 스토리 파이프라인 수")
+                .register(meterRegistry);
+        FunctionCounter.builder("pipeline.story.rejected", storyPipelineExecutor, StoryPipelineExecutor::getRejectedCount)
+                .description("대기열이 가득 차 거절한 파이프라인 요청 수 (429)")
+                .register(meterRegistry);
+
+        ffmpegProcessSupervisor.addStageListener(this::recordFFmpegStage);
+    }
+
+    /**
+     * 처리 단계가 바뀌면 이전 단계에 머문 시간을 기록한다
+     */
+    @EventListener
+    public void handleProcessingStepChangedEvent(ProcessingStepChangedEvent event) {
+        StepStart previous = currentSteps.put(event.getStoryId(), new StepStart(event.getStep(), System.nanoTime()));
+        if (previous != null) {
+            recordStep(previous, event.getStep().name());
+        }
+    }
+
+    /**
+     * 처리가 끝나면(완료/실패) 마지막 단계에 머문 시간을 기록한다
+     */
+    @EventListener
+    public void handleProcessingStepsClearedEvent(ProcessingStepsClearedEvent event) {
+        StepStart previous = currentSteps.remove(event.getStoryId());
+        if (previous != null) {
+            recordStep(previous, "END");
+        }
+    }
+
+    private void recordStep(StepStart previous, String next) {
+        Timer.builder("pipeline.step.duration")
+                .description("비디오 처리 단계별 소요 시간")
+                .tag("step", previous.step().name())
+                .tag("next", next)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - previous.startNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void recordFFmpegStage(FFmpegProcessSupervisor.StageRun run) {
+        String stage = run.stage().name();
+        String outcome = run.success() ? "success" : "error";
+
+        Timer.builder("ffmpeg.stage.duration")
+                .description("FFmpeg 실행 단계별 소요 시간")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(run.wallMillis(), TimeUnit.MILLISECONDS);
+
+        if (run.cpuSeconds() >= 0) {
+            DistributionSummary.builder("ffmpeg.stage.cpu")
+                    .description("FFmpeg 실행 단계별 CPU 시간 (사용자+시스템)")
+                    .baseUnit("seconds")
+                    .tag("stage", stage)
+                    .register(meterRegistry)
+                    .record(run.cpuSeconds());
+        }
+        if (run.maxRssKb() >= 0) {
+            DistributionSummary.builder("ffmpeg.stage.max.rss")
+                    .description("FFmpeg 실행 단계별 최대 상주 메모리")
+                    .baseUnit("bytes")
+                    .tag("stage", stage)
+                    .register(meterRegistry)
+                    .record(run.maxRssKb() * 1024.0);
+        }
+    }
+
+    private record StepStart(VideoProcessingStep step, long startNanos) {
+    }
+}
@@ -0,0 +1,300 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.config.RenderWorkspaceProperties;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 렌더링 작업 공간 관리 서비스
+ * - 비디오 작업마다 독립된 디렉토리를 만든다 (설정 시 tmpfs 사용)
+ * - 작업 안에서는 복사 대신 하드 링크/이동을 사용한다
+ * - 작업별·전체 디스크 사용량 한도를 확인한다 (공유 캐시 디렉토리 사용량 포함)
+ * - 작업이 끝나면 디렉토리를 이름 변경 후 삭제하고, 비정상 종료로 남은 디렉토리는 주기적으로 정리한다
+ * - 공유 캐시(씬 클립 캐시, 배경 음악 베드)는 cacheDirectory()로 받은 캐시 루트 아래에 두며, 크기는 각 캐시가 관리한다
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RenderWorkspaceManager {
+
+    // 삭제 중인 디렉토리 표시 (이름 변경은 원자적이므로 삭제 도중 중단돼도 활성 작업과 섞이지 않음)
+    private static final String DELETING_SUFFIX = ".deleting";
+
+    private final RenderWorkspaceProperties properties;
+
+    // 디렉토리 -> 활성 작업 공간
+    private final Map<Path, RenderWorkspace> activeWorkspaces = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        for (Path root : managedRoots()) {
+            try {
+                Files.createDirectories(root);
+            } catch (IOException e) {
+                log.warn("작업 공간 루트 생성 실패: {} - {}", root, e.getMessage());
+            }
+        }
+        // 서버 시작 시점에는 활성 작업이 없으므로 남은 디렉토리는 모두 이전 실행의 고아
+        sweep(true);
+    }
+
+    /**
+     * 새 작업 공간을 만든다 (전체 한도를 넘으면 고아를 정리한 뒤 다시 확인)
+     */
+    public RenderWorkspace open(String storyId) throws IOException {
+        long used = totalUsage();
+        if (used + properties.getJobQuotaBytes() > properties.getGlobalQuotaBytes()) {
+            sweep(false);
+            used = totalUsage();
+            if (used + properties.getJobQuotaBytes() > properties.getGlobalQuotaBytes()) {
+                throw new IllegalStateException(String.format("렌더링 작업 공간 전체 용량 초과: 사용 %dbytes / 한도 %dbytes",
+                        used, properties.getGlobalQuotaBytes()));
+            }
+        }
+
+        Path dir = selectRoot().resolve(storyId + "_" + UUID.randomUUID().toString().substring(0, 8));
+        Files.createDirectories(dir);
+        RenderWorkspace workspace = new RenderWorkspace(storyId, dir);
+        activeWorkspaces.put(dir, workspace);
+        log.info("작업 공간 생성: storyId={}, dir={}", storyId, dir);
+        return workspace;
+    }
+
+    /**
+     * 공유 캐시 디렉토리 (캐시 루트 아래, 없으면 만듦)
+     */
+    public Path cacheDirectory(String name) throws IOException {
+        return Files.createDirectories(cacheRoot().resolve(name));
+    }
+
+    /**
+     * 관리하는 모든 루트 (작업 루트 + 캐시 루트, 남은 FFmpeg 프로세스 판별 등에 사용)
+     */
+    public List<Path> managedRoots() {
+        List<Path> roots = new ArrayList<>(roots());
+        roots.add(cacheRoot());
+        return roots;
+    }
+
+    /**
+     * 활성 작업이 아닌 오래된 디렉토리와 삭제가 중단된 디렉토리를 정리한다
+     */
+    @Scheduled(fixedDelayString = "${video.workspace.sweep-interval-millis:600000}")
+    public void sweepOrphans() {
+        sweep(false);
+    }
+
+    private void sweep(boolean all) {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(properties.getOrphanMaxAgeMinutes());
+        for (Path root : roots()) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            List<Path> orphans = new ArrayList<>();
+            try (Stream<Path> dirs = Files.list(root)) {
+                dirs.filter(dir -> !activeWorkspaces.containsKey(dir))
+                        .filter(dir -> !dir.equals(cacheRoot()))
+                        .filter(dir -> all || dir.getFileName().toString().contains(DELETING_SUFFIX)
+                                || dir.toFile().lastModified() < cutoff)
+                        .forEach(orphans::add);
+            } catch (IOException e) {
+                log.warn("작업 공간 목록 조회 실패: {} - {}", root, e.getMessage());
+                continue;
+            }
+            for (Path orphan : orphans) {
+                log.warn("남은 작업 공간 정리: {}", orphan);
+                deleteAtomically(orphan);
+            }
+        }
+    }
+
+    // tmpfs 여유 공간이 작업 한도보다 크면 tmpfs, 아니면 디스크
+    private Path selectRoot() throws IOException {
+        String tmpfsRoot = properties.getTmpfsRoot();
+        if (tmpfsRoot != null && !tmpfsRoot.isBlank()) {
+            Path tmpfs = Paths.get(tmpfsRoot);
+            try {
+                Files.createDirectories(tmpfs);
+                if (Files.getFileStore(tmpfs).getUsableSpace() > properties.getJobQuotaBytes()) {
+                    return tmpfs;
+                }
+                log.info("tmpfs 여유 공간 부족, 디스크 작업 공간을 사용합니다: {}", tmpfs);
+            } catch (IOException e) {
+                log.warn("tmpfs 작업 공간을 사용할 수 없습니다: {} - {}", tmpfs, e.getMessage());
+            }
+        }
+        Path root = Paths.get(properties.getRoot());
+        Files.createDirectories(root);
+        return root;
+    }
+
+    // 작업 디렉토리를 만드는 루트 (고아 정리 대상)
+    private List<Path> roots() {
+        List<Path> roots = new ArrayList<>();
+        roots.add(Paths.get(properties.getRoot()));
+        if (properties.getTmpfsRoot() != null && !properties.getTmpfsRoot().isBlank()) {
+            roots.add(Paths.get(properties.getTmpfsRoot()));
+        }
+        return roots;
+    }
+
+    private Path cacheRoot() {
+        return Paths.get(properties.getCacheRoot());
+    }
+
+    private long totalUsage() {
+        long total = 0;
+        for (Path root : managedRoots()) {
+            total += directorySize(root);
+        }
+        return total;
+    }
+
+    private static long directorySize(Path dir) {
+        if (!Files.exists(dir)) {
+            return 0;
+        }
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(Files::isRegularFile).mapToLong(path -> path.toFile().length()).sum();
+        } catch (IOException | java.io.UncheckedIOException e) {
+            // 삭제 중인 파일이 있으면 목록 조회가 실패할 수 있음
+            return 0;
+        }
+    }
+
+    // 이름을 바꿔 작업 공간에서 분리한 뒤 삭제 (실패하면 다음 정리 때 다시 시도)
+    private static void deleteAtomically(Path dir) {
+        Path target = dir;
+        if (!dir.getFileName().toString().contains(DELETING_SUFFIX)) {
+            target = dir.resolveSibling(dir.getFileName() + DELETING_SUFFIX + "_" + System.nanoTime());
+            try {
+                Files.move(dir, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                target = dir;
+            }
+        }
+        try (Stream<Path> walk = Files.walk(target)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException | java.io.UncheckedIOException e) {
+            log.warn("작업 공간 삭제 실패 (다음 정리 때 재시도): {} - {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * 비디오 작업 하나의 작업 공간
+     */
+    public class RenderWorkspace implements AutoCloseable {
+        private final String storyId;
+        private final Path dir;
+        private volatile boolean closed;
+
+        private RenderWorkspace(String storyId, Path dir) {
+            this.storyId = storyId;
+            this.dir = dir;
+        }
+
+        public String getStoryId() {
+            return storyId;
+        }
+
+        /**
+         * 작업 ID (작업 공간 디렉토리 이름, FFmpeg 취소 단위)
+         */
+        public String getJobId() {
+            return dir.getFileName().toString();
+        }
+
+        public Path getDir() {
+            return dir;
+        }
+
+        /**
+         * 작업 공간 안의 경로
+         */
+        public Path resolve(String name) {
+            return dir.resolve(name);
+        }
+
+        /**
+         * 작업 공간 안에 하위 디렉토리를 만든다
+         */
+        public Path createDirectory(String name) throws IOException {
+            return Files.createDirectories(dir.resolve(name));
+        }
+
+        /**
+         * 파일을 작업 공간에 하드 링크로 가져온다 (다른 파일 시스템이면 복사)
+         */
+        public Path linkIn(Path source, String name) throws IOException {
+            Path target = dir.resolve(name);
+            Files.deleteIfExists(target);
+            try {
+                Files.createLink(target, source);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return target;
+        }
+
+        /**
+         * 파일을 이동한다 (같은 파일 시스템이면 원자적 이름 변경)
+         */
+        public void move(Path source, Path target) throws IOException {
+            try {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        /**
+         * 현재 사용량 (bytes)
+         */
+        public long usage() {
+            return directorySize(dir);
+        }
+
+        /**
+         * 작업별 한도를 넘었으면 예외 (렌더링 단계 사이에 호출)
+         */
+        public void checkQuota() {
+            long used = usage();
+            if (used > properties.getJobQuotaBytes()) {
+                throw new IllegalStateException(String.format("작업 공간 용량 초과: storyId=%s, 사용 %dbytes / 한도 %dbytes",
+                        storyId, used, properties.getJobQuotaBytes()));
+            }
+        }
+
+        /**
+         * 작업 공간 삭제 (여러 번 호출해도 안전)
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            activeWorkspaces.remove(dir);
+            deleteAtomically(dir);
+            log.info("작업 공간 삭제: storyId={}, dir={}", storyId, dir);
+        }
+    }
+}
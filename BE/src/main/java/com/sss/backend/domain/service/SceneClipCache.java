@@ -0,0 +1,241 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.config.S3Config;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+/**
+ * 씬 클립 캐시 (입력 해시 기반)
+ * - 이미지 URL, 대사 오디오 URL 순서, 레이아웃/인코딩 프로필 버전, 자막 내용으로 만든 키에 렌더링된 씬 클립을 저장한다
+ * - 로컬 디스크(RenderWorkspaceManager의 캐시 루트)에 최대 용량을 넘지 않도록 LRU로 관리하고, 선택적으로 S3에 복제한다
+ * - 적중한 클립은 작업 공간에 하드 링크로 가져온다 (RenderWorkspace.linkIn)
+ * - 재시도나 같은 씬이 반복될 때 씬 인코딩을 건너뛰고 병합만 수행하게 한다
+ * - 단계별 렌더링(VideoService.renderChain)에서만 사용된다. 단일 패스 렌더링은 씬 클립을 만들지 않으므로,
+ *   기본 설정(render.mode=single-pass)에서는 재시도를 retry-mode(기본 chain)로 렌더링하여 캐시를 채우고 재사용한다
+ */
+@Slf4j
+@Service
+public class SceneClipCache {
+
+    private static final String S3_PREFIX = "clip-cache/";
+    private static final String CLIP_EXTENSION = ".mp4";
+
+    private final S3Config s3Config;
+    private final RenderWorkspaceManager renderWorkspaceManager;
+    private final Executor stagingTaskExecutor;
+
+    // 캐시 디렉토리 (init에서 결정)
+    private Path cacheDir;
+
+    @Value("${video.clip-cache.enabled:true}")
+    private boolean enabled;
+
+    // 로컬 캐시 최대 용량 (기본 2GB)
+    @Value("${video.clip-cache.max-bytes:2147483648}")
+    private long maxBytes;
+
+    // S3 복제 여부 (서버 재시작/다른 인스턴스에서도 재사용)
+    @Value("${video.clip-cache.s3-mirror:false}")
+    private boolean s3Mirror;
+
+    // 키 -> 파일 크기 (접근 순서 유지, 가장 오래 사용하지 않은 항목이 앞)
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes = 0;
+
+    public SceneClipCache(S3Config s3Config, RenderWorkspaceManager renderWorkspaceManager,
+                          @Qualifier("stagingTaskExecutor") Executor stagingTaskExecutor) {
+        this.s3Config = s3Config;
+        this.renderWorkspaceManager = renderWorkspaceManager;
+        this.stagingTaskExecutor = stagingTaskExecutor;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            cacheDir = renderWorkspaceManager.cacheDirectory("clip_cache");
+
+            // 이전 실행에서 남은 클립을 마지막 사용 시각 순서로 등록 (저장 도중 중단된 임시 파일은 삭제)
+            try (Stream<Path> files = Files.list(cacheDir)) {
+                List<Path> clips = files.filter(path -> {
+                            if (path.toString().endsWith(".part")) {
+                                path.toFile().delete();
+                                return false;
+                            }
+                            return path.toString().endsWith(CLIP_EXTENSION);
+                        })
+                        .sorted(Comparator.comparingLong(path -> path.toFile().lastModified()))
+                        .toList();
+                synchronized (this) {
+                    for (Path clip : clips) {
+                        String fileName = clip.getFileName().toString();
+                        register(fileName.substring(0, fileName.length() - CLIP_EXTENSION.length()), Files.size(clip));
+                    }
+                    evict();
+                }
+            }
+            log.info("씬 클립 캐시 초기화: {}개, {}bytes (최대 {}bytes)", entries.size(), totalBytes, maxBytes);
+        } catch (IOException e) {
+            log.warn("씬 클립 캐시 초기화 실패, 캐시 없이 진행합니다: {}", e.getMessage());
+            enabled = false;
+        }
+    }
+
+    /**
+     * 입력 설명 문자열의 SHA-256 해시 키
+     */
+    public static String key(String descriptor) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(descriptor.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+        }
+    }
+
+    /**
+     * 캐시된 클립을 작업 공간의 name 경로로 가져온다 (하드 링크, 불가능하면 복사)
+     * @return 캐시 적중 여부
+     */
+    public boolean fetch(String key, RenderWorkspaceManager.RenderWorkspace workspace, String name) {
+        if (!enabled) {
+            return false;
+        }
+
+        synchronized (this) {
+            if (entries.get(key) != null) {
+                Path cached = clipPath(key);
+                try {
+                    workspace.linkIn(cached, name);
+                    Files.setLastModifiedTime(cached, FileTime.fromMillis(System.currentTimeMillis()));
+                    return true;
+                } catch (IOException e) {
+                    log.warn("캐시된 클립을 사용할 수 없어 제거합니다: {} - {}", key, e.getMessage());
+                    remove(key);
+                }
+            }
+        }
+
+        if (s3Mirror) {
+            return fetchFromS3(key, workspace, name);
+        }
+        return false;
+    }
+
+    /**
+     * 렌더링된 클립을 캐시에 저장한다 (원본 파일은 그대로 둔다)
+     */
+    public void store(String key, Path clip) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Path partial = cacheDir.resolve(key + CLIP_EXTENSION + "." + System.nanoTime() + ".part");
+            linkOrCopy(clip, partial);
+            commit(key, partial);
+        } catch (IOException e) {
+            log.warn("씬 클립 캐시 저장 실패 (무시됨): {} - {}", key, e.getMessage());
+            return;
+        }
+
+        if (s3Mirror) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    s3Config.uploadToS3(clipPath(key).toString(), S3_PREFIX + key + CLIP_EXTENSION);
+                } catch (Exception e) {
+                    log.warn("씬 클립 S3 복제 실패 (무시됨): {} - {}", key, e.getMessage());
+                }
+            }, stagingTaskExecutor);
+        }
+    }
+
+    // S3에 복제된 클립을 받아 로컬 캐시에 등록한 뒤 연결
+    private boolean fetchFromS3(String key, RenderWorkspaceManager.RenderWorkspace workspace, String name) {
+        Path partial = cacheDir.resolve(key + CLIP_EXTENSION + "." + System.nanoTime() + ".part");
+        try {
+            s3Config.downloadFromS3(S3_PREFIX + key + CLIP_EXTENSION, partial.toString());
+            synchronized (this) {
+                commit(key, partial);
+                workspace.linkIn(clipPath(key), name);
+            }
+            log.info("S3 씬 클립 캐시 적중: {}", key);
+            return true;
+        } catch (IOException e) {
+            // 캐시에 없는 경우도 여기로 옴
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+            }
+            return false;
+        }
+    }
+
+    // 임시 파일을 최종 경로로 이동하고 LRU 목록에 등록
+    private synchronized void commit(String key, Path partial) throws IOException {
+        Path cached = clipPath(key);
+        Files.move(partial, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        register(key, Files.size(cached));
+        evict();
+    }
+
+    private void register(String key, long size) {
+        Long previous = entries.put(key, size);
+        totalBytes += size - (previous != null ? previous : 0);
+    }
+
+    // 최대 용량을 넘으면 가장 오래 사용하지 않은 클립부터 삭제 (방금 저장한 클립은 남김)
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && entries.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalBytes -= eldest.getValue();
+            clipPath(eldest.getKey()).toFile().delete();
+            log.debug("씬 클립 캐시 제거: {}", eldest.getKey());
+        }
+    }
+
+    private void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+        }
+        clipPath(key).toFile().delete();
+    }
+
+    private void linkOrCopy(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private Path clipPath(String key) {
+        return cacheDir.resolve(key + CLIP_EXTENSION);
+    }
+}
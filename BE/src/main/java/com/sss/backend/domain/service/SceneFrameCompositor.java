@@ -0,0 +1,184 @@
+package com.sss.backend.domain.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.TextLayout;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 씬 프레임 합성기
+ * - 배경 이미지 위에 씬 이미지를 배치한 1080x1920 정지 프레임을 씬마다 한 번만 만든다
+ * - FFmpeg는 완성된 프레임 한 장만 인코딩하므로 매 프레임 scale/overlay 필터를 계산하지 않는다
+ * - 제목/사용자 정보를 선택적으로 프레임에 직접 그린다 (ASS 자막의 Title/UserInfo 스타일과 같은 위치)
+ */
+@Slf4j
+@Service
+public class SceneFrameCompositor {
+
+    public static final int FRAME_WIDTH = 1080;
+    public static final int FRAME_HEIGHT = 1920;
+
+    // 배경 이미지가 있을 때: 800x800 이미지 중앙을 (540,1250)에 배치
+    private static final int IMAGE_SIZE = 800;
+    private static final int IMAGE_CENTER_X = 540;
+    private static final int IMAGE_CENTER_Y = 1250;
+
+    // 배경 이미지가 없을 때: 흰 바탕에 900x900 이미지를 (90,510)에 배치
+    private static final int FALLBACK_IMAGE_SIZE = 900;
+    private static final int FALLBACK_IMAGE_X = 90;
+    private static final int FALLBACK_IMAGE_Y = 510;
+
+    // 제목/사용자 정보 위치 (ASS \pos, 좌하단 기준)
+    private static final int HEADER_X = 70;
+    private static final int TITLE_BOTTOM_Y = 365;
+    private static final int USER_INFO_BOTTOM_Y = 435;
+
+    private static final Font TITLE_FONT = new Font("NanumGothic", Font.BOLD, 70);
+    private static final Font USER_INFO_FONT = new Font("NanumGothic", Font.PLAIN, 40);
+    private static final Color TITLE_COLOR = Color.BLACK;
+    private static final Color TITLE_OUTLINE_COLOR = Color.WHITE;
+    private static final Color TITLE_SHADOW_COLOR = new Color(0, 0, 0, 0x33);
+    private static final Color USER_INFO_COLOR = new Color(0x00, 0x80, 0x80, 0x7F);
+
+    // 디코딩된 배경 이미지 캐시 (경로가 바뀌면 다시 읽음)
+    private volatile String cachedBackgroundPath;
+    private volatile BufferedImage cachedBackground;
+
+    /**
+     * 씬 프레임을 합성하여 PNG로 저장한다
+     * @param backgroundPath 배경 이미지 경로 (없으면 null, 흰 바탕 사용)
+     * @param imagePath 씬 이미지 로컬 경로
+     * @param title 프레임에 그릴 제목 (그리지 않으면 null)
+     * @param userInfo 프레임에 그릴 사용자 정보 (그리지 않으면 null)
+     */
+    public File composeScene(String backgroundPath, Path imagePath, String title, String userInfo, Path outputPath) throws IOException {
+        BufferedImage sceneImage = ImageIO.read(imagePath.toFile());
+        if (sceneImage == null) {
+            throw new IOException("씬 이미지를 읽을 수 없습니다: " + imagePath);
+        }
+
+        BufferedImage background = loadBackground(backgroundPath);
+        BufferedImage frame = newFrame(background);
+        Graphics2D g = frame.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (background != null) {
+                g.drawImage(sceneImage, IMAGE_CENTER_X - IMAGE_SIZE / 2, IMAGE_CENTER_Y - IMAGE_SIZE / 2,
+                        IMAGE_SIZE, IMAGE_SIZE, null);
+            } else {
+                g.drawImage(sceneImage, FALLBACK_IMAGE_X, FALLBACK_IMAGE_Y,
+                        FALLBACK_IMAGE_SIZE, FALLBACK_IMAGE_SIZE, null);
+            }
+            drawHeader(g, title, userInfo);
+        } finally {
+            g.dispose();
+        }
+
+        return write(frame, outputPath);
+    }
+
+    /**
+     * 씬 이미지 없이 배경과 제목/사용자 정보만 있는 프레임 (스토리 끝 1초 구간용)
+     */
+    public File composeTail(String backgroundPath, String title, String userInfo, Path outputPath) throws IOException {
+        BufferedImage frame = newFrame(loadBackground(backgroundPath));
+        Graphics2D g = frame.createGraphics();
+        try {
+            drawHeader(g, title, userInfo);
+        } finally {
+            g.dispose();
+        }
+        return write(frame, outputPath);
+    }
+
+    // 배경을 복사한 새 프레임 (캐시된 배경 이미지는 수정하지 않음)
+    private BufferedImage newFrame(BufferedImage background) {
+        BufferedImage frame = new BufferedImage(FRAME_WIDTH, FRAME_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = frame.createGraphics();
+        try {
+            if (background != null) {
+                g.drawImage(background, 0, 0, FRAME_WIDTH, FRAME_HEIGHT, null);
+            } else {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, FRAME_WIDTH, FRAME_HEIGHT);
+            }
+        } finally {
+            g.dispose();
+        }
+        return frame;
+    }
+
+    private void drawHeader(Graphics2D g, String title, String userInfo) {
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        if (title != null && !title.isEmpty()) {
+            Shape titleShape = textShape(g, title, TITLE_FONT, TITLE_BOTTOM_Y);
+            // 그림자 -> 테두리 -> 글자 순서로 그림 (Title 스타일: 테두리 3, 그림자 2)
+            g.setColor(TITLE_SHADOW_COLOR);
+            g.fill(AffineTransform.getTranslateInstance(2, 2).createTransformedShape(titleShape));
+            g.setColor(TITLE_OUTLINE_COLOR);
+            g.setStroke(new BasicStroke(6f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g.draw(titleShape);
+            g.setColor(TITLE_COLOR);
+            g.fill(titleShape);
+        }
+
+        if (userInfo != null && !userInfo.isEmpty()) {
+            g.setColor(USER_INFO_COLOR);
+            g.fill(textShape(g, userInfo, USER_INFO_FONT, USER_INFO_BOTTOM_Y));
+        }
+    }
+
+    // 글자 아래쪽이 bottomY에 오도록 배치한 외곽선
+    private Shape textShape(Graphics2D g, String text, Font font, int bottomY) {
+        FontRenderContext frc = g.getFontRenderContext();
+        TextLayout layout = new TextLayout(text, font, frc);
+        float baseline = bottomY - layout.getDescent();
+        return layout.getOutline(AffineTransform.getTranslateInstance(HEADER_X, baseline));
+    }
+
+    private BufferedImage loadBackground(String backgroundPath) throws IOException {
+        if (backgroundPath == null || !new File(backgroundPath).exists()) {
+            return null;
+        }
+        if (backgroundPath.equals(cachedBackgroundPath) && cachedBackground != null) {
+            return cachedBackground;
+        }
+
+        synchronized (this) {
+            if (!backgroundPath.equals(cachedBackgroundPath) || cachedBackground == null) {
+                BufferedImage background = ImageIO.read(new File(backgroundPath));
+                if (background == null) {
+                    throw new IOException("배경 이미지를 읽을 수 없습니다: " + backgroundPath);
+                }
+                cachedBackground = background;
+                cachedBackgroundPath = backgroundPath;
+                log.info("배경 이미지 캐시 완료: {} ({}x{})", backgroundPath, background.getWidth(), background.getHeight());
+            }
+            return cachedBackground;
+        }
+    }
+
+    private File write(BufferedImage frame, Path outputPath) throws IOException {
+        File outputFile = outputPath.toFile();
+        if (!ImageIO.write(frame, "png", outputFile)) {
+            throw new IOException("프레임 저장 실패: " + outputPath);
+        }
+        return outputFile;
+    }
+}
@@ -0,0 +1,229 @@
+package com.sss.backend.domain.service;
+
+import com.sss.backend.domain.document.AudioLine;
+import com.sss.backend.domain.document.Scene;
+import com.sss.backend.domain.document.SceneDocument;
+import com.sss.backend.domain.entity.Story;
+import com.sss.backend.domain.entity.Users;
+import com.sss.backend.domain.repository.SceneDocumentRepository;
+import com.sss.backend.domain.repository.StoryRepository;
+import com.sss.backend.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 작업(파이프라인 실행, 후속 렌더링) 단위의 스토리 데이터 스냅샷
+ * - 씬 문서, 원본 스토리, 작성자 닉네임, 모델 이름을 작업당 한 번만 조회하고 모든 단계가 공유한다
+ * - 오디오/이미지 결과는 Mongo에 저장(재시도 시 재사용)한 뒤 스냅샷에도 반영하므로 렌더링 단계는 다시 조회하지 않는다
+ * - begin ~ end 사이가 아닌 호출(단건 API 등)은 호출마다 새로 조회하는 일회용 스냅샷을 받는다
+ * - 작업의 에셋 스테이징도 스냅샷이 가지며, 마지막 작업이 끝날 때(end) 함께 정리한다 (일회용 스냅샷은 스테이징하지 않음)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StoryContextService {
+
+    private final SceneDocumentRepository sceneDocumentRepository;
+    private final StoryRepository storyRepository;
+    private final UserRepository userRepository;
+    private final AssetStagingService assetStagingService;
+
+    // 진행 중인 작업의 스냅샷 (같은 스토리의 작업이 겹치면 공유)
+    private final Map<String, StoryContext> activeContexts = new ConcurrentHashMap<>();
+
+    /**
+     * 작업 시작 (end를 반드시 한 번 호출)
+     */
+    public void begin(String storyId) {
+        activeContexts.compute(storyId,
+                (id, context) -> context == null ? new StoryContext(id, assetStagingService.open(id)) : context.retain());
+    }
+
+    /**
+     * 작업 종료 (마지막 작업이 끝나면 스냅샷을 버리고 스테이징한 에셋을 삭제)
+     */
+    public void end(String storyId) {
+        AtomicReference<StoryContext> finished = new AtomicReference<>();
+        activeContexts.computeIfPresent(storyId, (id, context) -> {
+            if (!context.release()) {
+                return context;
+            }
+            finished.set(context);
+            return null;
+        });
+        if (finished.get() != null && finished.get().staging != null) {
+            finished.get().staging.close();
+        }
+    }
+
+    /**
+     * 스토리의 스냅샷 (진행 중인 작업이 없으면 일회용 스냅샷)
+     */
+    public StoryContext context(String storyId) {
+        StoryContext context = activeContexts.get(storyId);
+        return context != null ? context : new StoryContext(storyId, null);
+    }
+
+    /**
+     * 스토리 스냅샷 (값은 처음 사용할 때 조회)
+     * 결과 반영(updateScene/updateAudioLine)은 서로 다른 씬/대사를 동시에 갱신할 수 있으며,
+     * 렌더링 단계는 미디어 생성 완료를 기다린 뒤 읽으므로 반영된 값을 본다
+     * 가상 스레드에서 Mongo/JPA 조회를 기다리므로 synchronized 대신 ReentrantLock으로 보호한다
+     */
+    public class StoryContext {
+        private final String storyId;
+        private final AssetStagingService.Staging staging;
+        private final ReentrantLock lock = new ReentrantLock();
+        private int users = 1;
+
+        private SceneDocument sceneDocument;
+        private Story story;
+        private boolean storyLoaded;
+        private String nickname;
+
+        private StoryContext(String storyId, AssetStagingService.Staging staging) {
+            this.storyId = storyId;
+            this.staging = staging;
+        }
+
+        private StoryContext retain() {
+            users++;
+            return this;
+        }
+
+        // 사용 중인 작업이 없으면 true
+        private boolean release() {
+            return --users <= 0;
+        }
+
+        public String getStoryId() {
+            return storyId;
+        }
+
+        /**
+         * 작업의 에셋 스테이징 (일회용 스냅샷이면 빈 값, 호출자는 S3 URL을 직접 사용)
+         */
+        public Optional<AssetStagingService.Staging> getStaging() {
+            return Optional.ofNullable(staging);
+        }
+
+        /**
+         * 씬 문서 (스크립트 생성 전이라 문서가 없으면 캐시하지 않고 다음 호출에서 다시 조회)
+         */
+        public Optional<SceneDocument> findSceneDocument() {
+            lock.lock();
+            try {
+                if (sceneDocument == null) {
+                    sceneDocument = sceneDocumentRepository.findByStoryId(storyId).orElse(null);
+                }
+                return Optional.ofNullable(sceneDocument);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public SceneDocument getSceneDocument() {
+            return findSceneDocument()
+                    .orElseThrow(() -> new RuntimeException("해당 스토리를 찾을 수 없습니다: " + storyId));
+        }
+
+        // 씬 문서의 스토리 제목
+        public String getTitle() {
+            return getSceneDocument().getStoryTitle();
+        }
+
+        // 사용자가 입력한 원본 스토리
+        public String getStoryText() {
+            return findStory().map(Story::getStory).orElse(null);
+        }
+
+        public String getAudioModelName() {
+            return findStory().map(Story::getAudioModelName).orElse(null);
+        }
+
+        public String getImageModelName() {
+            return findStory().map(Story::getImageModelName).orElse(null);
+        }
+
+        /**
+         * 작성자 닉네임 (조회 실패 시 "사용자")
+         */
+        public String getNickname() {
+            lock.lock();
+            try {
+                if (nickname == null) {
+                    nickname = loadNickname();
+                }
+                return nickname;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 저장이 끝난 씬 결과를 스냅샷에 반영 (씬 문서를 아직 조회하지 않았으면 다음 조회에 포함되므로 생략)
+         */
+        public void updateScene(int sceneId, Consumer<Scene> update) {
+            lock.lock();
+            try {
+                if (sceneDocument != null) {
+                    sceneDocument.findScene(sceneId).ifPresent(update);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 저장이 끝난 대사 결과를 스냅샷에 반영
+         */
+        public void updateAudioLine(int sceneId, int audioId, Consumer<AudioLine> update) {
+            lock.lock();
+            try {
+                if (sceneDocument != null) {
+                    sceneDocument.findScene(sceneId)
+                            .flatMap(scene -> scene.findAudioLine(audioId))
+                            .ifPresent(update);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private Optional<Story> findStory() {
+            lock.lock();
+            try {
+                if (!storyLoaded) {
+                    story = storyRepository.findById(Long.parseLong(storyId)).orElse(null);
+                    storyLoaded = true;
+                }
+                return Optional.ofNullable(story);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private String loadNickname() {
+            try {
+                Optional<Story> storyOpt = findStory();
+                if (storyOpt.isPresent() && storyOpt.get().getUser() != null && storyOpt.get().getUser().getId() != null) {
+                    Optional<Users> userOpt = userRepository.findById(storyOpt.get().getUser().getId());
+                    if (userOpt.isPresent() && userOpt.get().getNickname() != null) {
+                        return userOpt.get().getNickname();
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("사용자 정보를 가져오는 중 오류 발생: {}", e.getMessage());
+            }
+            return "사용자";
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.sss.backend.domain.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 스토리 파이프라인(스크립트 -> 음성/이미지 -> 렌더링/업로드) 실행기
+ * - 파이프라인은 대부분 외부 API 응답과 FFmpeg 종료를 기다리므로 작업마다 가상 스레드에서 실행한다
+ * - 동시에 실행하는 파이프라인 수를 제한하고, 초과분은 정해진 수만큼만 순서대로 대기시킨다
+ * - 대기열까지 가득 차면 요청을 받지 않는다 (호출자는 429 + Retry-After로 응답)
+ * 요청 처리 중 스토리를 만들기 전에 tryReserve로 자리를 먼저 확보한다
+ * 파이프라인 실행 동안 스토리 데이터는 StoryContextService의 스냅샷 하나를 공유한다
+ */
+@Slf4j
+@Service
+public class StoryPipelineExecutor {
+
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final long minRetryAfterSeconds;
+    private final StoryContextService storyContextService;
+
+    // 실행 중 + 대기 중인 파이프라인 자리
+    private final Semaphore admission;
+    // 실행 중인 파이프라인 자리 (fair: 대기 순서대로 실행)
+    private final Semaphore running;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("StoryPipeline-", 0).factory());
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    // 최근 파이프라인 실행 시간의 지수 이동 평균 (밀리초, 0이면 아직 없음)
+    private final AtomicLong averageDurationMillis = new AtomicLong();
+
+    public StoryPipelineExecutor(@Value("${video.pipeline.max-concurrent:4}") int maxConcurrent,
+                                 @Value("${video.pipeline.queue-capacity:16}") int queueCapacity,
+                                 @Value("${video.pipeline.retry-after-seconds:30}") long minRetryAfterSeconds,
+                                 StoryContextService storyContextService) {
+        if (maxConcurrent <= 0 || queueCapacity < 0) {
+            throw new IllegalStateException("파이프라인 동시 실행 수는 1 이상, 대기열 크기는 0 이상이어야 합니다");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.minRetryAfterSeconds = minRetryAfterSeconds;
+        this.storyContextService = storyContextService;
+        this.admission = new Semaphore(maxConcurrent + queueCapacity);
+        this.running = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * 파이프라인 자리를 확보한다
+     * @return 실행 중/대기 중인 파이프라인이 한도에 도달했으면 empty
+     */
+    public Optional<Ticket> tryReserve() {
+        if (!admission.tryAcquire()) {
+            rejectedCount.incrementAndGet();
+            log.warn("파이프라인 대기열이 가득 차 요청을 거절합니다: 실행 {}개, 대기 {}개", getRunningCount(), getQueuedCount());
+            return Optional.empty();
+        }
+        return Optional.of(new Ticket());
+    }
+
+    /**
+     * 거절한 요청이 다시 시도할 때까지 기다릴 시간 (초)
+     * 대기 중인 파이프라인이 모두 시작되는 데 걸릴 예상 시간, 최소 retry-after-seconds
+     */
+    public long getRetryAfterSeconds() {
+        long average = averageDurationMillis.get();
+        if (average <= 0) {
+            return minRetryAfterSeconds;
+        }
+        long waves = (getQueuedCount() + maxConcurrent) / maxConcurrent;
+        return Math.max(minRetryAfterSeconds, TimeUnit.MILLISECONDS.toSeconds(average * waves));
+    }
+
+    public int getRunningCount() {
+        return maxConcurrent - running.availablePermits();
+    }
+
+    public int getQueuedCount() {
+        return Math.max(0, maxConcurrent + queueCapacity - admission.availablePermits() - getRunningCount());
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void recordDuration(long millis) {
+        // 새 값의 비중 1/4
+        averageDurationMillis.updateAndGet(previous -> previous <= 0 ? millis : (previous * 3 + millis) / 4);
+    }
+
+    /**
+     * 확보한 파이프라인 자리 (execute 또는 release 중 하나를 반드시 한 번 호출)
+     */
+    public class Ticket {
+        private final AtomicBoolean used = new AtomicBoolean();
+
+        private Ticket() {
+        }
+
+        /**
+         * 파이프라인을 가상 스레드에서 실행한다 (실행 자리가 날 때까지 대기 후 시작)
+         */
+        public void execute(String storyId, Runnable pipeline) {
+            if (!used.compareAndSet(false, true)) {
+                throw new IllegalStateException("이미 사용한 파이프라인 자리입니다: storyId=" + storyId);
+            }
+            try {
+                executor.execute(() -> run(storyId, pipeline));
+            } catch (RuntimeException e) {
+                admission.release();
+                throw e;
+            }
+        }
+
+        /**
+         * 파이프라인을 시작하지 않고 자리를 반납한다 (요청 처리 실패 시)
+         */
+        public void release() {
+            if (used.compareAndSet(false, true)) {
+                admission.release();
+            }
+        }
+
+        private void run(String storyId, Runnable pipeline) {
+            try {
+                running.acquire();
+            } catch (InterruptedException e) {
+                admission.release();
+                Thread.currentThread().interrupt();
+                log.warn("파이프라인 대기 중 중단되었습니다: storyId={}", storyId);
+                return;
+            }
+            long start = System.currentTimeMillis();
+            storyContextService.begin(storyId);
+            try {
+                log.info("파이프라인 시작: storyId={}, 실행 {}개, 대기 {}개", storyId, getRunningCount(), getQueuedCount());
+                pipeline.run();
+            } catch (RuntimeException e) {
+                log.error("파이프라인 실행 중 처리되지 않은 오류: storyId={}, error={}", storyId, e.getMessage(), e);
+            } finally {
+                storyContextService.end(storyId);
+                recordDuration(System.currentTimeMillis() - start);
+                running.release();
+                admission.release();
+            }
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.sss.backend.domain.service;
 import com.sss.backend.domain.entity.Video.VideoStatus;
 import com.sss.backend.domain.entity.VideoProcessingStep;
 import com.sss.backend.domain.event.ProcessingStepChangedEvent;
+import com.sss.backend.domain.event.ProcessingStepsClearedEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -77,5 +78,6 @@ public class VideoProcessingStatusService {
     public void deleteProcessingStep(String storyId) {
         String key = VIDEO_PROCESSING_STATUS_KEY_PREFIX + storyId;
         stringRedisTemplate.delete(key);
+        eventPublisher.publishEvent(new ProcessingStepsClearedEvent(storyId));
     }
 }
\ No newline at end of file
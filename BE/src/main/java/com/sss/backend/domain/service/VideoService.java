@@ -1,17 +1,26 @@
 package com.sss.backend.domain.service;
 
+import com.sss.backend.api.dto.TimelineManifestDto;
 import com.sss.backend.api.dto.VideoListResponseDTO;
 import com.sss.backend.api.dto.VideoStatusAllDTO;
+import com.sss.backend.config.EncodingProfileProperties;
+import com.sss.backend.config.RenditionProperties;
 import com.sss.backend.config.S3Config;
+import com.sss.backend.config.StillEncodingProperties;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
-import net.bramp.ffmpeg.FFmpeg;
-import net.bramp.ffmpeg.FFmpegExecutor;
 import net.bramp.ffmpeg.builder.FFmpegBuilder;
+import net.bramp.ffmpeg.builder.FFmpegOutputBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
+import com.sss.backend.domain.document.AudioLine;
+import com.sss.backend.domain.document.Scene;
 import com.sss.backend.domain.document.SceneDocument;
 import com.sss.backend.domain.repository.SceneDocumentRepository;
 import com.sss.backend.domain.entity.Story;
@@ -20,27 +29,28 @@ import com.sss.backend.domain.repository.StoryRepository;
 import com.sss.backend.domain.repository.VideoRepository;
 import com.sss.backend.domain.entity.Video.VideoStatus;
 import com.sss.backend.api.dto.VideoStatusResponseDto;
-import com.sss.backend.domain.entity.Users;
-import com.sss.backend.domain.repository.UserRepository;
 import com.sss.backend.domain.entity.VideoProcessingStep;
 import com.sss.backend.domain.service.VideoProcessingStatusService;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
-import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import com.sss.backend.domain.service.VideoStatusSseService;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import jakarta.annotation.PostConstruct;
@@ -53,28 +63,109 @@ public class VideoService {
     private static final Logger logger = LoggerFactory.getLogger(VideoService.class);
     private static final String TEMP_DIR = System.getProperty("java.io.tmpdir") + File.separator + "sss_app_temp";
     private static final String BACKGROUND_IMAGE_PATH = "images/background.png";
-    private static final String BACKGROUND_MUSIC_PATH = "audios"; // 배경음악 폴더 경로
+    private static final String RENDER_MODE_SINGLE_PASS = "single-pass"; // 단일 filtergraph 렌더링 모드
+    private static final String SUBTITLE_MODE_SCENE = "scene"; // 씬 인코딩 시 자막을 함께 입히는 모드
+    // 씬 클립/무음 비디오 공통 mp4 타임스케일 (concat 스트림 복사를 위해 모두 동일해야 함)
+    private static final int CLIP_TIMESCALE = 15360;
+    // 씬 클립 레이아웃 버전 (배경, 이미지 배치, 자막 스타일, 필터 구성이 바뀌면 올려서 캐시를 무효화)
+    private static final String SCENE_CLIP_LAYOUT_VERSION = "1";
+    // 자막 배치 (ASS 자막과 미리보기 타임라인이 함께 사용, 1080x1920 기준)
+    private static final int SUBTITLE_X = 540;
+    private static final int SUBTITLE_Y = 640;
+    private static final int SUBTITLE_FONT_SIZE = 60;
+    private static final int HEADER_X = 70;
+    private static final int TITLE_Y = 365;
+    private static final int USER_INFO_Y = 435;
     private String backgroundImageFilePath;
-    private List<String> backgroundMusicFilePaths = new ArrayList<>();
     private String silentVideoFilePath; // 미리 생성한 무음 비디오 파일 경로
+    private String silentAudioFilePath; // 미리 생성한 1초 무음 오디오 파일 경로
     
     private final SceneDocumentRepository sceneDocumentRepository;
+    private final StoryContextService storyContextService;
     private final S3Config s3Config;
-    private final FFmpeg ffmpeg;
     private final StoryRepository storyRepository;
     private final VideoRepository videoRepository;
-    private final UserRepository userRepository;
     private final VideoProcessingStatusService videoProcessingStatusService;
     private final VideoStatusSseService videoStatusSseService;
-
-    private final ResourcePatternResolver resourcePatternResolver = new PathMatchingResourcePatternResolver();
+    private final AudioAssemblyService audioAssemblyService;
+    private final SceneFrameCompositor sceneFrameCompositor;
+    private final StillEncodingProperties stillEncodingProperties;
+    private final SceneClipCache sceneClipCache;
+    private final FFmpegProcessSupervisor ffmpegProcessSupervisor;
+    private final MediaProbeService mediaProbeService;
+    private final RenderWorkspaceManager renderWorkspaceManager;
+    private final BackgroundMusicService backgroundMusicService;
+    private final EncodingProfileProperties encodingProfileProperties;
+    private final HlsPublishService hlsPublishService;
+    private final RenditionProperties renditionProperties;
+
+    // 렌더링 모드 (single-pass: 한 번의 인코딩, chain: 기존 단계별 렌더링)
+    @Value("${video.render.mode:single-pass}")
+    private String renderMode;
+
+    // 재시도 렌더링 모드 (씬 클립 캐시는 단계별 렌더링에서만 쓰이므로 기본은 chain: 캐시된 씬은 인코딩 없이 병합만 수행)
+    @Value("${video.render.retry-mode:chain}")
+    private String retryRenderMode;
+
+    // 단계별 렌더링의 자막 방식 (scene: 씬 인코딩에 포함, global: 병합 후 전체 영상에 한 번 더 인코딩)
+    @Value("${video.subtitle.mode:scene}")
+    private String subtitleMode;
+
+    // 씬 프레임을 Java에서 미리 합성할지 여부 (false면 FFmpeg overlay 필터 사용)
+    @Value("${video.compositor.enabled:true}")
+    private boolean compositorEnabled;
+
+    // 씬 자막 모드에서 제목/사용자 정보를 ASS 대신 합성 프레임에 직접 그릴지 여부
+    @Value("${video.compositor.bake-header:true}")
+    private boolean compositorBakeHeader;
+
+    // FFmpeg 프로세스 하나에 할당하는 스레드 수 (renderTaskExecutor 크기와 같은 값을 사용)
+    @Value("${video.render.threads-per-job:2}")
+    private int renderThreadsPerJob;
+
+    // 단일 패스 렌더링 출력을 fragmented MP4로 S3 멀티파트 업로드에 바로 스트리밍할지 여부 (로컬 최종 파일 없음)
+    @Value("${video.upload.streaming:false}")
+    private boolean uploadStreaming;
+
+    // 스트리밍 업로드 파트 크기 (최소 5MB)
+    @Value("${video.upload.part-size-bytes:8388608}")
+    private int uploadPartSizeBytes;
+
+    // 동시에 업로드할 최대 파트 수
+    @Value("${video.upload.max-in-flight-parts:2}")
+    private int uploadMaxInFlightParts;
+
+    // 씬 렌더링 전용 스레드 풀 (AsyncConfig)
+    @Autowired
+    @Qualifier("renderTaskExecutor")
+    private ThreadPoolTaskExecutor renderTaskExecutor;
+
+    // 미리보기 이후 고화질 렌더링 전용 스레드 풀 (AsyncConfig)
+    @Autowired
+    @Qualifier("followUpRenderExecutor")
+    private ThreadPoolTaskExecutor followUpRenderExecutor;
 
     @PostConstruct
     public void init() {
         createTempDir();
         copyBackgroundImage();
-        copyBackgroundMusic();
         createAndSaveSilentVideo(); // 무음 비디오 미리 생성
+        warnIfHlsUnreachable();
+        if (RENDER_MODE_SINGLE_PASS.equalsIgnoreCase(renderMode) && RENDER_MODE_SINGLE_PASS.equalsIgnoreCase(retryRenderMode)) {
+            logger.warn("video.render.mode와 video.render.retry-mode가 모두 single-pass 이므로 씬 클립 캐시는 단일 패스가 실패해 대체될 때만 사용됩니다");
+        }
+    }
+
+    // HLS 점진 공개는 단계별 렌더링 + 씬 자막 모드에서만 동작 (단일 패스 모드에서는 단일 패스가 실패해 대체될 때만 공개)
+    private void warnIfHlsUnreachable() {
+        if (!hlsPublishService.isEnabled()) {
+            return;
+        }
+        if (!SUBTITLE_MODE_SCENE.equalsIgnoreCase(subtitleMode)) {
+            logger.warn("video.hls.enabled=true 이지만 video.subtitle.mode={} 이므로 HLS를 공개하지 않습니다 (scene 필요)", subtitleMode);
+        } else if (RENDER_MODE_SINGLE_PASS.equalsIgnoreCase(renderMode)) {
+            logger.warn("video.hls.enabled=true 이지만 video.render.mode={} 이므로 단일 패스가 실패한 경우에만 HLS를 공개합니다 (chain 필요)", renderMode);
+        }
     }
 
     private void createTempDir() {
@@ -128,118 +219,29 @@ public class VideoService {
     }
 
     /**
-     * 클래스패스에서 배경 음악 파일들을 복사하여 임시 디렉토리에 저장하는 메소드
+     * 씬의 대사 오디오를 하나의 WAV 트랙으로 병합한다 (한 번의 디코딩 후 PCM 이어 붙이기)
      */
-    private void copyBackgroundMusic() {
-        try {
-            // ResourcePatternResolver를 사용하여 모든 mp3 파일을 찾음
-            Resource[] resources = resourcePatternResolver.getResources("classpath:" + BACKGROUND_MUSIC_PATH + "/*.mp3");
-            
-            if (resources.length == 0) {
-                logger.warn("배경 음악 파일이 없음: {}", BACKGROUND_MUSIC_PATH);
-                return;
-            }
-
-            // 임시 디렉토리에 복사
-            for (Resource resource : resources) {
-                String filename = resource.getFilename();
-                if (filename == null) continue;
-
-                String destPath = TEMP_DIR + File.separator + "audios" + File.separator + "bg_" + filename;
-                File destFile = new File(destPath);
-                
-                // 파일 복사 (InputStream 사용)
-                try (InputStream inputStream = resource.getInputStream()) {
-                    Files.copy(inputStream, destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-                    backgroundMusicFilePaths.add(destFile.getAbsolutePath());
-                    logger.info("배경 음악 파일 복사 완료: {}", destFile.getAbsolutePath());
-                }
-            }
-        } catch (IOException e) {
-            logger.error("배경 음악 파일 복사 중 오류 발생: {}", e.getMessage(), e);
-        }
-    }
-
-    /**
-     * 가용한 배경 음악 파일 중 하나를 랜덤하게 선택
-     * @return 선택된 배경 음악 파일 경로, 없으면 null
-     */
-    private String getRandomBackgroundMusic() {
-        if (backgroundMusicFilePaths.isEmpty()) {
-            logger.warn("사용 가능한 배경 음악 파일이 없습니다.");
-            return null;
-        }
-        
-        int randomIndex = (int) (Math.random() * backgroundMusicFilePaths.size());
-        return backgroundMusicFilePaths.get(randomIndex);
-    }
-
     public File mergeAudioFiles(List<String> audioUrls, String outputPath) {
         try {
-            if (audioUrls.isEmpty()) {
-                throw new RuntimeException("병합할 오디오 URL이 없습니다");
-            }
-            
             createTempDir();
-
-            // 임시 출력 경로는 중간 작업에만 사용
-            String tempOutputPath = TEMP_DIR + File.separator + "audios" + File.separator + "merged_" + UUID.randomUUID() + ".mp3";
-            String cleanTempPath = tempOutputPath.replace("\"", "");
             String cleanOutputPath = outputPath.replace("\"", "");
-
-            // 첫 번째 오디오 처리
-            String firstS3Key = s3Config.extractS3KeyFromUrl(audioUrls.get(0));
-            String firstPresignedUrl = s3Config.generatePresignedUrl(firstS3Key);
-
-            FFmpegBuilder firstBuilder = new FFmpegBuilder()
-                .setInput(firstPresignedUrl)
-                .addExtraArgs("-y")
-                .addExtraArgs("-protocol_whitelist", "file,http,https,tcp,tls")
-                .addOutput(cleanTempPath)
-                .setAudioCodec("libmp3lame")
-                .setFormat("mp3")
-                .done();
-                
-            FFmpegExecutor executor = new FFmpegExecutor(ffmpeg);
-            executor.createJob(firstBuilder).run();
-            
-            // 추가 오디오 파일 병합
-            for (int i = 1; i < audioUrls.size(); i++) {
-                String tempOutput = TEMP_DIR + File.separator + "audios" + File.separator + "temp_" + UUID.randomUUID() + ".mp3";
-                String cleanTempOutput = tempOutput.replace("\"", "");
-
-                String s3Key = s3Config.extractS3KeyFromUrl(audioUrls.get(i));
-                String presignedUrl = s3Config.generatePresignedUrl(s3Key);
-
-                FFmpegBuilder appendBuilder = new FFmpegBuilder()
-                    .addInput(cleanTempPath)
-                    .addInput(presignedUrl)
-                    .addExtraArgs("-y")
-                    .addExtraArgs("-protocol_whitelist", "file,http,https,tcp,tls")
-                    .addOutput(cleanTempOutput)
-                    .addExtraArgs("-filter_complex", "[0:a][1:a]concat=n=2:v=0:a=1[outa]")
-                    .addExtraArgs("-map", "[outa]")
-                    .setAudioCodec("libmp3lame")
-                    .setFormat("mp3")
-                    .done();
-                    
-                executor.createJob(appendBuilder).run();
-                Files.move(Paths.get(cleanTempOutput), Paths.get(cleanTempPath), StandardCopyOption.REPLACE_EXISTING);
-            }
-
-            // 최종 결과를 바로 outputPath에 생성
-            if (!cleanTempPath.equals(cleanOutputPath)) {
-                Files.move(Paths.get(cleanTempPath), Paths.get(cleanOutputPath), StandardCopyOption.REPLACE_EXISTING);
-            }
-            
-            return new File(cleanOutputPath);
+            return audioAssemblyService.assembleScene(audioUrls, Paths.get(cleanOutputPath)).getFile().toFile();
         } catch (Exception e) {
             logger.error("오디오 파일 병합 중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("오디오 파일 병합 중 오류 발생: " + e.getMessage(), e);
         }
     }
     
-    public File createVideoFromImageAndAudio(String imageUrl, String audioPath, String outputPath) {
+    /**
+     * 이미지와 씬 오디오로 씬 클립을 생성한다
+     * 모든 씬 클립은 clipEncoding 파라미터로 인코딩되어 mergeVideos에서 재인코딩 없이 이어 붙일 수 있다
+     * @param durationSeconds 씬 오디오 길이 (정지 이미지를 이 길이만큼 유지)
+     * @param subtitleFile 씬 기준 시간의 ASS 자막 파일 (없으면 null)
+     * @param jobId FFmpeg 취소 단위 (작업 공간 ID)
+     * @param progress 렌더링 진행률 (없으면 null)
+     */
+    public File createVideoFromImageAndAudio(String storyId, String jobId, String imageUrl, String audioPath, String outputPath, double durationSeconds,
+                                             File subtitleFile, FFmpegProcessSupervisor.RenderProgress progress) {
         try {
             createTempDir();
 
@@ -254,18 +256,18 @@ public class VideoService {
             }
 
             String cleanOutputPath = outputPath.replace("\"", "");
-            String tempAudioPath = TEMP_DIR + File.separator + "audios" + File.separator + UUID.randomUUID() + ".mp3";
-            String cleanAudioPath = tempAudioPath.replace("\"", "");
+            // 조립된 씬 오디오는 작업 공간의 로컬 파일이므로 복사 없이 그대로 입력으로 사용
+            String cleanAudioPath = audioPath.replace("\"", "");
 
-            // 오디오 파일 복사 (필수 과정)
-            Files.copy(Paths.get(audioPath), Paths.get(cleanAudioPath), StandardCopyOption.REPLACE_EXISTING);
-
-            // S3 pre-signed URL 생성
-            String imageS3Key = s3Config.extractS3KeyFromUrl(imageUrl);
-            String presignedImageUrl = s3Config.generatePresignedUrl(imageS3Key);
-            logger.info("이미지 URL 생성: {}", presignedImageUrl);
+            // 스테이징된 로컬 이미지는 그대로 사용, S3 URL이면 pre-signed URL 생성
+            String presignedImageUrl = imageUrl;
+            if (imageUrl.startsWith("http")) {
+                presignedImageUrl = s3Config.generatePresignedUrl(s3Config.extractS3KeyFromUrl(imageUrl));
+            }
+            logger.info("이미지 입력: {}", presignedImageUrl);
 
-            FFmpegExecutor executor = new FFmpegExecutor(ffmpeg);
+            // 씬 자막이 있으면 같은 인코딩에서 함께 입힘
+            String subtitleFilter = subtitleFile != null ? "," + assFilter(subtitleFile) : "";
 
             if (backgroundImageFilePath != null && new File(backgroundImageFilePath).exists()) {
                 logger.info("배경 이미지 사용: {}", backgroundImageFilePath);
@@ -274,7 +276,7 @@ public class VideoService {
                 // 1. 배경 이미지 입력
                 // 2. S3 이미지 URL 입력
                 // 3. filter_complex로 이미지 리사이즈 및 오버레이
-                FFmpegBuilder builder = new FFmpegBuilder()
+                FFmpegOutputBuilder output = new FFmpegBuilder()
                     .addInput(backgroundImageFilePath)
                     .addInput(presignedImageUrl)
                     .addInput(cleanAudioPath)
@@ -283,48 +285,33 @@ public class VideoService {
                     .addOutput(cleanOutputPath)
                     .addExtraArgs("-filter_complex",
                         "[1:v]scale=800:800[fg];" +    // 메인 이미지를 800x800으로 조정
-                        "[0:v][fg]overlay=(540-w/2):(1250-h/2)[v];" +  // 이미지 중앙이 (540,1250)에 오도록 배치
-                        "[v][2:a]concat=n=1:v=1:a=1[outv][outa]")  // 비디오와 오디오 결합
+                        "[0:v][fg]overlay=(540-w/2):(1250-h/2)," +  // 이미지 중앙이 (540,1250)에 오도록 배치
+                        stillFrameFilter(durationSeconds) + subtitleFilter + "[outv]")  // 오디오 길이만큼 정지 화면 유지
                     .addExtraArgs("-map", "[outv]")
-                    .addExtraArgs("-map", "[outa]")
-                    .setVideoCodec("libx264")
-                    .setConstantRateFactor(23)
-                    .setVideoPixelFormat("yuv420p")
-                    .setAudioCodec("aac")
-                    .setAudioBitRate(128000)
-                    .setFormat("mp4")
-                    .done();
-
-                executor.createJob(builder).run();
+                    .addExtraArgs("-map", "2:a");
+                FFmpegBuilder builder = applyClipEncoding(output).done();
+
+                ffmpegProcessSupervisor.run(storyId, jobId, FFmpegProcessSupervisor.Stage.SCENE_CLIP, builder.build(), durationSeconds, progress);
                 logger.info("비디오 생성 완료 (배경 이미지 적용): {}", cleanOutputPath);
             } else {
                 logger.warn("배경 이미지를 찾을 수 없어 기본 배경으로 대체합니다.");
 
                 // 배경 이미지 없이 처리
-                FFmpegBuilder builder = new FFmpegBuilder()
+                FFmpegOutputBuilder output = new FFmpegBuilder()
                     .setInput(presignedImageUrl)
                     .addInput(cleanAudioPath)
                     .addExtraArgs("-y")
                     .addOutput(cleanOutputPath)
                     .addExtraArgs("-filter_complex",
-                        "[0:v]scale=900:900,pad=1080:1920:90:510:white[v];" +  // 900x900으로 조정 및 흰색 패딩
-                        "[v][1:a]concat=n=1:v=1:a=1[outv][outa]")
+                        "[0:v]scale=900:900,pad=1080:1920:90:510:white," +  // 900x900으로 조정 및 흰색 패딩
+                        stillFrameFilter(durationSeconds) + subtitleFilter + "[outv]")
                     .addExtraArgs("-map", "[outv]")
-                    .addExtraArgs("-map", "[outa]")
-                    .setVideoCodec("libx264")
-                    .setConstantRateFactor(23)
-                    .setVideoPixelFormat("yuv420p")
-                    .setAudioCodec("aac")
-                    .setAudioBitRate(128000)
-                    .setFormat("mp4")
-                    .done();
+                    .addExtraArgs("-map", "1:a");
+                FFmpegBuilder builder = applyClipEncoding(output).done();
                 
-                executor.createJob(builder).run();
+                ffmpegProcessSupervisor.run(storyId, jobId, FFmpegProcessSupervisor.Stage.SCENE_CLIP, builder.build(), durationSeconds, progress);
                 logger.info("비디오 생성 완료 (기본 배경): {}", cleanOutputPath);
             }
-            
-            // 임시 오디오 파일 삭제
-            new File(cleanAudioPath).delete();
 
             return new File(cleanOutputPath);
         } catch (Exception e) {
@@ -333,212 +320,248 @@ public class VideoService {
         }
     }
     
-    public File mergeVideos(List<String> videoPaths, String outputPath, String storyId) {
+    /**
+     * 미리 합성된 1080x1920 프레임과 오디오로 클립을 생성한다 (scale/overlay 필터 없음)
+     * @param durationSeconds 클립 길이 (프레임을 이 길이만큼 유지)
+     * @param subtitleFile 클립 기준 시간의 ASS 자막 파일 (없으면 null)
+     * @param jobId FFmpeg 취소 단위 (작업 공간 ID)
+     * @param progress 렌더링 진행률 (없으면 null)
+     */
+    public File createVideoFromFrameAndAudio(String storyId, String jobId, String framePath, String audioPath, String outputPath, double durationSeconds,
+                                             File subtitleFile, FFmpegProcessSupervisor.RenderProgress progress) {
         try {
-            createTempDir();
+            String cleanOutputPath = outputPath.replace("\"", "");
+            String subtitleFilter = subtitleFile != null ? "," + assFilter(subtitleFile) : "";
+
+            FFmpegOutputBuilder output = new FFmpegBuilder()
+                .addInput(framePath)
+                .addInput(audioPath)
+                .addExtraArgs("-y")
+                .addOutput(cleanOutputPath)
+                .addExtraArgs("-filter_complex", "[0:v]" + stillFrameFilter(durationSeconds) + subtitleFilter + "[outv]")
+                .addExtraArgs("-map", "[outv]")
+                .addExtraArgs("-map", "1:a")
+                .addExtraArgs("-t", formatSeconds(durationSeconds));
+            FFmpegBuilder builder = applyClipEncoding(output).done();
+
+            ffmpegProcessSupervisor.run(storyId, jobId, FFmpegProcessSupervisor.Stage.SCENE_CLIP, builder.build(), durationSeconds, progress);
+            logger.info("비디오 생성 완료 (합성 프레임): {}", cleanOutputPath);
+
+            return new File(cleanOutputPath);
+        } catch (Exception e) {
+            logger.error("합성 프레임과 오디오 합성 중 오류 발생: {}", e.getMessage(), e);
+            throw new RuntimeException("합성 프레임과 오디오 합성 중 오류 발생: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 씬 클립과 무음 비디오에 공통으로 적용하는 인코딩 파라미터 (정지 이미지 프로필)
+     * 해상도(배경 1080x1920), 프레임레이트, GOP, 타임스케일, 픽셀 포맷, AAC 샘플레이트/채널을 고정한다
+     */
+    private FFmpegOutputBuilder applyClipEncoding(FFmpegOutputBuilder output) {
+        return output
+            .setVideoCodec("libx264")
+            .setVideoPixelFormat("yuv420p")
+            .addExtraArgs(stillEncodingProperties.x264Args().toArray(new String[0]))
+            .addExtraArgs("-video_track_timescale", String.valueOf(CLIP_TIMESCALE))
+            .setAudioCodec("aac")
+            .setAudioBitRate(128000)
+            .addExtraArgs("-ar", String.valueOf(AudioAssemblyService.SAMPLE_RATE))
+            .addExtraArgs("-ac", String.valueOf(AudioAssemblyService.CHANNELS))
+            .addExtraArgs("-threads", String.valueOf(renderThreadsPerJob))
+            .setFormat("mp4");
+    }
+
+    // 한 장의 프레임을 지정한 길이의 영상으로 늘리는 필터 (내부 프레임레이트로 처리, 출력 시 -r로 프레임 복제)
+    private String stillFrameFilter(double durationSeconds) {
+        String duration = formatSeconds(durationSeconds);
+        return "fps=" + stillEncodingProperties.getInternalFps() + ",setsar=1," +
+                "tpad=stop_mode=clone:stop_duration=" + duration + "," +
+                "trim=duration=" + duration + ",setpts=PTS-STARTPTS,format=yuv420p";
+    }
+
+    // ASS 자막 필터 (filtergraph용 경로 이스케이프)
+    private String assFilter(File subtitleFile) {
+        return "ass=" + subtitleFile.getAbsolutePath().replace("\\", "\\\\").replace(":", "\\:");
+    }
 
+    /**
+     * 병합할 클립들의 스트림 파라미터가 모두 같은지 확인한다 (같으면 concat 스트림 복사 가능)
+     */
+    private boolean hasMatchingClipParameters(List<String> clipPaths) {
+        String expected = null;
+        for (String clipPath : clipPaths) {
+            try {
+                String signature = mediaProbeService.probe(clipPath).streamSignature();
+                if (expected == null) {
+                    expected = signature;
+                } else if (!expected.equals(signature)) {
+                    logger.warn("클립 인코딩 파라미터 불일치: {} ({} / 기준 {})", clipPath, signature, expected);
+                    return false;
+                }
+            } catch (Exception e) {
+                logger.warn("클립 파라미터 확인 실패: {} - {}", clipPath, e.getMessage());
+                return false;
+            }
+        }
+        return expected != null;
+    }
+
+    /**
+     * 씬 클립들을 이어 붙이고 자막과 배경 음악을 추가한다
+     * @param subtitlesBurnedIn 씬 클립에 자막이 이미 입혀져 있으면 true (자막 단계를 건너뛰고, 마지막 1초 클립도 호출자가 videoPaths에 포함)
+     * @param workspace 중간 파일을 만들 작업 공간 (결과 파일은 복사 대신 이동)
+     */
+    public File mergeVideos(List<String> videoPaths, String outputPath, String storyId, AudioAssemblyService.StoryTrack storyTrack,
+                            boolean subtitlesBurnedIn, RenderWorkspaceManager.RenderWorkspace workspace) {
+        try {
             String cleanOutputPath = outputPath.replace("\"", "");
-            String tempOutputPath = TEMP_DIR + File.separator + "videos" + File.separator + "merged_without_subs_" + UUID.randomUUID() + ".mp4";
-            String cleanTempOutputPath = tempOutputPath.replace("\"", "");
-            String tempWithMusicPath = TEMP_DIR + File.separator + "videos" + File.separator + "merged_with_music_" + UUID.randomUUID() + ".mp4";
-            String cleanTempWithMusicPath = tempWithMusicPath.replace("\"", "");
+            String cleanTempOutputPath = workspace.resolve("merged_without_subs.mp4").toString();
 
-            // 비디오 파일을 임시 경로로 복사 (여러 파일 병합 위해 필요한 과정)
-            List<String> tempVideoPaths = new ArrayList<>();
+            // 씬 클립 경로를 그대로 concat 목록에 사용 (임시 복사 없음)
+            List<String> clipPaths = new ArrayList<>();
             for (int i = 0; i < videoPaths.size(); i++) {
-                String tempVideoPath = TEMP_DIR + File.separator + "videos" + File.separator + "scene_video_" + i + "_" + UUID.randomUUID() + ".mp4";
-                String cleanVideoPath = tempVideoPath.replace("\"", "");
-                
                 // 원본 파일 존재 확인
                 File originalFile = new File(videoPaths.get(i));
                 if (!originalFile.exists() || originalFile.length() == 0) {
                     logger.error("비디오 파일이 존재하지 않거나 크기가 0입니다: {}", videoPaths.get(i));
                     continue;  // 존재하지 않는 파일은 건너뜀
                 }
-                
-                Files.copy(Paths.get(videoPaths.get(i)), Paths.get(cleanVideoPath), StandardCopyOption.REPLACE_EXISTING);
-                tempVideoPaths.add(cleanVideoPath);
-                logger.info("비디오 파일 복사 완료 {}/{}: {}", i+1, videoPaths.size(), cleanVideoPath);
+                clipPaths.add(originalFile.getAbsolutePath());
             }
             
             // 파일이 하나도 없으면 실패 처리
-            if (tempVideoPaths.isEmpty()) {
+            if (clipPaths.isEmpty()) {
                 throw new RuntimeException("병합할 유효한 비디오 파일이 없습니다");
             }
             
-            // 마지막에 무음 비디오 추가 (silentVideoFilePath에서 직접 복사)
-            if (silentVideoFilePath != null && new File(silentVideoFilePath).exists()) {
-                String tempSilentVideoPath = TEMP_DIR + File.separator + "videos" + File.separator + "silent_" + UUID.randomUUID() + ".mp4";
-                String cleanSilentVideoPath = tempSilentVideoPath.replace("\"", "");
-                
-                Files.copy(Paths.get(silentVideoFilePath), Paths.get(cleanSilentVideoPath), StandardCopyOption.REPLACE_EXISTING);
-                tempVideoPaths.add(cleanSilentVideoPath);
-                logger.info("비디오 병합 단계에서 무음 비디오 추가됨: {}", cleanSilentVideoPath);
+            // 마지막에 무음 비디오 추가 (미리 생성한 파일을 직접 참조)
+            if (subtitlesBurnedIn) {
+                logger.info("씬 자막 모드: 호출자가 추가한 마지막 클립을 사용합니다");
+            } else if (silentVideoFilePath != null && new File(silentVideoFilePath).exists()) {
+                clipPaths.add(silentVideoFilePath);
+                logger.info("비디오 병합 단계에서 무음 비디오 추가됨: {}", silentVideoFilePath);
             } else {
                 logger.warn("무음 비디오 파일이 존재하지 않아 추가하지 않습니다.");
             }
 
-            // 임시 파일 목록 (나중에 삭제를 위해 추적)
-            List<String> tempFilesToDelete = new ArrayList<>(tempVideoPaths);
+            // 배경 음악 베드 (스토리 + 마지막 1초보다 긴 구간, 볼륨 적용 완료) - 마지막 인코딩 패스에서 함께 섞음
+            double outputSeconds = storyTrack != null ? storyTrack.getDurationSeconds() + 1 : 0;
+            Path backgroundMusicBed = backgroundMusicService.selectBed(outputSeconds);
+            if (backgroundMusicBed == null) {
+                logger.warn("배경 음악을 찾을 수 없어 생략합니다.");
+            }
+
+            // 임시 파일 목록 (나중에 삭제를 위해 추적, 씬 클립과 무음 비디오는 제외)
+            List<String> tempFilesToDelete = new ArrayList<>();
 
             // 임시 파일 생성 (파일 목록)
-            Path listFilePath = Paths.get(TEMP_DIR, "videos" + File.separator + "video_list_" + UUID.randomUUID() + ".txt");
+            Path listFilePath = workspace.resolve("video_list.txt");
             
             StringBuilder fileList = new StringBuilder();
-            for (String videoPath : tempVideoPaths) {
+            for (String videoPath : clipPaths) {
                 fileList.append("file '").append(videoPath.replace("\\", "\\\\").replace("'", "\\'")).append("'\n");
             }
             
             Files.write(listFilePath, fileList.toString().getBytes());
-            logger.info("비디오 리스트 파일 생성: {} (총 {}개 비디오)", listFilePath, tempVideoPaths.size());
+            logger.info("비디오 리스트 파일 생성: {} (총 {}개 비디오)", listFilePath, clipPaths.size());
             tempFilesToDelete.add(listFilePath.toString());
             
-            // 1단계: 먼저 비디오만 병합 (자막 없이)
-            FFmpegBuilder mergeBuilder = new FFmpegBuilder()
+            // 1단계: 비디오 병합
+            // 클립 파라미터가 모두 같으면 비디오 스트림 복사, 다르면 재인코딩
+            // 씬 자막 모드에서는 이 단계가 마지막이므로 배경 음악도 함께 섞어 바로 최종 파일을 만든다
+            boolean mixMusicInMerge = subtitlesBurnedIn && backgroundMusicBed != null;
+            String mergeTargetPath = subtitlesBurnedIn ? cleanOutputPath : cleanTempOutputPath;
+
+            FFmpegBuilder mergeInputs = new FFmpegBuilder()
                 .setInput(listFilePath.toString())
                 .addExtraArgs("-y")
                 .addExtraArgs("-f", "concat")
-                .addExtraArgs("-safe", "0")
-                .addOutput(cleanTempOutputPath)
-                .setVideoCodec("libx264")
-                .setConstantRateFactor(23) // 품질 설정 (0-51, 낮을수록 고품질)
-                .setVideoPixelFormat("yuv420p") // 유튜브 호환 픽셀 포맷
-                .setAudioCodec("aac")
-                .setAudioBitRate(128000) // 128kbps
-                .setFormat("mp4")
-                .done();
+                .addExtraArgs("-safe", "0");
+            if (mixMusicInMerge) {
+                mergeInputs.addInput(backgroundMusicBed.toString());
+            }
+            FFmpegOutputBuilder mergeOutput = mergeInputs.addOutput(mergeTargetPath);
+            if (mixMusicInMerge) {
+                mergeOutput
+                    .addExtraArgs("-filter_complex", backgroundMusicService.mixFilter("[0:a]", 1, "[aout]"))
+                    .addExtraArgs("-map", "0:v")
+                    .addExtraArgs("-map", "[aout]");
+            }
+
+            boolean streamCopy = hasMatchingClipParameters(clipPaths);
+            if (streamCopy) {
+                logger.info("클립 파라미터 일치, 스트림 복사로 병합합니다");
+                mergeOutput.setVideoCodec("copy");
+            } else {
+                logger.warn("클립 파라미터 불일치, 재인코딩으로 병합합니다");
+                mergeOutput
+                    .setVideoCodec("libx264")
+                    .setConstantRateFactor(23) // 품질 설정 (0-51, 낮을수록 고품질)
+                    .setVideoPixelFormat("yuv420p"); // 유튜브 호환 픽셀 포맷
+            }
+            if (mixMusicInMerge) {
+                mergeOutput.setAudioCodec("aac").setAudioBitRate(192000);
+            } else if (streamCopy) {
+                mergeOutput.setAudioCodec("copy");
+            } else {
+                mergeOutput.setAudioCodec("aac").setAudioBitRate(128000); // 128kbps
+            }
+            FFmpegBuilder mergeBuilder = mergeOutput.setFormat("mp4").done();
                 
             // 실행
-            FFmpegExecutor executor = new FFmpegExecutor(ffmpeg);
-            executor.createJob(mergeBuilder).run();
+            ffmpegProcessSupervisor.run(storyId, workspace.getJobId(), FFmpegProcessSupervisor.Stage.MERGE, mergeBuilder.build(), 0, null);
             
             // 병합된 파일 확인
-            File mergedFile = new File(cleanTempOutputPath);
+            File mergedFile = new File(mergeTargetPath);
             if (!mergedFile.exists() || mergedFile.length() == 0) {
                 throw new RuntimeException("비디오 병합에 실패했습니다: 결과 파일이 존재하지 않거나 크기가 0입니다");
             }
-            
-            // 원본 병합 영상의 길이 확인을 위한 FFprobe 실행 코드 추가
-            double videoDuration = 0;
-            try {
-                String[] ffprobeCmd = {
-                    ffmpeg.getPath().replace("ffmpeg", "ffprobe"),
-                    "-v", "error",
-                    "-show_entries", "format=duration",
-                    "-of", "default=noprint_wrappers=1:nokey=1",
-                    cleanTempOutputPath
-                };
-                Process process = Runtime.getRuntime().exec(ffprobeCmd);
-                java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(process.getInputStream()));
-                String durationStr = reader.readLine();
-                videoDuration = Double.parseDouble(durationStr);
-                logger.info("원본 병합 영상 길이: {}초", videoDuration);
-            } catch (Exception e) {
-                logger.warn("영상 길이 확인 중 오류: {}", e.getMessage());
-            }
-            
-            // 현재 작업 중인 파일 경로
-            String currentVideoPath = cleanTempOutputPath;
-            tempFilesToDelete.add(currentVideoPath);
-            
-            // 2단계: 병합된 비디오에 자막 추가
-            File subtitleFile = null;
-            try {
-                subtitleFile = createSubtitleFile(storyId);
-                tempFilesToDelete.add(subtitleFile.getAbsolutePath());
-                
-                FFmpegBuilder subtitleBuilder = new FFmpegBuilder()
-                    .setInput(currentVideoPath)
-                    .addExtraArgs("-y")
-                    .addOutput(cleanOutputPath)
-                    .setVideoCodec("libx264")
-                    .setConstantRateFactor(23) // 품질 설정
-                    .setVideoPixelFormat("yuv420p") // 유튜브 호환 픽셀 포맷
-                    .setAudioCodec("aac")
-                    .setAudioBitRate(128000) // 128kbps
-                    .addExtraArgs("-vf", "ass=" + subtitleFile.getAbsolutePath().replace("\\", "\\\\").replace(":", "\\:"))
-                    .setFormat("mp4")
-                    .done();
-                    
-                executor.createJob(subtitleBuilder).run();
-
-                // 3단계: 배경 음악 추가
-                String backgroundMusic = getRandomBackgroundMusic();
-                if (backgroundMusic != null && new File(backgroundMusic).exists()) {
-                    logger.info("배경 음악 추가: {}", backgroundMusic);
-                    
-                    FFmpegBuilder musicBuilder = new FFmpegBuilder()
-                        .setInput(cleanOutputPath)
-                        .addInput(backgroundMusic)
-                        .addExtraArgs("-y")
-                        .addOutput(cleanTempWithMusicPath)
-                        .addExtraArgs("-filter_complex", 
-                            "[1:a]volume=0.15,aloop=loop=-1:size=2e+09[a1];" + 
-                            "[0:a][a1]amerge=inputs=2[aout]")  // amix 대신 amerge 사용
-                        .addExtraArgs("-map", "0:v")
-                        .addExtraArgs("-map", "[aout]")
-                        .setVideoCodec("copy")
-                        .setAudioCodec("aac")
-                        .setAudioBitRate(192000)
-                        .setFormat("mp4")
-                        .done();
-                        
-                    executor.createJob(musicBuilder).run();
-                    
-                    // 배경음악이 추가된 파일 확인
-                    File musicAddedFile = new File(cleanTempWithMusicPath);
-                    if (musicAddedFile.exists() && musicAddedFile.length() > 0) {
-                        // 배경 음악이 추가된 영상 길이 확인
-                        try {
-                            String[] ffprobeCmd = {
-                                ffmpeg.getPath().replace("ffmpeg", "ffprobe"),
-                                "-v", "error",
-                                "-show_entries", "format=duration",
-                                "-of", "default=noprint_wrappers=1:nokey=1",
-                                cleanTempWithMusicPath
-                            };
-                            Process process = Runtime.getRuntime().exec(ffprobeCmd);
-                            java.io.BufferedReader reader = new java.io.BufferedReader(new java.io.InputStreamReader(process.getInputStream()));
-                            String duration = reader.readLine();
-                            logger.info("배경 음악 추가 후 영상 길이: {}초", duration);
-                            
-                            // 만약 결과 영상이 원본보다 짧다면 원본을 사용
-                            double newDuration = Double.parseDouble(duration);
-                            if (newDuration < videoDuration * 0.9) {  // 10% 이상 짧아졌다면
-                                logger.warn("배경 음악 추가 후 영상이 짧아짐: {}초 -> {}초, 자막만 있는 영상 사용", videoDuration, newDuration);
-                                // 자막만 있는 비디오 경로가 최종 결과
-                            } else {
-                                // 새 파일 문제없이 생성되었을 때는 최종 결과를 배경 음악이 있는 파일로 설정
-                                // cleanOutputPath를 최종 결과로 유지하고, 배경 음악이 있는 파일을 복사
-                                Files.copy(Paths.get(cleanTempWithMusicPath), Paths.get(cleanOutputPath), StandardCopyOption.REPLACE_EXISTING);
-                                logger.info("배경 음악이 추가된 비디오를 최종 결과로 설정: {} (파일 크기: {}bytes)", cleanOutputPath, new File(cleanOutputPath).length());
-                            }
-                        } catch (Exception e) {
-                            logger.warn("영상 길이 확인 중 오류: {}", e.getMessage());
-                            // 오류 발생 시 자막만 있는 영상 사용 (이미 cleanOutputPath에 있음)
-                        }
+            workspace.checkQuota();
+
+            // 2단계: 병합된 비디오에 자막과 배경 음악을 한 번의 인코딩으로 추가 (씬 자막 모드에서는 생략)
+            if (!subtitlesBurnedIn) {
+                tempFilesToDelete.add(cleanTempOutputPath);
+                try {
+                    File subtitleFile = createSubtitleFile(storyId, storyTrack, workspace.getDir());
+                    tempFilesToDelete.add(subtitleFile.getAbsolutePath());
+
+                    FFmpegBuilder subtitleInputs = new FFmpegBuilder()
+                        .setInput(cleanTempOutputPath)
+                        .addExtraArgs("-y");
+                    if (backgroundMusicBed != null) {
+                        subtitleInputs.addInput(backgroundMusicBed.toString());
+                    }
+                    FFmpegOutputBuilder subtitleOutput = subtitleInputs.addOutput(cleanOutputPath)
+                        .setVideoCodec("libx264")
+                        .setConstantRateFactor(23) // 품질 설정
+                        .setVideoPixelFormat("yuv420p") // 유튜브 호환 픽셀 포맷
+                        .setAudioCodec("aac");
+                    if (backgroundMusicBed != null) {
+                        subtitleOutput
+                            .addExtraArgs("-filter_complex", "[0:v]" + assFilter(subtitleFile) + "[vout];"
+                                + backgroundMusicService.mixFilter("[0:a]", 1, "[aout]"))
+                            .addExtraArgs("-map", "[vout]")
+                            .addExtraArgs("-map", "[aout]")
+                            .setAudioBitRate(192000);
                     } else {
-                        // 배경 음악 추가 실패 시 자막만 있는 비디오 유지
-                        logger.warn("배경 음악 추가 실패, 자막만 있는 비디오를 유지합니다");
+                        subtitleOutput
+                            .addExtraArgs("-vf", assFilter(subtitleFile))
+                            .setAudioBitRate(128000); // 128kbps
                     }
-                } else {
-                    logger.warn("배경 음악을 찾을 수 없어 생략합니다.");
+                    FFmpegBuilder subtitleBuilder = subtitleOutput.setFormat("mp4").done();
+
+                    ffmpegProcessSupervisor.run(storyId, workspace.getJobId(), FFmpegProcessSupervisor.Stage.SUBTITLE, subtitleBuilder.build(), 0, null);
+                    workspace.checkQuota();
+                } catch (Exception e) {
+                    logger.error("자막 처리 중 오류 발생: {}", e.getMessage());
                 }
-                
-                // 최종 결과 확인
+
+                // 자막 단계 실패 시 병합된 비디오를 최종 결과로 사용
                 File resultFile = new File(cleanOutputPath);
                 if (!resultFile.exists() || resultFile.length() == 0) {
-                    // 자막 추가나 배경 음악 추가가 모두 실패한 경우 원본 병합 비디오를 결과로 사용
-                    logger.warn("최종 처리 실패, 원본 병합 비디오를 복사합니다");
-                    Files.copy(Paths.get(cleanTempOutputPath), Paths.get(cleanOutputPath), StandardCopyOption.REPLACE_EXISTING);
-                }
-            } catch (Exception e) {
-                logger.error("자막 처리 중 오류 발생: {}", e.getMessage());
-                // 자막 실패 시 현재 비디오를 최종 결과로 사용
-                try {
-                    Files.copy(Paths.get(cleanTempOutputPath), Paths.get(cleanOutputPath), StandardCopyOption.REPLACE_EXISTING);
-                } catch (IOException copyEx) {
-                    logger.error("원본 비디오 복사 중 오류 발생: {}", copyEx.getMessage());
+                    logger.warn("최종 처리 실패, 원본 병합 비디오를 결과로 사용합니다");
+                    workspace.move(Paths.get(cleanTempOutputPath), Paths.get(cleanOutputPath));
                 }
             }
             
@@ -576,7 +599,7 @@ public class VideoService {
             FFmpegBuilder builder = new FFmpegBuilder()
                 .addExtraArgs("-y")
                 .addExtraArgs("-f", "lavfi")
-                .setInput("anullsrc=r=44100:cl=mono") 
+                .setInput(silenceSource())
                 .addOutput(cleanOutputPath)
                 .setAudioCodec("libmp3lame")
                 .setAudioBitRate(128000)
@@ -584,8 +607,7 @@ public class VideoService {
                 .setFormat("mp3")
                 .done();
                 
-            FFmpegExecutor executor = new FFmpegExecutor(ffmpeg);
-            executor.createJob(builder).run();
+            ffmpegProcessSupervisor.run(FFmpegProcessSupervisor.Stage.PRECOMPUTE, builder.build());
             
             File silentFile = new File(cleanOutputPath);
             if (!silentFile.exists() || silentFile.length() == 0) {
@@ -623,22 +645,17 @@ public class VideoService {
                 }
             }
             
-            FFmpegBuilder builder = new FFmpegBuilder()
+            // 씬 클립과 같은 인코딩 파라미터로 생성 (concat 스트림 복사용)
+            FFmpegOutputBuilder output = new FFmpegBuilder()
                 .addInput(backgroundImageFilePath)
                 .addInput(silentAudioPath)
                 .addExtraArgs("-y")
                 .addOutput(cleanOutputPath)
-                .setVideoCodec("libx264")
-                .setConstantRateFactor(23)
-                .setVideoPixelFormat("yuv420p")
-                .setAudioCodec("aac")
-                .setAudioBitRate(128000)
-                .setFormat("mp4")
-                .addExtraArgs("-shortest") // 가장 짧은 스트림 길이에 맞춤 (오디오가 1초이므로 비디오도 1초)
-                .done();
+                .addExtraArgs("-vf", stillFrameFilter(1))
+                .addExtraArgs("-t", "1"); // 1초 길이
+            FFmpegBuilder builder = applyClipEncoding(output).done();
                 
-            FFmpegExecutor executor = new FFmpegExecutor(ffmpeg);
-            executor.createJob(builder).run();
+            ffmpegProcessSupervisor.run(FFmpegProcessSupervisor.Stage.PRECOMPUTE, builder.build());
             
             // 임시 오디오 파일 삭제
             silentAudioFile.delete();
@@ -663,6 +680,7 @@ public class VideoService {
             // 무음 오디오 파일 먼저 생성
             String silentAudioPath = TEMP_DIR + File.separator + "audios" + File.separator + "silent.mp3";
             createSilentAudio(silentAudioPath);
+            this.silentAudioFilePath = silentAudioPath;
             
             // 무음 비디오 생성 및 저장
             String silentVideoPath = TEMP_DIR + File.separator + "videos" + File.separator + "silent.mp4";
@@ -678,22 +696,17 @@ public class VideoService {
                 }
             }
             
-            FFmpegBuilder builder = new FFmpegBuilder()
+            // 씬 클립과 같은 인코딩 파라미터로 생성 (concat 스트림 복사용)
+            FFmpegOutputBuilder output = new FFmpegBuilder()
                 .addInput(backgroundImageFilePath)
                 .addInput(silentAudioPath)
                 .addExtraArgs("-y")
                 .addOutput(silentVideoPath)
-                .setVideoCodec("libx264")
-                .setConstantRateFactor(23)
-                .setVideoPixelFormat("yuv420p")
-                .setAudioCodec("aac")
-                .setAudioBitRate(128000)
-                .setFormat("mp4")
-                .addExtraArgs("-shortest") // 가장 짧은 스트림 길이에 맞춤 (오디오가 1초이므로 비디오도 1초)
-                .done();
+                .addExtraArgs("-vf", stillFrameFilter(1))
+                .addExtraArgs("-t", "1"); // 1초 길이
+            FFmpegBuilder builder = applyClipEncoding(output).done();
                 
-            FFmpegExecutor executor = new FFmpegExecutor(ffmpeg);
-            executor.createJob(builder).run();
+            ffmpegProcessSupervisor.run(FFmpegProcessSupervisor.Stage.PRECOMPUTE, builder.build());
             
             File resultFile = new File(silentVideoPath);
             if (resultFile.exists() && resultFile.length() > 0) {
@@ -707,112 +720,849 @@ public class VideoService {
         }
     }
 
-    public File createFinalVideo(String storyId, String outputPath) {
+    /**
+     * 최종 비디오 생성
+     * 기본 프로필이 아니면 렌더링 모드와 관계없이 단일 패스로 렌더링하고, 실패하면 대체하지 않고 실패한다
+     * (단계별 렌더링은 기본 프로필의 해상도/프리셋으로만 인코딩하므로 미리보기 키에 전체 화질 결과가 올라가지 않도록)
+     * 렌디션은 단일 패스 렌더링에서만 함께 만든다 (단계별 렌더링으로 대체되면 생략)
+     * @param publishHls 단계별 렌더링 중 씬 클립을 HLS로 공개할지 여부 (첫 렌더링에서만, 후속 렌더링은 완료된 비디오의 공개 상태를 건드리지 않음)
+     */
+    public File createFinalVideo(String storyId, String outputPath, RenderWorkspaceManager.RenderWorkspace workspace,
+                                 EncodingProfileProperties.EncodingProfile profile,
+                                 List<RenditionProperties.Rendition> renditions, boolean publishHls) {
+        return createFinalVideo(storyId, outputPath, workspace, profile, renditions, publishHls, renderMode);
+    }
+
+    /**
+     * @param mode 렌더링 모드 (재시도는 retry-mode)
+     */
+    private File createFinalVideo(String storyId, String outputPath, RenderWorkspaceManager.RenderWorkspace workspace,
+                                  EncodingProfileProperties.EncodingProfile profile,
+                                  List<RenditionProperties.Rendition> renditions, boolean publishHls, String mode) {
         try {
             String cleanOutputPath = outputPath.replace("\"", "");
             logger.info("스토리 ID {} 에 대한 비디오 생성 시작", storyId);
             
-            // 스토리 조회 및 유효성 검사
-            Optional<SceneDocument> sceneDocumentOpt = sceneDocumentRepository.findByStoryId(storyId);
+            // 스토리 조회 및 유효성 검사 (작업 스냅샷, 미디어 단계에서 저장한 결과가 반영되어 있음)
+            Optional<SceneDocument> sceneDocumentOpt = storyContextService.context(storyId).findSceneDocument();
             if (sceneDocumentOpt.isEmpty()) {
                 throw new RuntimeException("스토리를 찾을 수 없음: " + storyId);
             }
             
             SceneDocument sceneDocument = sceneDocumentOpt.get();
-            List<Map<String, Object>> scenes = sceneDocument.getSceneArr();
+            List<Scene> scenes = sceneDocument.getSceneArr();
             
             if (scenes == null || scenes.isEmpty()) {
                 throw new RuntimeException("스토리에 씬이 없음: " + storyId);
             }
 
-            List<String> sceneVideoPaths = new ArrayList<>();
+            // 단일 패스 모드: 실패하면 기존 단계별 렌더링으로 대체 (기본 프로필만)
+            if (RENDER_MODE_SINGLE_PASS.equalsIgnoreCase(mode) || !encodingProfileProperties.isDefault(profile)) {
+                try {
+                    return renderSinglePass(storyId, scenes, cleanOutputPath, workspace, profile, renditions, null);
+                } catch (Exception e) {
+                    // 실패한 패스가 남긴 렌디션은 잘린 파일일 수 있으므로 업로드되지 않게 삭제
+                    deleteRenditionOutputs(workspace, renditions);
+                    if (!encodingProfileProperties.isDefault(profile)) {
+                        throw new RuntimeException("단일 패스 렌더링 실패 (profile=" + profile.getName() + "): " + e.getMessage(), e);
+                    }
+                    logger.warn("단일 패스 렌더링 실패, 단계별 렌더링으로 대체합니다: storyId={}, profile={}, error={}",
+                            storyId, profile.getName(), e.getMessage(), e);
+                }
+            }
+
+            if (!renditions.isEmpty()) {
+                logger.warn("단계별 렌더링에서는 렌디션을 만들지 않습니다: storyId={}", storyId);
+            }
+            return renderChain(storyId, sceneDocument.getStoryTitle(), scenes, cleanOutputPath, workspace, publishHls);
+
+        } catch (Exception e) {
+            logger.error("최종 비디오 생성 실패: {}", e.getMessage(), e);
+            throw new RuntimeException("최종 비디오 생성 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 단일 패스 렌더링 출력을 S3 멀티파트 업로드로 바로 스트리밍한다 (인코딩과 업로드가 겹침)
+     * FFmpeg가 정상 종료한 뒤에만 업로드를 확정하고, 실패하면 업로드한 파트를 버린다
+     * @return 성공하면 true, 실패하면 false (호출자가 파일 렌더링 후 업로드로 대체)
+     */
+    private boolean streamFinalVideo(String storyId, String s3Key, RenderWorkspaceManager.RenderWorkspace workspace,
+                                     EncodingProfileProperties.EncodingProfile profile,
+                                     List<RenditionProperties.Rendition> renditions) {
+        S3Config.MultipartStreamUpload upload = null;
+        try {
+            SceneDocument sceneDocument = storyContextService.context(storyId).findSceneDocument()
+                    .orElseThrow(() -> new RuntimeException("스토리를 찾을 수 없음: " + storyId));
+            List<Scene> scenes = sceneDocument.getSceneArr();
+            if (scenes == null || scenes.isEmpty()) {
+                throw new RuntimeException("스토리에 씬이 없음: " + storyId);
+            }
 
-            // 디버깅용 코드 추가
-            Map<String, Object> scene0 = scenes.get(0);
-            logger.info("씬 0 데이터: {}", scene0);
-            logger.info("씬 0 이미지 URL: {}", scene0.get("image_url"));
-            logger.info("씬 0 오디오 배열: {}", scene0.get("audioArr"));
+            upload = s3Config.startMultipartUpload(s3Key, "video/mp4", uploadPartSizeBytes, uploadMaxInFlightParts);
+            renderSinglePass(storyId, scenes, null, workspace, profile, renditions, upload::uploadFrom);
+            upload.complete();
+            return true;
+        } catch (Exception e) {
+            logger.warn("스트리밍 업로드 실패, 파일 렌더링 후 업로드로 대체합니다: storyId={}, error={}", storyId, e.getMessage(), e);
+            if (upload != null) {
+                upload.abort();
+            }
+            deleteRenditionOutputs(workspace, renditions);
+            return false;
+        }
+    }
 
+    /**
+     * 기존 단계별 렌더링 (씬별 오디오 병합 -> 씬 비디오 생성 -> 병합/자막/배경 음악)
+     */
+    private File renderChain(String storyId, String storyTitle, List<Scene> scenes, String cleanOutputPath,
+                             RenderWorkspaceManager.RenderWorkspace workspace, boolean publishHls) throws IOException {
+        List<String> sceneVideoPaths = new ArrayList<>();
+
+        // 디버깅용 코드 추가
+        Scene scene0 = scenes.get(0);
+        logger.info("씬 0 이미지 URL: {}", scene0.getImage_url());
+        logger.info("씬 0 대사 수: {}", scene0.getAudioArr() != null ? scene0.getAudioArr().size() : 0);
+
+        // 스토리 전체 오디오를 씬별 트랙으로 한 번에 조립
+        Path audioWorkDir = workspace.createDirectory("audio");
+        AudioAssemblyService.StoryTrack storyTrack = audioAssemblyService.assembleStory(stageSceneAssets(storyId, scenes), audioWorkDir);
+        workspace.checkQuota();
+
+        // 씬 자막 모드: 자막을 씬 인코딩에 포함하여 전체 영상 자막 인코딩을 생략
+        boolean sceneSubtitles = SUBTITLE_MODE_SCENE.equalsIgnoreCase(subtitleMode);
+        SubtitleHeader subtitleHeader = sceneSubtitles ? loadSubtitleHeader(storyId, storyTitle) : null;
+
+        // 진행률: 씬 클립 길이의 합 + 마지막 1초 클립
+        FFmpegProcessSupervisor.RenderProgress progress =
+                ffmpegProcessSupervisor.startProgress(storyId, storyTrack.getDurationSeconds() + 1);
+
+        // 씬 클립이 완성되는 대로 HLS로 공개 (자막이 입혀진 씬 클립을 그대로 재생하므로 씬 자막 모드에서만)
+        HlsPublishService.HlsSession hls = null;
+        if (publishHls && hlsPublishService.isEnabled() && sceneSubtitles) {
+            try {
+                hls = hlsPublishService.start(storyId, workspace.getJobId(), workspace.getDir().resolve("hls"));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("HLS 공개를 시작하지 못했습니다, 최종 비디오만 생성합니다: storyId={}, error={}", storyId, e.getMessage());
+            }
+        }
 
-            // 각 Scene별로 처리
+        try {
+            // 각 Scene을 렌더 풀에서 병렬로 처리
+            List<CompletableFuture<String>> sceneFutures = new ArrayList<>();
             for (int i = 0; i < scenes.size(); i++) {
-                Map<String, Object> scene = scenes.get(i);
-                logger.info("씬 처리 중 {}/{}", i + 1, scenes.size());
-                
-                // 씬 데이터 유효성 검사
-                if (scene.get("image_url") == null || scene.get("audioArr") == null) {
-                    throw new RuntimeException("씬 " + i + "의 데이터가 유효하지 않음");
+                final int sceneIndex = i;
+                final Scene scene = scenes.get(i);
+                final AudioAssemblyService.SceneTrack sceneTrack = storyTrack.getScenes().get(i);
+                CompletableFuture<String> sceneFuture = CompletableFuture.supplyAsync(
+                        () -> renderSceneClip(storyId, sceneIndex, scenes.size(), scene, sceneTrack, subtitleHeader, progress, workspace),
+                        renderTaskExecutor);
+                if (hls != null) {
+                    HlsPublishService.HlsSession session = hls;
+                    sceneFuture.thenAccept(clipPath -> session.clipReady(sceneIndex, clipPath));
                 }
-
-//                // 씬 데이터 유효성 검사
-//                if (scene.get("audioArr") == null) {
-//                    throw new RuntimeException("씬 " + i + "의 오디오 데이터가 없음");
-//                }
-//
-//                // 이미지가 없는 경우 기본 이미지나 배경 이미지를 사용
-//                if (scene.get("image_url") == null) {
-//                    logger.warn("씬 {}의 이미지 URL이 누락되었습니다. 기본 배경 이미지를 사용합니다.", i);
-//                    // 기본 이미지나 이전 씬의 이미지를 사용하는 로직 추가
-//                    if (i > 0 && scenes.get(i-1).get("image_url") != null) {
-//                        scene.put("image_url", scenes.get(i-1).get("image_url"));
-//                        logger.info("씬 {}에 이전 씬의 이미지를 사용합니다.", i);
-//                    }
-//                }
-                // 임시 파일 경로 생성
-                String tempSceneDir = TEMP_DIR + File.separator + "videos" + File.separator + "scene_" + i + "_" + UUID.randomUUID();
-                
-                File sceneDir = new File(tempSceneDir);
-                if (!sceneDir.exists()) {
-                    sceneDir.mkdirs();
+                sceneFutures.add(sceneFuture);
+            }
+            sceneVideoPaths.addAll(awaitAllFailFast(workspace.getJobId(), sceneFutures));
+            workspace.checkQuota();
+
+            // 씬 자막 모드에서는 제목/사용자 정보가 입혀진 마지막 1초 클립을 직접 추가
+            if (sceneSubtitles) {
+                String tailClipPath = renderTailClip(storyId, subtitleHeader, progress, workspace);
+                if (tailClipPath != null) {
+                    sceneVideoPaths.add(tailClipPath);
+                    if (hls != null) {
+                        hls.clipReady(scenes.size(), tailClipPath);
+                    }
                 }
+            }
+            // 모든 클립이 공개되면 플레이리스트를 닫음 (병합/배경 음악 인코딩과 동시에 진행)
+            if (hls != null) {
+                hls.finish();
+            }
 
-                // 오디오 URL 목록 수집
-                List<String> audioUrls = new ArrayList<>();
-                List<Map<String, Object>> audioArr = (List<Map<String, Object>>) scene.get("audioArr");
+            // 모든 씬 비디오 병합하여 최종 비디오 생성
+            // 씬 클립은 작업 공간에 있으므로 작업이 끝날 때 작업 공간과 함께 삭제됨
+            File finalVideo = mergeVideos(sceneVideoPaths, cleanOutputPath, storyId, storyTrack, sceneSubtitles, workspace);
+            progress.complete();
 
-                for (Map<String, Object> audio : audioArr) {
-                    String audioUrl = (String) audio.get("audio_url");
-                    if (audioUrl == null) {
-                        throw new RuntimeException("씬 " + i + "에 오디오 URL이 없음");
-                    }
-                    audioUrls.add(audioUrl);
+            return finalVideo;
+        } catch (IOException | RuntimeException e) {
+            if (hls != null) {
+                hls.abort();
+            }
+            throw e;
+        } finally {
+            // 남은 세그먼트 업로드가 끝난 뒤 작업 공간이 삭제되도록 대기
+            if (hls != null) {
+                hls.close();
+            }
+            // 조립된 오디오는 병합 이후 필요 없으므로 먼저 삭제 (작업 공간 사용량 감소)
+            deleteDirectory(audioWorkDir);
+        }
+    }
+
+    /**
+     * 씬 하나를 비디오 클립으로 렌더링한다 (렌더 풀 스레드에서 실행)
+     */
+    private String renderSceneClip(String storyId, int sceneIndex, int sceneCount, Scene scene,
+                                   AudioAssemblyService.SceneTrack sceneTrack, SubtitleHeader subtitleHeader,
+                                   FFmpegProcessSupervisor.RenderProgress progress, RenderWorkspaceManager.RenderWorkspace workspace) {
+        // 다른 씬이 실패해 작업이 취소되었으면 시작하지 않음
+        if (ffmpegProcessSupervisor.isCancelled(workspace.getJobId())) {
+            throw new CancellationException("작업이 취소되어 씬 " + sceneIndex + " 렌더링을 건너뜁니다");
+        }
+        logger.info("씬 처리 중 {}/{}", sceneIndex + 1, sceneCount);
+
+        // 작업 공간 안의 씬 디렉토리
+        String tempSceneDir;
+        try {
+            tempSceneDir = workspace.createDirectory("scene_" + sceneIndex).toString();
+        } catch (IOException e) {
+            throw new RuntimeException("씬 " + sceneIndex + " 작업 디렉토리 생성 실패: " + e.getMessage(), e);
+        }
+
+        // 제목/사용자 정보를 합성 프레임에 그릴지 여부 (그리면 ASS에서는 제외)
+        boolean bakeHeader = compositorEnabled && compositorBakeHeader && subtitleHeader != null;
+
+        // 씬 기준 시간의 자막 (씬 자막 모드일 때만, 실패 시 자막 없이 진행)
+        // 대체 경로(자막 생략, overlay)로 렌더링하면 캐시 키와 결과가 달라지므로 캐시에 저장하지 않음
+        boolean degraded = false;
+        String subtitleContent = null;
+        if (subtitleHeader != null) {
+            try {
+                subtitleContent = buildSceneSubtitle(sceneIndex, scene, sceneTrack, subtitleHeader, !bakeHeader);
+            } catch (Exception e) {
+                logger.warn("씬 {} 자막 생성 실패, 자막 없이 진행합니다: {}", sceneIndex, e.getMessage());
+                degraded = true;
+            }
+        }
+
+        // 같은 입력으로 렌더링한 클립이 캐시에 있으면 인코딩 생략
+        String sceneVideoName = "scene_" + sceneIndex + File.separator + "scene_video.mp4";
+        String sceneVideoPath = workspace.resolve(sceneVideoName).toString();
+        String cacheKey = SceneClipCache.key(sceneClipDescriptor(scene, bakeHeader ? subtitleHeader : null, subtitleContent));
+        if (sceneClipCache.fetch(cacheKey, workspace, sceneVideoName)) {
+            logger.info("씬 {} 캐시된 클립 사용: {}", sceneIndex, cacheKey);
+            progress.skip(sceneTrack.getDurationSeconds());
+            return sceneVideoPath;
+        }
+
+        String imagePath = staging(storyId).stage(scene.getImage_url()).toString();
+
+        // 배경 + 씬 이미지 (+ 제목/사용자 정보)를 한 장의 프레임으로 합성 (실패 시 FFmpeg overlay 사용)
+        File frameFile = null;
+        if (compositorEnabled) {
+            try {
+                frameFile = sceneFrameCompositor.composeScene(getBackgroundImagePath(), Paths.get(imagePath),
+                        bakeHeader ? subtitleHeader.getTitle() : null,
+                        bakeHeader ? subtitleHeader.getUserInfo() : null,
+                        Paths.get(tempSceneDir, "frame.png"));
+            } catch (Exception e) {
+                logger.warn("씬 {} 프레임 합성 실패, FFmpeg overlay로 진행합니다: {}", sceneIndex, e.getMessage());
+                degraded = true;
+            }
+        }
+
+        File subtitleFile = null;
+        try {
+            // 합성에 실패해 제목/사용자 정보가 그려지지 않았으면 ASS에 다시 포함
+            if (subtitleContent != null && bakeHeader && frameFile == null) {
+                subtitleContent = buildSceneSubtitle(sceneIndex, scene, sceneTrack, subtitleHeader, true);
+            }
+            if (subtitleContent != null) {
+                subtitleFile = createSceneSubtitleFile(Paths.get(tempSceneDir), subtitleContent);
+            }
+        } catch (Exception e) {
+            logger.warn("씬 {} 자막 파일 생성 실패, 자막 없이 진행합니다: {}", sceneIndex, e.getMessage());
+            degraded = true;
+        }
+
+        try {
+            // 이미지와 조립된 씬 오디오로 비디오 생성
+            if (frameFile != null) {
+                createVideoFromFrameAndAudio(storyId, workspace.getJobId(), frameFile.getPath(), sceneTrack.getFile().toString(),
+                        sceneVideoPath, sceneTrack.getDurationSeconds(), subtitleFile, progress);
+            } else {
+                createVideoFromImageAndAudio(storyId, workspace.getJobId(), imagePath, sceneTrack.getFile().toString(),
+                        sceneVideoPath, sceneTrack.getDurationSeconds(), subtitleFile, progress);
+            }
+            if (degraded) {
+                logger.info("씬 {} 대체 경로로 렌더링되어 캐시에 저장하지 않습니다", sceneIndex);
+            } else {
+                sceneClipCache.store(cacheKey, Paths.get(sceneVideoPath));
+            }
+            return sceneVideoPath;
+        } finally {
+            if (subtitleFile != null) {
+                subtitleFile.delete();
+            }
+            if (frameFile != null) {
+                frameFile.delete();
+            }
+        }
+    }
+
+    /**
+     * 씬 클립 캐시 키의 입력 설명 (같은 설명이면 같은 클립이 렌더링됨)
+     * 이미지 URL, 대사 오디오 URL 순서, 레이아웃/인코딩 프로필, 프레임에 그린 제목/사용자 정보, 자막 내용을 포함한다
+     */
+    private String sceneClipDescriptor(Scene scene, SubtitleHeader bakedHeader, String subtitleContent) {
+        StringBuilder descriptor = new StringBuilder();
+        descriptor.append("layout=").append(SCENE_CLIP_LAYOUT_VERSION).append('\n');
+        descriptor.append("background=").append(getBackgroundImagePath() != null).append('\n');
+        descriptor.append("compositor=").append(compositorEnabled).append('\n');
+        descriptor.append("video=").append(String.join(" ", stillEncodingProperties.x264Args()))
+                .append(" internal=").append(stillEncodingProperties.getInternalFps())
+                .append(" timescale=").append(CLIP_TIMESCALE).append('\n');
+        descriptor.append("audio=aac 128k ").append(AudioAssemblyService.SAMPLE_RATE)
+                .append(' ').append(AudioAssemblyService.CHANNELS).append('\n');
+        descriptor.append("image=").append(scene.getImage_url()).append('\n');
+
+        for (AudioLine audio : scene.getAudioArr()) {
+            descriptor.append("line=").append(audio.getAudio_url()).append('\n');
+        }
+
+        if (bakedHeader != null) {
+            descriptor.append("header=").append(bakedHeader.getTitle()).append(" / ").append(bakedHeader.getUserInfo()).append('\n');
+        }
+        descriptor.append("subtitle=").append(subtitleContent != null ? subtitleContent : "").append('\n');
+        return descriptor.toString();
+    }
+
+    /**
+     * 미리 만든 무음 비디오에 제목/사용자 정보를 입힌 마지막 1초 클립을 생성한다
+     * @return 생성된 클립 경로, 무음 비디오가 없거나 실패하면 null
+     */
+    private String renderTailClip(String storyId, SubtitleHeader subtitleHeader, FFmpegProcessSupervisor.RenderProgress progress,
+                                  RenderWorkspaceManager.RenderWorkspace workspace) {
+        if (silentVideoFilePath == null || !new File(silentVideoFilePath).exists()) {
+            logger.warn("무음 비디오 파일이 존재하지 않아 마지막 클립을 추가하지 않습니다.");
+            return null;
+        }
+
+        File subtitleFile = null;
+        File frameFile = null;
+        try {
+            String tempTailDir = workspace.createDirectory("tail").toString();
+            String tailClipPath = tempTailDir + File.separator + "tail_video.mp4";
+
+            // 제목/사용자 정보를 프레임에 직접 그리는 경우 무음 오디오와 합성 프레임으로 생성
+            if (compositorEnabled && compositorBakeHeader
+                    && silentAudioFilePath != null && new File(silentAudioFilePath).exists()) {
+                frameFile = sceneFrameCompositor.composeTail(getBackgroundImagePath(),
+                        subtitleHeader.getTitle(), subtitleHeader.getUserInfo(), Paths.get(tempTailDir, "frame.png"));
+                createVideoFromFrameAndAudio(storyId, workspace.getJobId(), frameFile.getPath(), silentAudioFilePath, tailClipPath, 1, null, progress);
+                return tailClipPath;
+            }
+
+            subtitleFile = createHeaderSubtitleFile(Paths.get(tempTailDir), subtitleHeader);
+
+            FFmpegOutputBuilder output = new FFmpegBuilder()
+                .setInput(silentVideoFilePath)
+                .addExtraArgs("-y")
+                .addOutput(tailClipPath)
+                .addExtraArgs("-vf", assFilter(subtitleFile));
+            FFmpegBuilder builder = applyClipEncoding(output).done();
+
+            ffmpegProcessSupervisor.run(storyId, workspace.getJobId(), FFmpegProcessSupervisor.Stage.SCENE_CLIP, builder.build(), 1, progress);
+            return tailClipPath;
+        } catch (Exception e) {
+            logger.warn("마지막 클립 생성 실패, 무음 비디오를 그대로 사용합니다: {}", e.getMessage());
+            return silentVideoFilePath;
+        } finally {
+            if (subtitleFile != null) {
+                subtitleFile.delete();
+            }
+            if (frameFile != null) {
+                frameFile.delete();
+            }
+        }
+    }
+
+    /**
+     * 모든 씬 렌더링 결과를 순서대로 기다린다
+     * 하나라도 실패하면 아직 시작하지 않은 나머지 씬을 취소하고, 이 작업의 실행 중인 FFmpeg 프로세스를 종료한 뒤 최초 원인 예외를 던진다
+     */
+    private List<String> awaitAllFailFast(String jobId, List<CompletableFuture<String>> futures) {
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+        for (CompletableFuture<String> future : futures) {
+            future.whenComplete((result, ex) -> {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                if (cause != null && !(cause instanceof CancellationException) && firstFailure.compareAndSet(null, ex)) {
+                    // CompletableFuture.cancel은 실행 중인 스레드를 멈추지 않으므로 작업을 취소 상태로 만들어
+                    // 실행 중인 프로세스를 종료하고, 아직 시작하지 않은 씬/단계는 바로 실패하게 함
+                    ffmpegProcessSupervisor.cancel(jobId);
                 }
+            });
+        }
 
-                // 오디오 파일 병합
-                String mergedAudioPath = tempSceneDir + File.separator + "merged_audio.mp3";
-                mergeAudioFiles(audioUrls, mergedAudioPath);
+        // 모든 씬 작업이 끝날 때까지 기다린 뒤 실패를 던짐 (호출자가 작업 공간을 삭제하기 전에 남은 작업이 없도록)
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = firstFailure.get() != null ? firstFailure.get() : e;
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            throw new RuntimeException("씬 렌더링 실패: " + cause.getMessage(), cause);
+        }
+
+        List<String> results = new ArrayList<>();
+        for (CompletableFuture<String> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * 스토리의 이미지와 대사 오디오를 로컬 작업 디렉토리로 병렬 다운로드한다
+     * 이미지는 다운로드만 시작해 두고 씬 렌더링 시점에 대기한다
+     * @return 씬 순서대로 정렬된 대사 오디오의 로컬 경로 목록
+     */
+    private List<List<String>> stageSceneAssets(String storyId, List<Scene> scenes) {
+        List<List<String>> sceneAudioUrls = collectSceneAudioUrls(scenes);
 
-                // 이미지와 병합된 오디오로 비디오 생성
-                String sceneVideoPath = tempSceneDir + File.separator + "scene_video.mp4";
-                createVideoFromImageAndAudio((String) scene.get("image_url"), mergedAudioPath, sceneVideoPath);
+        AssetStagingService.Staging staging = staging(storyId);
+        for (Scene scene : scenes) {
+            staging.prefetch(scene.getImage_url());
+        }
 
-                sceneVideoPaths.add(sceneVideoPath);
+        List<String> flatUrls = new ArrayList<>();
+        sceneAudioUrls.forEach(flatUrls::addAll);
+        List<Path> stagedPaths = staging.stageAll(flatUrls);
 
-                // 중간 파일 삭제
-                new File(mergedAudioPath).delete();
+        List<List<String>> sceneAudioPaths = new ArrayList<>();
+        int offset = 0;
+        for (List<String> urls : sceneAudioUrls) {
+            List<String> paths = new ArrayList<>();
+            for (int i = 0; i < urls.size(); i++) {
+                paths.add(stagedPaths.get(offset + i).toString());
             }
-            
-            // 모든 씬 비디오 병합하여 최종 비디오 생성
-            File finalVideo = mergeVideos(sceneVideoPaths, cleanOutputPath, storyId);
-            
-            // 임시 씬 비디오 파일들 삭제
-            for (String path : sceneVideoPaths) {
-                new File(path).delete();
-                // 부모 디렉토리도 삭제
-                File parent = new File(path).getParentFile();
-                if (parent != null && parent.exists() && !parent.getAbsolutePath().equals(new File(silentVideoFilePath).getParentFile().getAbsolutePath())) {
-                    parent.delete();
+            sceneAudioPaths.add(paths);
+            offset += urls.size();
+        }
+        return sceneAudioPaths;
+    }
+
+    // 작업 범위의 에셋 스테이징 (renderAndUpload가 작업을 시작하므로 렌더링 중에는 항상 있음)
+    private AssetStagingService.Staging staging(String storyId) {
+        return storyContextService.context(storyId).getStaging()
+                .orElseThrow(() -> new IllegalStateException("진행 중인 작업이 없어 에셋을 스테이징할 수 없습니다: storyId=" + storyId));
+    }
+
+    /**
+     * 씬 순서대로 대사 오디오 URL 목록을 수집한다 (이미지/오디오 누락 시 예외)
+     */
+    private List<List<String>> collectSceneAudioUrls(List<Scene> scenes) {
+        List<List<String>> sceneAudioUrls = new ArrayList<>();
+        for (int i = 0; i < scenes.size(); i++) {
+            Scene scene = scenes.get(i);
+
+            // 씬 데이터 유효성 검사
+            if (scene.getImage_url() == null || scene.getAudioArr() == null) {
+                throw new RuntimeException("씬 " + i + "의 데이터가 유효하지 않음");
+            }
+
+            List<String> audioUrls = new ArrayList<>();
+            for (AudioLine audio : scene.getAudioArr()) {
+                String audioUrl = audio.getAudio_url();
+                if (audioUrl == null) {
+                    throw new RuntimeException("씬 " + i + "에 오디오 URL이 없음");
                 }
+                audioUrls.add(audioUrl);
             }
+            sceneAudioUrls.add(audioUrls);
+        }
+        return sceneAudioUrls;
+    }
 
-            return finalVideo;
+    // 작업 디렉토리 재귀 삭제 (실패는 무시)
+    private void deleteDirectory(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (java.util.stream.Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(java.util.Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            logger.warn("임시 디렉토리 삭제 실패 (무시됨): {}", dir);
+        }
+    }
+
+    /**
+     * SceneDocument 전체를 하나의 FFmpeg filtergraph로 컴파일하여 한 번의 인코딩으로 최종 비디오를 생성한다.
+     * 씬별 정지 이미지, 오디오 연결, 자막, 배경 음악, 마지막 1초 무음 구간을 모두 같은 그래프에서 처리하므로
+     * 단계별 렌더링과 달리 libx264 인코딩이 한 번만 일어난다.
+     * 씬 길이는 조립된 오디오 트랙의 샘플 수로 계산하므로 저장된 duration 값에 의존하지 않는다.
+     * @param profile 출력 해상도/프리셋/화질/오디오 비트레이트/스레드 수
+     * @param renditions 같은 프로세스에서 함께 인코딩할 추가 출력 (작업 공간의 renditionPath에 저장)
+     * @param outputSink 있으면 outputPath 대신 fragmented MP4를 stdout으로 내보내 outputSink에 넘긴다 (반환값 null)
+     */
+    private File renderSinglePass(String storyId, List<Scene> scenes, String outputPath,
+                                  RenderWorkspaceManager.RenderWorkspace workspace,
+                                  EncodingProfileProperties.EncodingProfile profile,
+                                  List<RenditionProperties.Rendition> renditions,
+                                  FFmpegProcessSupervisor.OutputSink outputSink) throws IOException {
+        createTempDir();
+
+        if (backgroundImageFilePath == null || !new File(backgroundImageFilePath).exists()) {
+            copyBackgroundImage();
+        }
+        boolean useBackground = backgroundImageFilePath != null && new File(backgroundImageFilePath).exists();
+
+        // 스토리 전체 오디오를 씬별 무손실 트랙으로 조립 (씬 길이와 자막 타이밍의 기준)
+        Path audioWorkDir = workspace.createDirectory("single_pass");
+        AudioAssemblyService.StoryTrack storyTrack = audioAssemblyService.assembleStory(stageSceneAssets(storyId, scenes), audioWorkDir);
+        workspace.checkQuota();
+
+        List<String> args = new ArrayList<>();
+        args.add("-y");
+        args.add("-protocol_whitelist");
+        args.add("file,http,https,tcp,tls");
+
+        StringBuilder filter = new StringBuilder();
+        StringBuilder videoSegments = new StringBuilder();
+        StringBuilder audioSegments = new StringBuilder();
+        int inputIndex = 0;
+
+        for (int i = 0; i < scenes.size(); i++) {
+            String imagePath = staging(storyId).stage(scenes.get(i).getImage_url()).toString();
+            AudioAssemblyService.SceneTrack sceneTrack = storyTrack.getScenes().get(i);
+            double sceneDuration = sceneTrack.getDurationSeconds();
+
+            // 씬 오디오 트랙 (PCM WAV)
+            args.add("-i");
+            args.add(sceneTrack.getFile().toString());
+            audioSegments.append("[").append(inputIndex).append(":a]");
+            inputIndex++;
+
+            // 씬 이미지 (한 장의 프레임을 씬 길이만큼 복제)
+            String stillFilter = "fps=" + stillEncodingProperties.getInternalFps()
+                    + ",tpad=stop_mode=clone:stop_duration=" + formatSeconds(sceneDuration)
+                    + ",trim=duration=" + formatSeconds(sceneDuration) + ",setpts=PTS-STARTPTS,setsar=1,format=yuv420p";
+            // 미리 합성한 프레임이 있으면 한 장의 이미지만 입력으로 사용 (실패 시 overlay 필터 사용)
+            File frameFile = null;
+            if (compositorEnabled) {
+                try {
+                    frameFile = sceneFrameCompositor.composeScene(useBackground ? backgroundImageFilePath : null,
+                            Paths.get(imagePath), null, null, audioWorkDir.resolve("frame_" + i + ".png"));
+                } catch (Exception e) {
+                    logger.warn("씬 {} 프레임 합성 실패, overlay 필터로 진행합니다: {}", i, e.getMessage());
+                }
+            }
 
+            if (frameFile != null) {
+                args.add("-i");
+                args.add(frameFile.getPath());
+                int frameIndex = inputIndex++;
+
+                filter.append("[").append(frameIndex).append(":v]").append(stillFilter)
+                        .append("[v").append(i).append("];");
+            } else if (useBackground) {
+                args.add("-i");
+                args.add(backgroundImageFilePath);
+                int backgroundIndex = inputIndex++;
+                args.add("-i");
+                args.add(imagePath);
+                int imageIndex = inputIndex++;
+
+                filter.append("[").append(imageIndex).append(":v]scale=800:800[fg").append(i).append("];")
+                        .append("[").append(backgroundIndex).append(":v][fg").append(i).append("]")
+                        .append("overlay=(540-w/2):(1250-h/2),").append(stillFilter)
+                        .append("[v").append(i).append("];");
+            } else {
+                args.add("-i");
+                args.add(imagePath);
+                int imageIndex = inputIndex++;
+
+                filter.append("[").append(imageIndex).append(":v]scale=900:900,pad=1080:1920:90:510:white,")
+                        .append(stillFilter)
+                        .append("[v").append(i).append("];");
+            }
+            videoSegments.append("[v").append(i).append("]");
+        }
+
+        // 마지막 1초 무음 구간 (기존 silent.mp4와 동일한 구성)
+        if (useBackground) {
+            args.add("-i");
+            args.add(backgroundImageFilePath);
+            filter.append("[").append(inputIndex).append(":v]")
+                    .append("fps=").append(stillEncodingProperties.getInternalFps())
+                    .append(",tpad=stop_mode=clone:stop_duration=1,trim=duration=1,setpts=PTS-STARTPTS,setsar=1,format=yuv420p[vtail];");
+        } else {
+            args.add("-f");
+            args.add("lavfi");
+            args.add("-i");
+            args.add("color=c=white:s=1080x1920:d=1");
+            filter.append("[").append(inputIndex).append(":v]fps=").append(stillEncodingProperties.getInternalFps())
+                    .append(",setsar=1,format=yuv420p[vtail];");
+        }
+        inputIndex++;
+        args.add("-f");
+        args.add("lavfi");
+        args.add("-t");
+        args.add("1");
+        args.add("-i");
+        args.add(silenceSource());
+        filter.append("[").append(inputIndex).append(":a]aformat=sample_fmts=s16:channel_layouts=")
+                .append(AudioAssemblyService.CHANNEL_LAYOUT).append("[atail];");
+        inputIndex++;
+        videoSegments.append("[vtail]");
+        audioSegments.append("[atail]");
+
+        filter.append(videoSegments).append("concat=n=").append(scenes.size() + 1).append(":v=1:a=0[vcat];");
+        filter.append(audioSegments).append("concat=n=").append(scenes.size() + 1).append(":v=0:a=1[speech];");
+
+        List<String> tempFilesToDelete = new ArrayList<>();
+
+        // 자막 (실패 시 자막 없이 진행)
+        String videoOut = "[vcat]";
+        try {
+            File subtitleFile = createSubtitleFile(storyId, storyTrack, audioWorkDir);
+            tempFilesToDelete.add(subtitleFile.getAbsolutePath());
+            filter.append("[vcat]").append(assFilter(subtitleFile)).append("[vsub];");
+            videoOut = "[vsub]";
         } catch (Exception e) {
-            logger.error("최종 비디오 생성 실패: {}", e.getMessage(), e);
-            throw new RuntimeException("최종 비디오 생성 실패: " + e.getMessage(), e);
+            logger.warn("자막 파일 생성 실패, 자막 없이 진행합니다: {}", e.getMessage());
+        }
+
+        // 렌디션: 자막까지 입힌 영상을 split으로 나눠 렌디션별 필터/인코더로 보냄 (디코딩과 합성은 한 번)
+        if (!renditions.isEmpty()) {
+            filter.append(videoOut).append("split=").append(renditions.size() + 1).append("[vmain]");
+            for (int r = 0; r < renditions.size(); r++) {
+                filter.append("[rsrc").append(r).append("]");
+            }
+            filter.append(";");
+            videoOut = "[vmain]";
+            for (int r = 0; r < renditions.size(); r++) {
+                filter.append(renditionVideoFilter(renditions.get(r), "[rsrc" + r + "]", "[rv" + r + "]", r)).append(";");
+            }
+        }
+
+        // 프로필 해상도로 축소 (합성과 자막은 1080x1920 기준으로 처리)
+        if (profile.isScaled()) {
+            filter.append(videoOut).append("scale=").append(profile.getWidth()).append(":").append(profile.getHeight())
+                    .append(":flags=bicubic[vscaled];");
+            videoOut = "[vscaled]";
+        }
+
+        // 배경 음악 (스토리보다 긴 미리 인코딩된 베드를 음성 길이에서 끊음)
+        String audioOut = "[speech]";
+        Path backgroundMusicBed = backgroundMusicService.selectBed(storyTrack.getDurationSeconds() + 1);
+        if (backgroundMusicBed != null) {
+            args.add("-i");
+            args.add(backgroundMusicBed.toString());
+            filter.append(backgroundMusicService.mixFilter("[speech]", inputIndex, "[aout]")).append(";");
+            audioOut = "[aout]";
+            inputIndex++;
+        } else {
+            logger.warn("배경 음악을 찾을 수 없어 생략합니다.");
+        }
+
+        // 오디오가 있는 렌디션(mp4)에 최종 오디오를 나눠 보냄
+        long renditionAudioCount = renditions.stream().filter(rendition -> !rendition.isAnimation()).count();
+        if (renditionAudioCount > 0) {
+            filter.append(audioOut).append("asplit=").append(renditionAudioCount + 1).append("[amain]");
+            for (int r = 0; r < renditions.size(); r++) {
+                if (!renditions.get(r).isAnimation()) {
+                    filter.append("[ra").append(r).append("]");
+                }
+            }
+            filter.append(";");
+            audioOut = "[amain]";
+        }
+
+        // 마지막 세미콜론 제거
+        filter.setLength(filter.length() - 1);
+
+        args.add("-filter_complex");
+        args.add(filter.toString());
+
+        // 렌디션 출력 (스트리밍 시 pipe:1이 마지막 출력이어야 하므로 기본 출력보다 앞에 둠)
+        for (int r = 0; r < renditions.size(); r++) {
+            args.addAll(renditionOutputArgs(renditions.get(r), r, renditionPath(workspace, renditions.get(r))));
+        }
+        args.add("-map");
+        args.add(videoOut);
+        args.add("-map");
+        args.add(audioOut);
+        args.add("-c:v");
+        args.add("libx264");
+        args.addAll(x264Args(profile));
+        args.add("-pix_fmt");
+        args.add("yuv420p");
+        args.add("-c:a");
+        args.add("aac");
+        args.add("-b:a");
+        args.add(profile.getAudioBitrateKbps() + "k");
+        if (profile.getThreads() > 0) {
+            args.add("-threads");
+            args.add(String.valueOf(profile.getThreads()));
+        }
+        args.add("-movflags");
+        if (outputSink != null) {
+            // 파이프 출력은 되감을 수 없으므로 moov를 앞에 두고 키프레임마다 조각을 내보냄
+            args.add("+frag_keyframe+empty_moov+default_base_moof");
+        } else {
+            args.add("+faststart");
+        }
+        args.add("-f");
+        args.add("mp4");
+        args.add(outputSink != null ? "pipe:1" : outputPath);
+
+        logger.info("단일 패스 렌더링 시작: storyId={}, profile={}, 씬 {}개, 길이 {}초, 입력 {}개",
+                storyId, profile.getName(), scenes.size(), storyTrack.getDurationSeconds(), inputIndex);
+        double outputSeconds = storyTrack.getDurationSeconds() + 1;
+        FFmpegProcessSupervisor.RenderProgress progress = ffmpegProcessSupervisor.startProgress(storyId, outputSeconds);
+        try {
+            if (outputSink != null) {
+                ffmpegProcessSupervisor.runStreaming(storyId, workspace.getJobId(), FFmpegProcessSupervisor.Stage.SINGLE_PASS, args, outputSeconds, progress, outputSink);
+            } else {
+                ffmpegProcessSupervisor.run(storyId, workspace.getJobId(), FFmpegProcessSupervisor.Stage.SINGLE_PASS, args, outputSeconds, progress);
+            }
+        } finally {
+            for (String tempFile : tempFilesToDelete) {
+                Files.deleteIfExists(Paths.get(tempFile));
+            }
+            deleteDirectory(audioWorkDir);
+        }
+
+        if (outputSink != null) {
+            logger.info("단일 패스 스트리밍 렌더링 완료: storyId={}", storyId);
+            progress.complete();
+            return null;
+        }
+
+        File finalOutput = new File(outputPath);
+        if (!finalOutput.exists() || finalOutput.length() == 0) {
+            throw new IllegalStateException("단일 패스 렌더링 결과 파일이 존재하지 않거나 크기가 0입니다");
+        }
+        logger.info("단일 패스 렌더링 완료: {} (파일 크기: {}bytes)", outputPath, finalOutput.length());
+        progress.complete();
+        return finalOutput;
+    }
+
+    // 정지 이미지 프로필의 x264 옵션 (인코딩 프로필에 프리셋/화질이 있으면 그 값으로 생성)
+    private List<String> x264Args(EncodingProfileProperties.EncodingProfile profile) {
+        return stillEncodingProperties.x264Args(
+                profile.getPreset() != null ? profile.getPreset() : stillEncodingProperties.getPreset(),
+                profile.getCrf() != null ? profile.getCrf() : stillEncodingProperties.getCrf(),
+                stillEncodingProperties.getOutputFps());
+    }
+
+    // 렌디션 영상 필터 (1080x1920 캔버스에서 자르기, 축소, 프레임레이트, gif 팔레트)
+    private String renditionVideoFilter(RenditionProperties.Rendition rendition, String input, String output, int index) {
+        List<String> filters = new ArrayList<>();
+        if (rendition.getCropY() >= 0) {
+            int cropHeight = rendition.getHeight() * 1080 / rendition.getWidth();
+            filters.add("crop=1080:" + cropHeight + ":0:" + rendition.getCropY());
+        }
+        if (rendition.getFps() > 0) {
+            filters.add("fps=" + rendition.getFps());
+        }
+        filters.add("scale=" + rendition.getWidth() + ":" + rendition.getHeight() + ":flags=bicubic");
+
+        String chain = input + String.join(",", filters);
+        if ("gif".equals(rendition.getExtension())) {
+            // 팔레트를 만들어 적용해야 gif 색 손실이 적음
+            // palettegen은 입력이 끝나야 팔레트를 내보내므로, 사용할 길이만큼 먼저 잘라 전체 영상을 기다리지 않게 함
+            if (rendition.getDurationSeconds() > 0) {
+                chain += ",trim=duration=" + rendition.getDurationSeconds() + ",setpts=PTS-STARTPTS";
+            }
+            return chain + ",split[gif" + index + "a][gif" + index + "b];"
+                    + "[gif" + index + "a]palettegen[gif" + index + "p];"
+                    + "[gif" + index + "b][gif" + index + "p]paletteuse" + output;
+        }
+        return chain + output;
+    }
+
+    // 렌디션 출력 옵션
+    private List<String> renditionOutputArgs(RenditionProperties.Rendition rendition, int index, Path outputPath) {
+        List<String> args = new ArrayList<>();
+        args.add("-map");
+        args.add("[rv" + index + "]");
+        if (rendition.getDurationSeconds() > 0) {
+            args.add("-t");
+            args.add(String.valueOf(rendition.getDurationSeconds()));
+        }
+
+        switch (rendition.getExtension()) {
+            case "webp" -> {
+                args.add("-an");
+                args.add("-c:v");
+                args.add("libwebp_anim");
+                args.add("-quality");
+                args.add(String.valueOf(rendition.getQuality()));
+                args.add("-loop");
+                args.add("0");
+                args.add("-f");
+                args.add("webp");
+            }
+            case "gif" -> {
+                args.add("-an");
+                args.add("-loop");
+                args.add("0");
+                args.add("-f");
+                args.add("gif");
+            }
+            default -> {
+                args.add("-map");
+                args.add("[ra" + index + "]");
+                args.add("-c:v");
+                args.add("libx264");
+                args.addAll(stillEncodingProperties.x264Args(
+                        stillEncodingProperties.getPreset(),
+                        rendition.getCrf(),
+                        rendition.getFps() > 0 ? rendition.getFps() : stillEncodingProperties.getOutputFps()));
+                if (rendition.getMaxBitrateKbps() > 0) {
+                    args.add("-maxrate");
+                    args.add(rendition.getMaxBitrateKbps() + "k");
+                    args.add("-bufsize");
+                    args.add(rendition.getMaxBitrateKbps() * 2 + "k");
+                }
+                args.add("-pix_fmt");
+                args.add("yuv420p");
+                args.add("-c:a");
+                args.add("aac");
+                args.add("-b:a");
+                args.add(rendition.getAudioBitrateKbps() + "k");
+                args.add("-movflags");
+                args.add("+faststart");
+                args.add("-f");
+                args.add("mp4");
+            }
+        }
+        args.add(outputPath.toString());
+        return args;
+    }
+
+    private static Path renditionPath(RenderWorkspaceManager.RenderWorkspace workspace, RenditionProperties.Rendition rendition) {
+        return workspace.resolve("rendition_" + rendition.getName() + "." + rendition.getExtension());
+    }
+
+    // 실패한 렌더링 패스의 렌디션 출력 삭제 (대체 렌더링 후 부분 파일이 업로드되지 않도록)
+    private void deleteRenditionOutputs(RenderWorkspaceManager.RenderWorkspace workspace,
+                                        List<RenditionProperties.Rendition> renditions) {
+        for (RenditionProperties.Rendition rendition : renditions) {
+            try {
+                Files.deleteIfExists(renditionPath(workspace, rendition));
+            } catch (IOException e) {
+                logger.warn("렌디션 출력 삭제 실패: rendition={}, error={}", rendition.getName(), e.getMessage());
+            }
         }
     }
 
+    // 조립된 오디오 트랙과 같은 형식의 무음 입력 (concat 시 형식이 달라지지 않도록)
+    private static String silenceSource() {
+        return "anullsrc=r=" + AudioAssemblyService.SAMPLE_RATE + ":cl=" + AudioAssemblyService.CHANNEL_LAYOUT;
+    }
+
+    // FFmpeg 인자용 초 단위 문자열 (로케일과 무관하게 소수점 사용)
+    private String formatSeconds(double seconds) {
+        return String.format(Locale.ROOT, "%.3f", seconds);
+    }
+
     /**
      * 비디오 상태를 완료로 업데이트하고 비디오 URL 설정
      */
@@ -833,50 +1583,172 @@ public class VideoService {
      * 비디오 생성 및 S3 업로드 (상태 업데이트 포함)
      */
     public String createAndUploadVideo(String storyId, String outputPath) {
-        try {
-            // UUID를 이용한 임시 파일 경로 생성
-            String tempOutputPath = TEMP_DIR + File.separator + "videos" + File.separator + "upload_" + UUID.randomUUID() + ".mp4";
-            String cleanOutputPath = tempOutputPath.replace("\"", "");
-            logger.info("비디오 생성 및 업로드 시작", storyId);
+        return createAndUploadVideo(storyId, outputPath, null);
+    }
 
-            // 비디오 렌더링 중 상태 업데이트
-            videoProcessingStatusService.updateProcessingStep(storyId, VideoProcessingStep.VIDEO_RENDERING);
+    /**
+     * 지정한 인코딩 프로필로 비디오 생성 및 S3 업로드 (프로필 이름이 비어 있으면 기본 프로필)
+     */
+    public String createAndUploadVideo(String storyId, String outputPath, String profileName) {
+        return renderAndUpload(storyId, encodingProfileProperties.resolve(profileName), true, renderMode);
+    }
 
-            // 비디오 생성
-            File videoFile = createFinalVideo(storyId, cleanOutputPath);
-            
-            // 비디오 렌더링 완료 상태 업데이트
-            videoProcessingStatusService.updateProcessingStep(storyId, VideoProcessingStep.VIDEO_RENDER_COMPLETED);
+    /**
+     * 재시도 렌더링 (retry-mode로 렌더링, 기본 chain)
+     * 씬 클립 캐시는 단계별 렌더링에서만 채워지고 사용되므로, 이전 단계별 렌더링(재시도 또는 단일 패스 실패 후 대체)에서
+     * 만든 씬은 인코딩하지 않고 병합/업로드만 다시 수행한다
+     */
+    public String retryAndUploadVideo(String storyId, String outputPath, String profileName) {
+        return renderAndUpload(storyId, encodingProfileProperties.resolve(profileName), true, retryRenderMode);
+    }
 
-            // 비디오 업로드 중 상태 업데이트
-            videoProcessingStatusService.updateProcessingStep(storyId, VideoProcessingStep.VIDEO_UPLOADING);
+    /**
+     * 프로필에 이어서 렌더링할 프로필(followUp)이 있으면 낮은 우선순위 큐에 등록한다
+     * 완료되면 비디오 URL을 고화질 결과로 교체한다 (처리 단계 상태는 갱신하지 않음)
+     */
+    public void scheduleFollowUpRender(String storyId, String profileName) {
+        String followUp = encodingProfileProperties.resolve(profileName).getFollowUp();
+        if (followUp == null || followUp.isBlank()) {
+            return;
+        }
+        EncodingProfileProperties.EncodingProfile followUpProfile = encodingProfileProperties.resolve(followUp);
+        logger.info("후속 렌더링 등록: storyId={}, profile={}", storyId, followUpProfile.getName());
 
-            // S3에 업로드할 키 생성
-            String timestamp = java.time.format.DateTimeFormatter
-                .ofPattern("yyyyMMdd_HHmmss")
-                .format(java.time.LocalDateTime.now(java.time.ZoneId.of("Asia/Seoul")));
-            
-            // storyId 패딩 적용 (8자리로 맞추기)
-            String paddedStoryId = String.format("%08d", Integer.parseInt(storyId));
-            String s3Key = paddedStoryId + "/videos/" + paddedStoryId + "_" + timestamp + ".mp4";
-            
-            // S3에 업로드
-            logger.info("S3 업로드: {}", s3Key);
-            s3Config.uploadToS3(videoFile.getPath(), s3Key);
+        followUpRenderExecutor.execute(() -> {
+            // 후속 렌더링도 하나의 작업으로 스토리 데이터를 한 번만 조회
+            storyContextService.begin(storyId);
+            try {
+                String videoUrl = ffmpegProcessSupervisor.runInBackground(() -> renderAndUpload(storyId, followUpProfile, false, renderMode));
+                updateVideoCompleted(storyId, videoUrl);
+                logger.info("후속 렌더링 완료: storyId={}, profile={}", storyId, followUpProfile.getName());
+            } catch (Exception e) {
+                // 미리보기 결과가 이미 있으므로 상태는 바꾸지 않음
+                logger.error("후속 렌더링 실패: storyId={}, profile={}, error={}", storyId, followUpProfile.getName(), e.getMessage(), e);
+            } finally {
+                storyContextService.end(storyId);
+            }
+        });
+    }
+
+    /**
+     * @param reportSteps 처리 단계(VIDEO_RENDERING 등) 상태를 갱신할지 여부
+     * @param mode 렌더링 모드 (single-pass 또는 chain)
+     */
+    private String renderAndUpload(String storyId, EncodingProfileProperties.EncodingProfile profile, boolean reportSteps,
+                                   String mode) {
+        // 파이프라인/후속 렌더링 밖에서 호출되어도 스냅샷과 스테이징이 이 작업 동안 유지되고 끝나면 정리되도록 작업을 시작
+        storyContextService.begin(storyId);
+        // 작업 전용 디렉토리 (작업이 끝나면 성공/실패와 관계없이 통째로 삭제)
+        try (RenderWorkspaceManager.RenderWorkspace workspace = renderWorkspaceManager.open(storyId)) {
+            try {
+                String cleanOutputPath = workspace.resolve("final.mp4").toString();
+                logger.info("비디오 생성 및 업로드 시작: {} (profile={})", storyId, profile.getName());
+
+                // S3에 업로드할 키 생성
+                String timestamp = java.time.format.DateTimeFormatter
+                    .ofPattern("yyyyMMdd_HHmmss")
+                    .format(java.time.LocalDateTime.now(java.time.ZoneId.of("Asia/Seoul")));
             
-            // 임시 파일 삭제
-            videoFile.delete();
+                // storyId 패딩 적용 (8자리로 맞추기)
+                String paddedStoryId = String.format("%08d", Integer.parseInt(storyId));
+                // 기본 프로필이 아니면 프로필 이름을 붙여 후속 렌더링 결과와 구분
+                String profileSuffix = encodingProfileProperties.isDefault(profile) ? "" : "_" + profile.getName();
+                String s3Key = paddedStoryId + "/videos/" + paddedStoryId + "_" + timestamp + profileSuffix + ".mp4";
+
+                // 렌디션은 첫 렌더링에서만 만듦 (후속 렌더링은 기본 출력만 교체)
+                List<RenditionProperties.Rendition> renditions = reportSteps ? renditionProperties.enabledRenditions() : List.of();
+
+                // 비디오 렌더링 중 상태 업데이트
+                if (reportSteps) {
+                    videoProcessingStatusService.updateProcessingStep(storyId, VideoProcessingStep.VIDEO_RENDERING);
+                }
+
+                // 스트리밍 모드: 렌더링과 업로드를 동시에 진행 (실패하면 아래의 파일 렌더링 + 업로드로 대체)
+                boolean streamed = uploadStreaming
+                        && (RENDER_MODE_SINGLE_PASS.equalsIgnoreCase(mode) || !encodingProfileProperties.isDefault(profile))
+                        && streamFinalVideo(storyId, s3Key, workspace, profile, renditions);
+
+                if (streamed) {
+                    if (reportSteps) {
+                        videoProcessingStatusService.updateProcessingStep(storyId, VideoProcessingStep.VIDEO_RENDER_COMPLETED);
+                        videoProcessingStatusService.updateProcessingStep(storyId, VideoProcessingStep.VIDEO_UPLOADING);
+                    }
+                    logger.info("S3 스트리밍 업로드 완료: {}", s3Key);
+                } else {
+                    // 비디오 생성
+                    // HLS는 첫 렌더링에서만 공개 (후속 렌더링이 완료된 비디오의 플레이리스트를 지우고 다시 공개하지 않도록)
+                    File videoFile = createFinalVideo(storyId, cleanOutputPath, workspace, profile, renditions, reportSteps, mode);
+
+                    if (reportSteps) {
+                        // 비디오 렌더링 완료 상태 업데이트
+                        videoProcessingStatusService.updateProcessingStep(storyId, VideoProcessingStep.VIDEO_RENDER_COMPLETED);
+
+                        // 비디오 업로드 중 상태 업데이트
+                        videoProcessingStatusService.updateProcessingStep(storyId, VideoProcessingStep.VIDEO_UPLOADING);
+                    }
+
+                    // S3에 업로드
+                    logger.info("S3 업로드: {}", s3Key);
+                    s3Config.uploadToS3(videoFile.getPath(), s3Key);
+                }
             
-            // S3 url 반환
-            String s3Url = "https://" + s3Config.getBucketName() + ".s3." + s3Config.getRegion() + ".amazonaws.com/" + s3Key;
+                // 함께 만든 렌디션 업로드 후 비디오 엔티티에 기록
+                if (!renditions.isEmpty()) {
+                    try {
+                        uploadRenditions(storyId, paddedStoryId + "/videos/renditions/" + paddedStoryId + "_" + timestamp, workspace, renditions);
+                    } catch (Exception e) {
+                        // 렌디션은 부가 출력이므로 실패해도 기본 비디오는 완료 처리
+                        logger.warn("렌디션 업로드 실패: storyId={}, error={}", storyId, e.getMessage(), e);
+                    }
+                }
 
-            return s3Url;
+                // S3 url 반환
+                String s3Url = "https://" + s3Config.getBucketName() + ".s3." + s3Config.getRegion() + ".amazonaws.com/" + s3Key;
+
+                return s3Url;
+            } catch (Exception e) {
+                // 실패한 작업의 남은 FFmpeg 프로세스 종료 (작업 공간 삭제 전, 같은 스토리의 다른 작업은 유지)
+                ffmpegProcessSupervisor.cancel(workspace.getJobId());
+                throw e;
+            } finally {
+                ffmpegProcessSupervisor.release(workspace.getJobId());
+            }
         } catch (Exception e) {
             logger.error("비디오 생성 및 업로드 중 오류 발생: {}", e.getMessage(), e);
             throw new RuntimeException("비디오 생성 및 업로드 중 오류 발생", e);
+        } finally {
+            // 다른 작업이 없으면 스테이징 에셋도 함께 정리됨
+            storyContextService.end(storyId);
         }
     }
 
+    /**
+     * 작업 공간에 만들어진 렌디션을 업로드하고 비디오 엔티티에 URL을 기록한다
+     * 성공한 단일 패스가 만든 파일만 남아 있다 (실패한 패스의 출력은 삭제됨, 단계별 렌더링으로 대체되어 파일이 없는 렌디션은 건너뛴다)
+     */
+    private void uploadRenditions(String storyId, String s3KeyPrefix, RenderWorkspaceManager.RenderWorkspace workspace,
+                                  List<RenditionProperties.Rendition> renditions) throws IOException {
+        Map<String, String> renditionUrls = new HashMap<>();
+        for (RenditionProperties.Rendition rendition : renditions) {
+            Path renditionFile = renditionPath(workspace, rendition);
+            if (!Files.exists(renditionFile) || Files.size(renditionFile) == 0) {
+                continue;
+            }
+            String s3Key = s3KeyPrefix + "_" + rendition.getName() + "." + rendition.getExtension();
+            s3Config.uploadToS3(renditionFile, s3Key, rendition.getContentType());
+            renditionUrls.put(rendition.getName(),
+                    "https://" + s3Config.getBucketName() + ".s3." + s3Config.getRegion() + ".amazonaws.com/" + s3Key);
+            logger.info("렌디션 업로드: storyId={}, rendition={}, {}", storyId, rendition.getName(), s3Key);
+        }
+
+        // 이전 렌더링의 렌디션은 새 결과로 교체
+        Video video = videoRepository.findByStoryId(Long.parseLong(storyId))
+                .orElseThrow(() -> new RuntimeException("비디오 엔티티를 찾을 수 없음: " + storyId));
+        video.getRenditions().clear();
+        video.getRenditions().putAll(renditionUrls);
+        videoRepository.save(video);
+    }
+
     // 비디오 엔티티 초기화
     public void initVideoEntity(String storyId) {
         Story story = storyRepository.findById(Long.parseLong(storyId))
@@ -933,6 +1805,9 @@ public class VideoService {
         if (video.getStatus() == VideoStatus.COMPLETED) {
             dto.setVideoUrl(video.getVideo_url());
             dto.setCompletedAt(video.getCompletedAt() != null ? video.getCompletedAt().format(formatter) : null);
+            if (!video.getRenditions().isEmpty()) {
+                dto.setRenditions(new HashMap<>(video.getRenditions()));
+            }
         } else if (video.getStatus() == VideoStatus.FAILED) {
             dto.setErrorMessage(video.getErrorMessage());
         } else if (video.getStatus() == VideoStatus.PROCESSING) {
@@ -969,7 +1844,7 @@ public class VideoService {
         System.out.println("scenedoc : "+sceneDocument);
 
         // SceneArr 가져오기.
-        List<Map<String, Object>> sceneArr = sceneDocument.getSceneArr();
+        List<Scene> sceneArr = sceneDocument.getSceneArr();
 
         if (sceneArr == null || sceneArr.isEmpty()) {
             log.warn("sceneDocument에는 sceneArr가 비어있음. {}",storyId);
@@ -977,8 +1852,8 @@ public class VideoService {
         }
 
         // 썸네일용 첫번째 scene 가져오기 + url 꺼내기
-        Map<String, Object> firstScene = sceneArr.get(0);
-        String imageUrl = (String) firstScene.get("image_url");
+        Scene firstScene = sceneArr.get(0);
+        String imageUrl = firstScene.getImage_url();
 
         // image_url이 있는 경우에만 presigned URL 생성
         if (imageUrl != null) {
@@ -990,6 +1865,93 @@ public class VideoService {
         return null;
     }
 
+    /**
+     * SceneDocument를 렌더링 없이 재생할 수 있는 타임라인으로 변환한다
+     * 씬 순서대로 이미지와 대사 오디오를 이어 붙이고, 자막은 ASS 자막 파일과 같은 줄바꿈/위치를 사용한다
+     * 대사 길이는 저장된 duration 값을 사용하고, 없으면 오디오 헤더를 읽어 계산한다 (FFmpeg 실행 없음)
+     * 실제 렌더링은 샘플 단위로 길이를 계산하므로 대사 경계가 수 ms 정도 다를 수 있다
+     */
+    public TimelineManifestDto buildTimelineManifest(String storyId) {
+        SceneDocument sceneDocument = storyContextService.context(storyId).findSceneDocument()
+                .orElseThrow(() -> new RuntimeException("스토리를 찾을 수 없음: " + storyId));
+        List<Scene> scenes = sceneDocument.getSceneArr();
+        if (scenes == null || scenes.isEmpty()) {
+            throw new IllegalStateException("씬 데이터가 없습니다: " + storyId);
+        }
+        SubtitleHeader header = loadSubtitleHeader(storyId, sceneDocument.getStoryTitle());
+
+        TimelineManifestDto manifest = new TimelineManifestDto();
+        manifest.setStoryId(storyId);
+        manifest.setTitle(sceneDocument.getStoryTitle());
+        manifest.setWidth(1080);
+        manifest.setHeight(1920);
+        // renderSinglePass와 같은 이미지 배치 (배경 이미지가 있으면 800x800, 없으면 900x900)
+        boolean useBackground = backgroundImageFilePath != null && new File(backgroundImageFilePath).exists();
+        manifest.setImageBox(useBackground
+                ? new TimelineManifestDto.Box(140, 850, 800, 800)
+                : new TimelineManifestDto.Box(90, 510, 900, 900));
+        // 제목/사용자 정보 (ASS Title, UserInfo 스타일)
+        manifest.getHeaderCaptions().add(new TimelineManifestDto.Caption(header.getTitle(), HEADER_X, TITLE_Y, "bottom-left", 70));
+        manifest.getHeaderCaptions().add(new TimelineManifestDto.Caption(header.getUserInfo(), HEADER_X, USER_INFO_Y, "bottom-left", 40));
+
+        double time = 0;
+        for (int sceneIndex = 0; sceneIndex < scenes.size(); sceneIndex++) {
+            Scene scene = scenes.get(sceneIndex);
+            List<AudioLine> audioArr = scene.getAudioArr();
+            if (scene.getImage_url() == null || audioArr == null || audioArr.isEmpty()) {
+                throw new IllegalStateException("씬 " + sceneIndex + "에 이미지 또는 오디오가 없습니다");
+            }
+
+            TimelineManifestDto.Segment segment = new TimelineManifestDto.Segment();
+            segment.setSceneIndex(sceneIndex);
+            segment.setImageUrl(presignedUrl(scene.getImage_url()));
+            segment.setStart(time);
+
+            for (AudioLine audio : audioArr) {
+                String audioUrl = audio.getAudio_url();
+                if (audioUrl == null || audioUrl.isEmpty()) {
+                    throw new IllegalStateException("씬 " + sceneIndex + "에 오디오가 생성되지 않은 대사가 있습니다");
+                }
+                double duration = lineDuration(audio, audioUrl);
+
+                TimelineManifestDto.Line line = new TimelineManifestDto.Line();
+                line.setAudioUrl(presignedUrl(audioUrl));
+                line.setStart(time);
+                line.setEnd(time + duration);
+                String text = audio.getText() != null ? audio.getText() : "";
+                line.setCaption(new TimelineManifestDto.Caption(wrapSubtitleText(text, "\n"),
+                        SUBTITLE_X, SUBTITLE_Y, "center", SUBTITLE_FONT_SIZE));
+                segment.getLines().add(line);
+                time += duration;
+            }
+            segment.setEnd(time);
+            manifest.getSegments().add(segment);
+        }
+        // 마지막 1초 구간 (배경과 제목/사용자 정보만 표시)
+        manifest.setDurationSeconds(time + 1);
+        return manifest;
+    }
+
+    // 저장된 대사 길이, 없으면 오디오 헤더에서 읽음
+    private double lineDuration(AudioLine audio, String audioUrl) {
+        Double duration = audio.getDuration();
+        if (duration != null && duration > 0) {
+            return duration;
+        }
+        try {
+            return mediaProbeService.probeDuration(audioUrl);
+        } catch (IOException e) {
+            throw new RuntimeException("오디오 길이 확인 실패: " + audioUrl + " - " + e.getMessage(), e);
+        }
+    }
+
+    private String presignedUrl(String url) {
+        if (url.startsWith("http")) {
+            return s3Config.generatePresignedUrl(s3Config.extractS3KeyFromUrl(url));
+        }
+        return url;
+    }
+
     private String extractStoryIdFromOutputPath(String outputPath) {
         // Extract storyId from the output path or use another method to get the storyId
         // This is a placeholder - implement based on your output path format
@@ -1000,50 +1962,91 @@ public class VideoService {
         return "";
     }
 
-    private File createSubtitleFile(String storyId) throws IOException {
-        // 스토리 문서 조회
-        Optional<SceneDocument> sceneDocumentOpt = sceneDocumentRepository.findByStoryId(storyId);
+    /**
+     * ASS 자막 파일 생성 (스토리 전체 타임라인 기준)
+     * 대사 시작/종료 시간은 조립된 오디오 트랙의 샘플 오프셋을 사용한다
+     */
+    private File createSubtitleFile(String storyId, AudioAssemblyService.StoryTrack storyTrack, Path dir) throws IOException {
+        // 스토리 문서 조회 (작업 스냅샷)
+        Optional<SceneDocument> sceneDocumentOpt = storyContextService.context(storyId).findSceneDocument();
         if (sceneDocumentOpt.isEmpty()) {
             throw new RuntimeException("스토리를 찾을 수 없음: " + storyId);
         }
         
         SceneDocument sceneDocument = sceneDocumentOpt.get();
-        List<Map<String, Object>> scenes = sceneDocument.getSceneArr();
+        List<Scene> scenes = sceneDocument.getSceneArr();
+        SubtitleHeader header = loadSubtitleHeader(storyId, sceneDocument.getStoryTitle());
         
-        // 기본 닉네임 설정
-        String nickname = "사용자";
-        
-        try {
-            // 스토리 ID로 Story 엔티티를 가져옴
-            Story story = storyRepository.findById(Long.parseLong(storyId))
-                    .orElseThrow(() -> new RuntimeException("스토리를 찾을 수 없음: " + storyId));
-            
-            // User 정보 직접 조회
-            if (story.getUser() != null && story.getUser().getId() != null) {
-                Long userId = story.getUser().getId();
-                // UserRepository를 통해 직접 조회
-                Optional<Users> userOpt = userRepository.findById(userId);
-                if (userOpt.isPresent() && userOpt.get().getNickname() != null) {
-                    nickname = userOpt.get().getNickname();
-                }
-            }
-        } catch (Exception e) {
-            logger.warn("사용자 정보를 가져오는 중 오류 발생: {}", e.getMessage());
-            // 기본값 "사용자"를 사용
+        // ASS 형식의 자막 파일 생성
+        File subtitleFile = dir.resolve("subtitles.ass").toFile();
+        StringBuilder assContent = new StringBuilder();
+        appendAssHeader(assContent, header, true);
+
+        if (storyTrack.getScenes().size() != scenes.size()) {
+            throw new IllegalStateException("오디오 트랙과 씬 수가 일치하지 않음: " + storyTrack.getScenes().size() + " != " + scenes.size());
+        }
+
+        for (int sceneIndex = 0; sceneIndex < scenes.size(); sceneIndex++) {
+            appendSceneLines(assContent, sceneIndex, scenes.get(sceneIndex), storyTrack.getScenes().get(sceneIndex),
+                    storyTrack.getSceneStartSeconds(sceneIndex));
         }
         
+        // 파일에 내용 쓰기
+        Files.writeString(subtitleFile.toPath(), assContent.toString());
+        return subtitleFile;
+    }
+
+    /**
+     * 씬 하나의 ASS 자막 내용 생성 (씬 시작 기준 상대 시간)
+     * 제목/사용자 정보도 함께 포함하여 씬 인코딩 한 번에 모든 자막이 입혀진다
+     * @param includeHeaderEvents 제목/사용자 정보가 합성 프레임에 이미 그려져 있으면 false
+     */
+    private String buildSceneSubtitle(int sceneIndex, Scene scene,
+                                      AudioAssemblyService.SceneTrack sceneTrack, SubtitleHeader header,
+                                      boolean includeHeaderEvents) {
+        StringBuilder assContent = new StringBuilder();
+        appendAssHeader(assContent, header, includeHeaderEvents);
+        appendSceneLines(assContent, sceneIndex, scene, sceneTrack, 0);
+        return assContent.toString();
+    }
+
+    // 씬 자막 내용을 씬 작업 디렉토리의 ASS 파일로 저장
+    private File createSceneSubtitleFile(Path sceneDir, String assContent) throws IOException {
+        File subtitleFile = sceneDir.resolve("subtitles.ass").toFile();
+        Files.writeString(subtitleFile.toPath(), assContent);
+        return subtitleFile;
+    }
+
+    /**
+     * 제목/사용자 정보만 있는 ASS 자막 파일 생성 (스토리 끝 1초 구간용)
+     */
+    private File createHeaderSubtitleFile(Path dir, SubtitleHeader header) throws IOException {
+        File subtitleFile = dir.resolve("subtitles.ass").toFile();
+        StringBuilder assContent = new StringBuilder();
+        appendAssHeader(assContent, header, true);
+
+        Files.writeString(subtitleFile.toPath(), assContent.toString());
+        return subtitleFile;
+    }
+
+    // 제목, 작성자 닉네임, 생성 날짜 조회
+    private SubtitleHeader loadSubtitleHeader(String storyId, String storyTitle) {
+        // 작성자 닉네임 (작업 스냅샷, 조회 실패 시 기본값 "사용자")
+        String nickname = storyContextService.context(storyId).getNickname();
+        
         // 현재 날짜 포맷팅 - 한국 시간대(KST) 사용
         // 사용자 시간대 설정을 추가하여 다양한 국가의 사용자들을 지원할 수 있도록 개선 필요...
         String currentDate = DateTimeFormatter.ofPattern("yy-MM-dd")
                 .format(LocalDateTime.now(java.time.ZoneId.of("Asia/Seoul")));
-        
-        // ASS 형식의 자막 파일 생성
-        File subtitleFile = new File(TEMP_DIR + File.separator + "subtitles" + File.separator + storyId + "_subtitles.ass");
-        StringBuilder assContent = new StringBuilder();
-        
+
+        return new SubtitleHeader(storyTitle, nickname, currentDate);
+    }
+
+    // ASS 헤더, 스타일, 제목/사용자 정보 이벤트 추가
+    private void appendAssHeader(StringBuilder assContent, SubtitleHeader header, boolean includeHeaderEvents) {
         // ASS 헤더 추가
         assContent.append("[Script Info]\n");
-        assContent.append("Title: ").append(sceneDocument.getStoryTitle()).append("\n");
+        assContent.append("Title: ").append(header.getTitle()).append("\n");
         assContent.append("ScriptType: v4.00+\n");
         assContent.append("PlayResX: 1080\n");
         assContent.append("PlayResY: 1920\n");
@@ -1062,63 +2065,84 @@ public class VideoService {
         // 자막 이벤트
         assContent.append("[Events]\n");
         assContent.append("Format: Layer, Start, End, Style, Name, MarginL, MarginR, MarginV, Effect, Text\n");
+
+        if (!includeHeaderEvents) {
+            return;
+        }
         
         // 제목 추가 (영상 전체 시간동안 좌상단에 표시)
-        String storyTitle = sceneDocument.getStoryTitle();
-        assContent.append("Dialogue: 0,0:00:00.00,10:00:00.00,Title,,0,0,0,,{\\pos(70,365)}")
-                .append(storyTitle)
+        assContent.append("Dialogue: 0,0:00:00.00,10:00:00.00,Title,,0,0,0,,{\\pos(").append(HEADER_X).append(",")
+                .append(TITLE_Y).append(")}")
+                .append(header.getTitle())
                 .append("\n");
         
         // 사용자 정보 추가 (닉네임과 생성 시간)
-        assContent.append("Dialogue: 0,0:00:00.00,10:00:00.00,UserInfo,,0,0,0,,{\\pos(70,435)}")
-                .append(nickname)
-                .append(" • ")
-                .append(currentDate)
+        assContent.append("Dialogue: 0,0:00:00.00,10:00:00.00,UserInfo,,0,0,0,,{\\pos(").append(HEADER_X).append(",")
+                .append(USER_INFO_Y).append(")}")
+                .append(header.getUserInfo())
                 .append("\n");
+    }
 
-        // 자막 시간 추적을 위한 변수 초기화
-        double currentTime = 0.0;
-         
-        for (Map<String, Object> scene : scenes) {
-            List<Map<String, Object>> audioArr = (List<Map<String, Object>>) scene.get("audioArr");
+    // 씬의 대사 자막 이벤트 추가 (sceneStart: 자막 파일 기준 씬 시작 시간)
+    private void appendSceneLines(StringBuilder assContent, int sceneIndex, Scene scene,
+                                  AudioAssemblyService.SceneTrack sceneTrack, double sceneStart) {
+        List<AudioLine> audioArr = scene.getAudioArr();
+
+        if (sceneTrack.getLineCount() != audioArr.size()) {
+            throw new IllegalStateException("씬 " + sceneIndex + "의 대사 수와 오디오 트랙이 일치하지 않음");
+        }
+
+        for (int line = 0; line < audioArr.size(); line++) {
+            // 텍스트 가져오기
+            String text = wrapSubtitleText(audioArr.get(line).getText(), "\\N");
             
-            for (Map<String, Object> audio : audioArr) {
-                // 텍스트와 길이 가져오기
-                String text = (String) audio.get("text");
-                
-                // 텍스트 길이에 따라 수동으로 줄바꿈 추가 (예: 20자 이상이면 중간에 줄바꿈)
-                if (text.length() > 20) {
-                    int midPoint = text.length() / 2;
-                    // 공백 위치를 찾아 가장 가까운 위치에서 줄바꿈
-                    int breakPoint = text.indexOf(" ", midPoint);
-                    if (breakPoint == -1) breakPoint = midPoint; // 공백이 없으면 중간에서 자름
-                    
-                    text = text.substring(0, breakPoint) + "\\N" + text.substring(breakPoint).trim();
-                }
-                
-                double duration = audio.containsKey("duration") ? 
-                    ((Number) audio.get("duration")).doubleValue() : 3.0; // 기본값 3초
-                
-                // ASS 형식의 시간 문자열
-                String startTime = formatAssTime(currentTime);
-                String endTime = formatAssTime(currentTime + duration);
-                
-                // 자막 라인 추가 - 중앙이 (540,640)에 오도록 + 좌우 여백 추가
-                assContent.append("Dialogue: 0,")
-                         .append(startTime).append(",")
-                         .append(endTime).append(",")
-                         .append("Default,,100,100,0,,{\\pos(540,640)\\an5\\fs60}")
-                         .append(text)
-                         .append("\n");
-                
-                // 현재 시간 업데이트
-                currentTime += duration;
-            }
+            // ASS 형식의 시간 문자열 (오디오 트랙의 실제 샘플 위치 기준)
+            String startTime = formatAssTime(sceneStart + sceneTrack.getLineStartSeconds(line));
+            String endTime = formatAssTime(sceneStart + sceneTrack.getLineEndSeconds(line));
+            
+            // 자막 라인 추가 - 중앙이 (540,640)에 오도록 + 좌우 여백 추가
+            assContent.append("Dialogue: 0,")
+                     .append(startTime).append(",")
+                     .append(endTime).append(",")
+                     .append("Default,,100,100,0,,{\\pos(").append(SUBTITLE_X).append(",").append(SUBTITLE_Y)
+                     .append(")\\an5\\fs").append(SUBTITLE_FONT_SIZE).append("}")
+                     .append(text)
+                     .append("\n");
+        }
+    }
+
+    // 텍스트 길이에 따라 수동으로 줄바꿈 추가 (예: 20자 이상이면 중간에 줄바꿈)
+    private static String wrapSubtitleText(String text, String lineBreak) {
+        if (text.length() > 20) {
+            int midPoint = text.length() / 2;
+            // 공백 위치를 찾아 가장 가까운 위치에서 줄바꿈
+            int breakPoint = text.indexOf(" ", midPoint);
+            if (breakPoint == -1) breakPoint = midPoint; // 공백이 없으면 중간에서 자름
+
+            return text.substring(0, breakPoint) + lineBreak + text.substring(breakPoint).trim();
+        }
+        return text;
+    }
+
+    /**
+     * 자막 상단에 표시되는 스토리 정보 (제목, 닉네임, 생성 날짜)
+     */
+    @Getter
+    private static class SubtitleHeader {
+        private final String title;
+        private final String nickname;
+        private final String date;
+
+        SubtitleHeader(String title, String nickname, String date) {
+            this.title = title;
+            this.nickname = nickname;
+            this.date = date;
+        }
+
+        // 사용자 정보 표시 문자열 (닉네임 • 생성 날짜)
+        String getUserInfo() {
+            return nickname + " • " + date;
         }
-        
-        // 파일에 내용 쓰기
-        Files.writeString(subtitleFile.toPath(), assContent.toString());
-        return subtitleFile;
     }
 
     // ASS 형식의 시간 문자열로 변환
@@ -3,7 +3,9 @@ package com.sss.backend.domain.service;
 import com.sss.backend.api.dto.VideoStatusResponseDto;
 import com.sss.backend.domain.entity.Video.VideoStatus;
 import com.sss.backend.domain.entity.VideoProcessingStep;
+import com.sss.backend.domain.event.HlsPlaylistReadyEvent;
 import com.sss.backend.domain.event.ProcessingStepChangedEvent;
+import com.sss.backend.domain.event.RenderProgressEvent;
 import com.sss.backend.domain.repository.SseEmitterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +32,7 @@ public class VideoStatusSseService {
     private final SseEmitterRepository sseEmitterRepository;
     private final VideoProcessingStatusService videoProcessingStatusService;
     private final StringRedisTemplate stringRedisTemplate;
+    private final HlsPublishService hlsPublishService;
     
     // SSE 연결 타임아웃 (30분)
     private static final long SSE_TIMEOUT = 30 * 60 * 1000L;
@@ -42,6 +45,9 @@ public class VideoStatusSseService {
     
     // 마지막으로 전송된 처리 단계를 추적하기 위한 Map
     private final Map<String, VideoProcessingStep> lastSentProcessingSteps = new ConcurrentHashMap<>();
+
+    // 스토리별 마지막 렌더링 진행률 (재연결 시 현재 상태와 함께 전송)
+    private final Map<String, Integer> renderProgress = new ConcurrentHashMap<>();
     
     /**
      * ProcessingStepChangedEvent 이벤트 처리
@@ -50,10 +56,72 @@ public class VideoStatusSseService {
     @EventListener
     public void handleProcessingStepChangedEvent(ProcessingStepChangedEvent event) {
         log.info("처리 단계 변경 이벤트 수신: storyId={}, step={}", event.getStoryId(), event.getStep());
+        if (event.getStep() != VideoProcessingStep.VIDEO_RENDERING) {
+            renderProgress.remove(event.getStoryId());
+        }
         // SSE로 상태 업데이트 전송
         sendStatusUpdateToClient(event.getStoryId(), VideoStatus.PROCESSING);
     }
     
+    /**
+     * RenderProgressEvent 이벤트 처리
+     * FFmpeg 렌더링 진행률이 바뀔 때 호출되며, progress 이벤트로 전송합니다.
+     * 처리 단계가 VIDEO_RENDERING일 때만 전송합니다 (이미 완료된 비디오의 후속 렌더링 진행률은 보내지 않음).
+     */
+    @EventListener
+    public void handleRenderProgressEvent(RenderProgressEvent event) {
+        String storyId = event.getStoryId();
+        if (videoProcessingStatusService.getProcessingStep(storyId) != VideoProcessingStep.VIDEO_RENDERING) {
+            return;
+        }
+        renderProgress.put(storyId, event.getPercent());
+
+        SseEmitter emitter = sseEmitterRepository.get(storyId);
+        if (emitter == null) {
+            return;
+        }
+        try {
+            VideoStatusResponseDto responseDto = new VideoStatusResponseDto();
+            responseDto.setStatus(VideoStatus.PROCESSING);
+            responseDto.setStoryId(storyId);
+            responseDto.setProcessingStep(VideoProcessingStep.VIDEO_RENDERING.name());
+            responseDto.setProgress(event.getPercent());
+
+            emitter.send(SseEmitter.event()
+                    .name("progress")
+                    .data(responseDto));
+        } catch (IOException e) {
+            log.error("SSE 진행률 메시지 전송 오류: storyId={}, error={}", storyId, e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * HlsPlaylistReadyEvent 이벤트 처리
+     * 렌더링 중 첫 씬이 HLS로 공개되면 playlist 이벤트로 플레이리스트 pre-signed URL을 전송합니다.
+     */
+    @EventListener
+    public void handleHlsPlaylistReadyEvent(HlsPlaylistReadyEvent event) {
+        String storyId = event.getStoryId();
+        SseEmitter emitter = sseEmitterRepository.get(storyId);
+        if (emitter == null) {
+            return;
+        }
+        try {
+            VideoStatusResponseDto responseDto = new VideoStatusResponseDto();
+            responseDto.setStatus(VideoStatus.PROCESSING);
+            responseDto.setStoryId(storyId);
+            responseDto.setPlaylistUrl(event.getPlaylistUrl());
+
+            emitter.send(SseEmitter.event()
+                    .name("playlist")
+                    .data(responseDto));
+        } catch (IOException e) {
+            log.error("SSE 플레이리스트 메시지 전송 오류: storyId={}, error={}", storyId, e.getMessage());
+            emitter.completeWithError(e);
+        }
+    }
+
     /**
      * 비디오 상태를 Redis에 저장
      */
@@ -105,6 +173,7 @@ public class VideoStatusSseService {
             log.info("SSE 연결 완료: storyId={}", storyId);
             sseEmitterRepository.remove(storyId);
             lastSentProcessingSteps.remove(storyId); // 추적 데이터 정리
+            renderProgress.remove(storyId);
         });
         
         emitter.onTimeout(() -> {
@@ -112,6 +181,7 @@ public class VideoStatusSseService {
             emitter.complete();
             sseEmitterRepository.remove(storyId);
             lastSentProcessingSteps.remove(storyId); // 추적 데이터 정리
+            renderProgress.remove(storyId);
         });
         
         emitter.onError((e) -> {
@@ -119,6 +189,7 @@ public class VideoStatusSseService {
             emitter.complete();
             sseEmitterRepository.remove(storyId);
             lastSentProcessingSteps.remove(storyId); // 추적 데이터 정리
+            renderProgress.remove(storyId);
         });
         
         // 저장소에 emitter 저장
@@ -173,6 +244,7 @@ public class VideoStatusSseService {
                     // 처리가 완료되거나 실패한 경우 마지막 단계 추적 정보 삭제
                     if (status == VideoStatus.COMPLETED || status == VideoStatus.FAILED) {
                         lastSentProcessingSteps.remove(storyId);
+                        renderProgress.remove(storyId);
                     }
                 } else {
                     VideoProcessingStep currentStep = videoProcessingStatusService.getProcessingStep(storyId);
@@ -229,6 +301,7 @@ public class VideoStatusSseService {
                 emitter.complete();
                 sseEmitterRepository.remove(storyId);
                 lastSentProcessingSteps.remove(storyId);
+                renderProgress.remove(storyId);
                 return;
             }
             
@@ -241,6 +314,11 @@ public class VideoStatusSseService {
                 VideoProcessingStep currentStep = videoProcessingStatusService.getProcessingStep(storyId);
                 if (currentStep != null) {
                     responseDto.setProcessingStep(currentStep.name());
+                    if (currentStep == VideoProcessingStep.VIDEO_RENDERING) {
+                        responseDto.setProgress(renderProgress.get(storyId));
+                    }
+                    // 재연결 시 이미 공개된 HLS 플레이리스트 pre-signed URL도 함께 전송
+                    responseDto.setPlaylistUrl(hlsPublishService.getPlaylistUrl(storyId));
                     // 처음 연결 시 마지막 단계 업데이트
                     if (!lastSentProcessingSteps.containsKey(storyId)) {
                         lastSentProcessingSteps.put(storyId, currentStep);
@@ -259,6 +337,7 @@ public class VideoStatusSseService {
                 emitter.complete();
                 sseEmitterRepository.remove(storyId);
                 lastSentProcessingSteps.remove(storyId);
+                renderProgress.remove(storyId);
             }
         } catch (IOException e) {
             log.error("SSE 상태 메시지 전송 오류: storyId={}, error={}", storyId, e.getMessage());
@@ -285,6 +364,7 @@ public class VideoStatusSseService {
             emitter.complete();
             sseEmitterRepository.remove(storyId);
             lastSentProcessingSteps.remove(storyId);
+            renderProgress.remove(storyId);
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,593 @@
+package com.sss.backend.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 프로세스 실행 없이 MP3/MP4 헤더만 읽어 길이와 스트림 정보를 얻는 프로브
+ * - MP3: ID3v2 태그를 건너뛴 첫 프레임 헤더 + Xing/Info/VBRI 헤더 (없으면 CBR로 계산)
+ * - MP4: moov 박스의 mvhd/mehd(길이), trak의 tkhd/mdhd/hdlr/stsd(트랙 정보)
+ * - WAV: fmt/data 청크 (일부 TTS는 확장자가 .mp3인 WAV를 반환)
+ * 필요한 바이트만 ByteSource에서 읽으므로 로컬 파일과 S3 범위 요청 모두에 사용할 수 있다
+ */
+public final class MediaProbe {
+
+    // MP3 첫 프레임을 찾을 때 읽는 최대 범위
+    private static final int MP3_SCAN_BYTES = 64 * 1024;
+    // 읽어 들일 moov 박스 최대 크기 (이보다 크면 손상된 파일로 간주)
+    private static final long MAX_MOOV_BYTES = 64L * 1024 * 1024;
+
+    // [버전][레이어 인덱스] 별 비트레이트 (kbps), 버전 0 = MPEG1, 1 = MPEG2/2.5 / 레이어 인덱스 0 = I, 1 = II, 2 = III
+    private static final int[][][] BITRATES = {
+            {
+                    {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448, -1},
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384, -1},
+                    {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, -1}
+            },
+            {
+                    {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256, -1},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160, -1},
+                    {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160, -1}
+            }
+    };
+    private static final int[] MPEG1_SAMPLE_RATES = {44100, 48000, 32000};
+
+    private MediaProbe() {
+    }
+
+    /**
+     * 임의 위치를 읽을 수 있는 바이트 원본 (로컬 파일, S3 범위 요청 등)
+     */
+    public interface ByteSource {
+        long size() throws IOException;
+
+        /**
+         * position부터 최대 length 바이트를 읽는다 (파일 끝이면 더 짧은 배열)
+         */
+        byte[] read(long position, int length) throws IOException;
+    }
+
+    /**
+     * 로컬 파일용 ByteSource
+     */
+    public static ByteSource ofFile(Path path) {
+        return new ByteSource() {
+            @Override
+            public long size() throws IOException {
+                return java.nio.file.Files.size(path);
+            }
+
+            @Override
+            public byte[] read(long position, int length) throws IOException {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    long available = Math.max(0, channel.size() - position);
+                    ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, available));
+                    while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) > 0) {
+                        // 요청한 범위를 모두 읽을 때까지 반복
+                    }
+                    byte[] bytes = new byte[buffer.position()];
+                    buffer.flip();
+                    buffer.get(bytes);
+                    return bytes;
+                }
+            }
+        };
+    }
+
+    /**
+     * 파일 앞부분을 보고 MP4, WAV, MP3 중 하나로 판별하여 프로브한다
+     */
+    public static MediaInfo probe(ByteSource source) throws IOException {
+        byte[] head = source.read(0, 12);
+        if (head.length >= 8 && isMp4BoxType(head, 4)) {
+            return probeMp4(source);
+        }
+        if (matches(head, 0, "RIFF") && matches(head, 8, "WAVE")) {
+            return probeWav(source);
+        }
+        return probeMp3(source);
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // WAV
+    // ----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * WAV 길이 계산 (data 청크 크기 / fmt 청크의 초당 바이트 수)
+     */
+    public static MediaInfo probeWav(ByteSource source) throws IOException {
+        long fileSize = source.size();
+        long position = 12;
+        int sampleRate = 0;
+        int channels = 0;
+        long byteRate = 0;
+        while (position + 8 <= fileSize) {
+            byte[] header = source.read(position, 24);
+            String id = new String(header, 0, 4, StandardCharsets.ISO_8859_1);
+            long chunkSize = readIntLe(header, 4) & 0xFFFFFFFFL;
+            if (id.equals("fmt ") && header.length >= 24) {
+                channels = (header[10] & 0xFF) | ((header[11] & 0xFF) << 8);
+                sampleRate = readIntLe(header, 12);
+                byteRate = readIntLe(header, 16) & 0xFFFFFFFFL;
+            } else if (id.equals("data")) {
+                if (byteRate == 0) {
+                    throw new IOException("WAV fmt 청크가 data 청크보다 앞에 없습니다");
+                }
+                // 스트리밍으로 기록되어 크기가 채워지지 않은 경우 파일 끝까지를 데이터로 간주
+                long dataSize = Math.min(chunkSize, fileSize - position - 8);
+                return MediaInfo.audioOnly("pcm", (double) dataSize / byteRate, sampleRate, channels);
+            }
+            // 청크는 짝수 바이트 단위로 정렬됨
+            position += 8 + chunkSize + (chunkSize & 1);
+        }
+        throw new IOException("WAV data 청크를 찾을 수 없습니다");
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // MP3
+    // ----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * MP3 길이 계산 (Xing/Info 또는 VBRI 헤더의 프레임 수, 없으면 파일 크기와 비트레이트로 계산)
+     */
+    public static MediaInfo probeMp3(ByteSource source) throws IOException {
+        long fileSize = source.size();
+
+        // ID3v2 태그 건너뛰기
+        long audioStart = 0;
+        byte[] id3 = source.read(0, 10);
+        if (id3.length == 10 && id3[0] == 'I' && id3[1] == 'D' && id3[2] == '3') {
+            int tagSize = ((id3[6] & 0x7F) << 21) | ((id3[7] & 0x7F) << 14) | ((id3[8] & 0x7F) << 7) | (id3[9] & 0x7F);
+            boolean hasFooter = (id3[5] & 0x10) != 0;
+            audioStart = 10L + tagSize + (hasFooter ? 10 : 0);
+        }
+
+        byte[] data = source.read(audioStart, MP3_SCAN_BYTES);
+        int offset = findFrameSync(data);
+        if (offset < 0) {
+            throw new IOException("MP3 프레임 헤더를 찾을 수 없습니다");
+        }
+        Mp3Frame frame = Mp3Frame.parse(data, offset);
+        long firstFrameStart = audioStart + offset;
+
+        // Xing/Info 헤더 (사이드 정보 다음)
+        int xingOffset = offset + 4 + frame.sideInfoSize();
+        if (matches(data, xingOffset, "Xing") || matches(data, xingOffset, "Info")) {
+            int flags = readInt(data, xingOffset + 4);
+            if ((flags & 0x1) != 0) {
+                long frames = readInt(data, xingOffset + 8) & 0xFFFFFFFFL;
+                return MediaInfo.audioOnly("mp3", (double) frames * frame.samplesPerFrame / frame.sampleRate,
+                        frame.sampleRate, frame.channels);
+            }
+        }
+
+        // VBRI 헤더 (프레임 헤더 + 32바이트 위치)
+        int vbriOffset = offset + 4 + 32;
+        if (matches(data, vbriOffset, "VBRI")) {
+            long frames = readInt(data, vbriOffset + 14) & 0xFFFFFFFFL;
+            return MediaInfo.audioOnly("mp3", (double) frames * frame.samplesPerFrame / frame.sampleRate,
+                    frame.sampleRate, frame.channels);
+        }
+
+        // CBR: 오디오 데이터 크기 / 비트레이트 (끝의 ID3v1 태그 제외)
+        long audioEnd = fileSize;
+        if (fileSize >= 128) {
+            byte[] tail = source.read(fileSize - 128, 3);
+            if (matches(tail, 0, "TAG")) {
+                audioEnd -= 128;
+            }
+        }
+        double seconds = (audioEnd - firstFrameStart) * 8.0 / (frame.bitrateKbps * 1000.0);
+        return MediaInfo.audioOnly("mp3", seconds, frame.sampleRate, frame.channels);
+    }
+
+    // 연속된 두 프레임 헤더가 맞는 첫 위치 (태그 안의 우연한 0xFFE 패턴을 거름)
+    private static int findFrameSync(byte[] data) {
+        for (int i = 0; i + 4 <= data.length; i++) {
+            if ((data[i] & 0xFF) != 0xFF || (data[i + 1] & 0xE0) != 0xE0) {
+                continue;
+            }
+            Mp3Frame frame = Mp3Frame.tryParse(data, i);
+            if (frame == null) {
+                continue;
+            }
+            int next = i + frame.frameLength;
+            if (next + 4 > data.length || Mp3Frame.tryParse(data, next) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Mp3Frame {
+        final boolean mpeg1;
+        final int layer;
+        final int bitrateKbps;
+        final int sampleRate;
+        final int channels;
+        final int samplesPerFrame;
+        final int frameLength;
+
+        private Mp3Frame(boolean mpeg1, int layer, int bitrateKbps, int sampleRate, int channels, boolean padding) {
+            this.mpeg1 = mpeg1;
+            this.layer = layer;
+            this.bitrateKbps = bitrateKbps;
+            this.sampleRate = sampleRate;
+            this.channels = channels;
+            this.samplesPerFrame = layer == 1 ? 384 : (layer == 3 && !mpeg1 ? 576 : 1152);
+            int pad = padding ? 1 : 0;
+            if (layer == 1) {
+                this.frameLength = (12 * bitrateKbps * 1000 / sampleRate + pad) * 4;
+            } else {
+                this.frameLength = samplesPerFrame / 8 * bitrateKbps * 1000 / sampleRate + pad;
+            }
+        }
+
+        static Mp3Frame parse(byte[] data, int offset) throws IOException {
+            Mp3Frame frame = tryParse(data, offset);
+            if (frame == null) {
+                throw new IOException("잘못된 MP3 프레임 헤더");
+            }
+            return frame;
+        }
+
+        static Mp3Frame tryParse(byte[] data, int offset) {
+            if (offset + 4 > data.length || (data[offset] & 0xFF) != 0xFF || (data[offset + 1] & 0xE0) != 0xE0) {
+                return null;
+            }
+            int versionBits = (data[offset + 1] >> 3) & 0x3;   // 0 = 2.5, 2 = 2, 3 = 1
+            int layerBits = (data[offset + 1] >> 1) & 0x3;     // 1 = III, 2 = II, 3 = I
+            int bitrateIndex = (data[offset + 2] >> 4) & 0xF;
+            int sampleRateIndex = (data[offset + 2] >> 2) & 0x3;
+            boolean padding = ((data[offset + 2] >> 1) & 0x1) != 0;
+            int channelMode = (data[offset + 3] >> 6) & 0x3;
+            if (versionBits == 1 || layerBits == 0 || bitrateIndex == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+                return null;
+            }
+
+            boolean mpeg1 = versionBits == 3;
+            int layer = 4 - layerBits;
+            int bitrate = BITRATES[mpeg1 ? 0 : 1][layer - 1][bitrateIndex];
+            int sampleRate = MPEG1_SAMPLE_RATES[sampleRateIndex] / (mpeg1 ? 1 : (versionBits == 2 ? 2 : 4));
+            return new Mp3Frame(mpeg1, layer, bitrate, sampleRate, channelMode == 3 ? 1 : 2, padding);
+        }
+
+        // Layer III 사이드 정보 크기 (Xing 헤더 위치 계산용)
+        int sideInfoSize() {
+            if (mpeg1) {
+                return channels == 1 ? 17 : 32;
+            }
+            return channels == 1 ? 9 : 17;
+        }
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // MP4
+    // ----------------------------------------------------------------------------------------------------------------
+
+    /**
+     * MP4 길이와 트랙 정보 (moov 박스만 읽음, mdat은 헤더만 보고 건너뜀)
+     */
+    public static MediaInfo probeMp4(ByteSource source) throws IOException {
+        long fileSize = source.size();
+        long position = 0;
+        while (position + 8 <= fileSize) {
+            byte[] header = source.read(position, 16);
+            long boxSize = readInt(header, 0) & 0xFFFFFFFFL;
+            String type = new String(header, 4, 4, StandardCharsets.ISO_8859_1);
+            int headerSize = 8;
+            if (boxSize == 1) {
+                boxSize = readLong(header, 8);
+                headerSize = 16;
+            } else if (boxSize == 0) {
+                boxSize = fileSize - position;
+            }
+            if (boxSize < headerSize) {
+                throw new IOException("잘못된 MP4 박스 크기: " + type + " " + boxSize);
+            }
+
+            if (type.equals("moov")) {
+                long bodySize = boxSize - headerSize;
+                if (bodySize > MAX_MOOV_BYTES) {
+                    throw new IOException("moov 박스가 너무 큽니다: " + bodySize);
+                }
+                byte[] moov = source.read(position + headerSize, (int) bodySize);
+                return parseMoov(ByteBuffer.wrap(moov));
+            }
+            position += boxSize;
+        }
+        throw new IOException("moov 박스를 찾을 수 없습니다");
+    }
+
+    private static MediaInfo parseMoov(ByteBuffer moov) throws IOException {
+        long movieTimescale = 0;
+        long movieDuration = 0;
+        long fragmentDuration = 0;
+        List<TrackInfo> tracks = new ArrayList<>();
+
+        for (Box box : children(moov)) {
+            switch (box.type) {
+                case "mvhd" -> {
+                    ByteBuffer body = box.body;
+                    int version = body.get(0) & 0xFF;
+                    if (version == 1) {
+                        movieTimescale = body.getInt(20) & 0xFFFFFFFFL;
+                        movieDuration = body.getLong(24);
+                    } else {
+                        movieTimescale = body.getInt(12) & 0xFFFFFFFFL;
+                        movieDuration = body.getInt(16) & 0xFFFFFFFFL;
+                    }
+                }
+                case "mvex" -> {
+                    // 조각난(fragmented) MP4: mvhd 길이가 0이면 mehd의 전체 길이를 사용
+                    for (Box child : children(box.body)) {
+                        if (child.type.equals("mehd")) {
+                            int version = child.body.get(0) & 0xFF;
+                            fragmentDuration = version == 1 ? child.body.getLong(4) : child.body.getInt(4) & 0xFFFFFFFFL;
+                        }
+                    }
+                }
+                case "trak" -> tracks.add(parseTrak(box.body));
+                default -> {
+                }
+            }
+        }
+
+        if (movieTimescale == 0) {
+            throw new IOException("mvhd 박스가 없습니다");
+        }
+        long duration = movieDuration > 0 ? movieDuration : fragmentDuration;
+        return new MediaInfo("mp4", (double) duration / movieTimescale, tracks);
+    }
+
+    private static TrackInfo parseTrak(ByteBuffer trak) {
+        TrackInfo track = new TrackInfo();
+        for (Box box : children(trak)) {
+            if (box.type.equals("tkhd")) {
+                ByteBuffer body = box.body;
+                int version = body.get(0) & 0xFF;
+                // 버전 1은 시간 필드가 64비트 (tkhd 끝의 width/height는 16.16 고정소수점)
+                int widthOffset = version == 1 ? 88 : 76;
+                if (body.limit() >= widthOffset + 8) {
+                    track.width = body.getInt(widthOffset) >>> 16;
+                    track.height = body.getInt(widthOffset + 4) >>> 16;
+                }
+            } else if (box.type.equals("mdia")) {
+                parseMdia(box.body, track);
+            }
+        }
+        return track;
+    }
+
+    private static void parseMdia(ByteBuffer mdia, TrackInfo track) {
+        for (Box box : children(mdia)) {
+            switch (box.type) {
+                case "mdhd" -> {
+                    ByteBuffer body = box.body;
+                    int version = body.get(0) & 0xFF;
+                    if (version == 1) {
+                        track.timescale = body.getInt(20) & 0xFFFFFFFFL;
+                        track.durationSeconds = (double) body.getLong(24) / track.timescale;
+                    } else {
+                        track.timescale = body.getInt(12) & 0xFFFFFFFFL;
+                        track.durationSeconds = (double) (body.getInt(16) & 0xFFFFFFFFL) / track.timescale;
+                    }
+                }
+                case "hdlr" -> track.handler = fourCc(box.body, 8);
+                case "minf" -> {
+                    for (Box minfChild : children(box.body)) {
+                        if (!minfChild.type.equals("stbl")) {
+                            continue;
+                        }
+                        for (Box stblChild : children(minfChild.body)) {
+                            if (stblChild.type.equals("stsd")) {
+                                parseStsd(stblChild.body, track);
+                            }
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    // 첫 번째 샘플 엔트리에서 코덱과 오디오/비디오 파라미터를 읽는다
+    private static void parseStsd(ByteBuffer stsd, TrackInfo track) {
+        // version/flags(4) + entry_count(4) 다음이 첫 엔트리
+        if (stsd.limit() < 16) {
+            return;
+        }
+        int entryStart = 8;
+        track.codec = fourCc(stsd, entryStart + 4);
+        // 샘플 엔트리 공통 헤더: size(4) type(4) reserved(6) data_reference_index(2)
+        int fields = entryStart + 16;
+        if ("soun".equals(track.handler) && stsd.limit() >= fields + 20) {
+            track.channels = stsd.getShort(fields + 8) & 0xFFFF;
+            track.sampleRate = (int) ((stsd.getInt(fields + 16) & 0xFFFFFFFFL) >>> 16);
+        } else if ("vide".equals(track.handler) && stsd.limit() >= fields + 28) {
+            track.width = stsd.getShort(fields + 16) & 0xFFFF;
+            track.height = stsd.getShort(fields + 18) & 0xFFFF;
+        }
+    }
+
+    private static List<Box> children(ByteBuffer parent) {
+        List<Box> boxes = new ArrayList<>();
+        int position = 0;
+        while (position + 8 <= parent.limit()) {
+            long size = parent.getInt(position) & 0xFFFFFFFFL;
+            String type = fourCc(parent, position + 4);
+            int headerSize = 8;
+            if (size == 1 && position + 16 <= parent.limit()) {
+                size = parent.getLong(position + 8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = parent.limit() - position;
+            }
+            if (size < headerSize || position + size > parent.limit()) {
+                break;
+            }
+            ByteBuffer body = parent.slice(position + headerSize, (int) size - headerSize);
+            boxes.add(new Box(type, body));
+            position += (int) size;
+        }
+        return boxes;
+    }
+
+    private record Box(String type, ByteBuffer body) {
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // 공통
+    // ----------------------------------------------------------------------------------------------------------------
+
+    private static boolean isMp4BoxType(byte[] data, int offset) {
+        String type = new String(data, offset, 4, StandardCharsets.ISO_8859_1);
+        return type.equals("ftyp") || type.equals("moov") || type.equals("mdat")
+                || type.equals("free") || type.equals("skip") || type.equals("wide") || type.equals("styp");
+    }
+
+    private static boolean matches(byte[] data, int offset, String text) {
+        if (offset < 0 || offset + text.length() > data.length) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (data[offset + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    private static int readIntLe(byte[] data, int offset) {
+        return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8)
+                | ((data[offset + 2] & 0xFF) << 16) | ((data[offset + 3] & 0xFF) << 24);
+    }
+
+    private static long readLong(byte[] data, int offset) {
+        return ((long) readInt(data, offset) << 32) | (readInt(data, offset + 4) & 0xFFFFFFFFL);
+    }
+
+    private static String fourCc(ByteBuffer buffer, int offset) {
+        if (offset + 4 > buffer.limit()) {
+            return null;
+        }
+        byte[] bytes = new byte[4];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 프로브 결과 (길이와 트랙 목록)
+     */
+    public static final class MediaInfo {
+        private final String format;
+        private final double durationSeconds;
+        private final List<TrackInfo> tracks;
+
+        MediaInfo(String format, double durationSeconds, List<TrackInfo> tracks) {
+            this.format = format;
+            this.durationSeconds = durationSeconds;
+            this.tracks = tracks;
+        }
+
+        static MediaInfo audioOnly(String codec, double durationSeconds, int sampleRate, int channels) {
+            TrackInfo track = new TrackInfo();
+            track.handler = "soun";
+            track.codec = codec;
+            track.durationSeconds = durationSeconds;
+            track.sampleRate = sampleRate;
+            track.channels = channels;
+            return new MediaInfo(codec, durationSeconds, List.of(track));
+        }
+
+        public String getFormat() {
+            return format;
+        }
+
+        public double getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        public List<TrackInfo> getTracks() {
+            return tracks;
+        }
+
+        /**
+         * concat 스트림 복사 가능 여부 비교용 문자열 (코덱, 해상도, 타임스케일, 샘플레이트, 채널)
+         */
+        public String streamSignature() {
+            StringBuilder signature = new StringBuilder();
+            for (TrackInfo track : tracks) {
+                if ("vide".equals(track.handler)) {
+                    signature.append("v:").append(track.codec)
+                            .append(',').append(track.width).append('x').append(track.height)
+                            .append(',').append(track.timescale).append(';');
+                } else if ("soun".equals(track.handler)) {
+                    signature.append("a:").append(track.codec)
+                            .append(',').append(track.sampleRate)
+                            .append(',').append(track.channels)
+                            .append(',').append(track.timescale).append(';');
+                }
+            }
+            return signature.toString();
+        }
+    }
+
+    /**
+     * 트랙 정보 (handler: vide/soun, codec: 샘플 엔트리 fourcc)
+     */
+    public static final class TrackInfo {
+        private String handler;
+        private String codec;
+        private long timescale;
+        private double durationSeconds;
+        private int width;
+        private int height;
+        private int sampleRate;
+        private int channels;
+
+        public String getHandler() {
+            return handler;
+        }
+
+        public String getCodec() {
+            return codec;
+        }
+
+        public long getTimescale() {
+            return timescale;
+        }
+
+        public double getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        public int getChannels() {
+            return channels;
+        }
+    }
+}
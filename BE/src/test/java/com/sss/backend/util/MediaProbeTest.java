@@ -0,0 +1,365 @@
+package com.sss.backend.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * MediaProbe 헤더 파서 테스트
+ * 픽스처는 테스트 안에서 바이트로 만들고, 기대 길이는 헤더 값으로 계산한 값(ffprobe가 같은 헤더에서 보고하는 길이)이다
+ */
+class MediaProbeTest {
+
+    private static final double DELTA = 1e-6;
+
+    // MPEG1 Layer III, 128kbps, 44.1kHz, 패딩 없음 -> 프레임 길이 417바이트
+    private static final int MPEG1_128K_FRAME_LENGTH = 417;
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // MP3
+    // ----------------------------------------------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("CBR MP3: ID3v2/ID3v1 태그와 프레임 앞 쓰레기 바이트를 제외하고 비트레이트로 계산")
+    void cbrMp3() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.writeBytes(id3v2(20));
+        // 우연히 프레임 헤더처럼 보이지만 다음 프레임이 이어지지 않는 바이트
+        out.writeBytes(new byte[]{(byte) 0xFF, (byte) 0xFB, (byte) 0x90, 0x00, 0, 0, 0, 0, 0, 0});
+        for (int i = 0; i < 100; i++) {
+            out.writeBytes(mp3Frame(0xFB, 0x90, 0x00, MPEG1_128K_FRAME_LENGTH));
+        }
+        out.writeBytes(id3v1());
+
+        MediaProbe.MediaInfo info = MediaProbe.probe(source(out.toByteArray()));
+
+        assertEquals("mp3", info.getFormat());
+        assertEquals(100 * MPEG1_128K_FRAME_LENGTH * 8 / 128000.0, info.getDurationSeconds(), DELTA);
+        assertEquals(44100, info.getTracks().get(0).getSampleRate());
+        assertEquals(2, info.getTracks().get(0).getChannels());
+    }
+
+    @Test
+    @DisplayName("VBR MP3: Xing 헤더의 프레임 수로 계산")
+    void xingMp3() throws IOException {
+        // MPEG1 스테레오는 사이드 정보 32바이트 다음에 Xing 헤더
+        byte[] first = mp3Frame(0xFB, 0x90, 0x00, MPEG1_128K_FRAME_LENGTH);
+        writeAscii(first, 4 + 32, "Xing");
+        writeInt(first, 4 + 32 + 4, 0x0F);
+        writeInt(first, 4 + 32 + 8, 1000);
+
+        MediaProbe.MediaInfo info = MediaProbe.probe(source(concat(first, mp3Frames(3))));
+
+        assertEquals(1000 * 1152 / 44100.0, info.getDurationSeconds(), DELTA);
+    }
+
+    @Test
+    @DisplayName("VBR MP3: MPEG2 모노의 Info 헤더 (사이드 정보 9바이트, 프레임당 576샘플)")
+    void infoMpeg2MonoMp3() throws IOException {
+        // MPEG2 Layer III, 64kbps, 22.05kHz, 모노 -> 프레임 길이 208바이트
+        int frameLength = 208;
+        byte[] first = mp3Frame(0xF3, 0x80, 0xC0, frameLength);
+        writeAscii(first, 4 + 9, "Info");
+        writeInt(first, 4 + 9 + 4, 0x01);
+        writeInt(first, 4 + 9 + 8, 250);
+        byte[] next = mp3Frame(0xF3, 0x80, 0xC0, frameLength);
+
+        MediaProbe.MediaInfo info = MediaProbe.probe(source(concat(first, next, next)));
+
+        assertEquals(250 * 576 / 22050.0, info.getDurationSeconds(), DELTA);
+        assertEquals(22050, info.getTracks().get(0).getSampleRate());
+        assertEquals(1, info.getTracks().get(0).getChannels());
+    }
+
+    @Test
+    @DisplayName("VBR MP3: VBRI 헤더의 프레임 수로 계산")
+    void vbriMp3() throws IOException {
+        byte[] first = mp3Frame(0xFB, 0x90, 0x00, MPEG1_128K_FRAME_LENGTH);
+        writeAscii(first, 4 + 32, "VBRI");
+        writeInt(first, 4 + 32 + 14, 500);
+
+        MediaProbe.MediaInfo info = MediaProbe.probe(source(concat(first, mp3Frames(3))));
+
+        assertEquals(500 * 1152 / 44100.0, info.getDurationSeconds(), DELTA);
+    }
+
+    @Test
+    @DisplayName("프레임 헤더가 없으면 예외")
+    void notMedia() {
+        byte[] garbage = new byte[4096];
+        Arrays.fill(garbage, (byte) 0x41);
+
+        assertThrows(IOException.class, () -> MediaProbe.probe(source(garbage)));
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // MP4
+    // ----------------------------------------------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("MP4: mvhd/mdhd 버전 0과 오디오 트랙 정보")
+    void mp4Version0() throws IOException {
+        byte[] moov = box("moov",
+                mvhd(0, 1000, 12345),
+                box("trak",
+                        tkhd(0, 0, 0),
+                        box("mdia",
+                                mdhd(0, 44100, 44100L * 12),
+                                hdlr("soun"),
+                                box("minf", box("stbl", stsdAudio("mp4a", 2, 44100))))));
+        byte[] file = concat(box("ftyp", ascii("isom")), moov, box("mdat", new byte[1024]));
+
+        MediaProbe.MediaInfo info = MediaProbe.probe(source(file));
+
+        assertEquals("mp4", info.getFormat());
+        assertEquals(12.345, info.getDurationSeconds(), DELTA);
+        MediaProbe.TrackInfo track = info.getTracks().get(0);
+        assertEquals("soun", track.getHandler());
+        assertEquals("mp4a", track.getCodec());
+        assertEquals(44100, track.getTimescale());
+        assertEquals(12.0, track.getDurationSeconds(), DELTA);
+        assertEquals(44100, track.getSampleRate());
+        assertEquals(2, track.getChannels());
+        assertEquals("a:mp4a,44100,2,44100;", info.streamSignature());
+    }
+
+    @Test
+    @DisplayName("MP4: 64비트 mdat 뒤의 moov, mvhd/tkhd/mdhd 버전 1과 비디오 트랙 정보")
+    void mp4Version1MoovAtEnd() throws IOException {
+        byte[] moov = box("moov",
+                mvhd(1, 90000, 90000L * 15 / 2),
+                box("trak",
+                        tkhd(1, 1080, 1920),
+                        box("mdia",
+                                mdhd(1, 15360, 15360L * 15 / 2),
+                                hdlr("vide"),
+                                box("minf", box("stbl", stsdVideo("avc1", 1080, 1920))))));
+        byte[] file = concat(box("ftyp", ascii("isom")), largeBox("mdat", new byte[2048]), moov);
+
+        MediaProbe.MediaInfo info = MediaProbe.probe(source(file));
+
+        assertEquals(7.5, info.getDurationSeconds(), DELTA);
+        MediaProbe.TrackInfo track = info.getTracks().get(0);
+        assertEquals("vide", track.getHandler());
+        assertEquals("avc1", track.getCodec());
+        assertEquals(1080, track.getWidth());
+        assertEquals(1920, track.getHeight());
+        assertEquals(7.5, track.getDurationSeconds(), DELTA);
+        assertEquals("v:avc1,1080x1920,15360;", info.streamSignature());
+    }
+
+    @Test
+    @DisplayName("조각난 MP4: mvhd 길이가 0이면 mehd 길이를 사용")
+    void fragmentedMp4() throws IOException {
+        byte[] mehd = fullBox("mehd", 0, ByteBuffer.allocate(4).putInt(0, 5000).array());
+        byte[] moov = box("moov", mvhd(0, 1000, 0), box("mvex", mehd));
+        byte[] file = concat(box("ftyp", ascii("iso5")), moov);
+
+        assertEquals(5.0, MediaProbe.probe(source(file)).getDurationSeconds(), DELTA);
+    }
+
+    @Test
+    @DisplayName("moov가 없는 MP4는 예외")
+    void mp4WithoutMoov() {
+        byte[] file = concat(box("ftyp", ascii("isom")), box("mdat", new byte[512]));
+
+        assertThrows(IOException.class, () -> MediaProbe.probe(source(file)));
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // WAV
+    // ----------------------------------------------------------------------------------------------------------------
+
+    @Test
+    @DisplayName("WAV: 홀수 크기 청크를 건너뛰고 data 크기 / 초당 바이트 수로 계산 (로컬 파일)")
+    void wav(@TempDir Path dir) throws IOException {
+        // 확장자가 .mp3인 WAV도 내용으로 판별
+        Path file = dir.resolve("line.mp3");
+        Files.write(file, wav(24000, 1, 96000, 96000));
+
+        MediaProbe.MediaInfo info = MediaProbe.probe(MediaProbe.ofFile(file));
+
+        assertEquals("pcm", info.getFormat());
+        assertEquals(2.0, info.getDurationSeconds(), DELTA);
+        assertEquals(24000, info.getTracks().get(0).getSampleRate());
+        assertEquals(1, info.getTracks().get(0).getChannels());
+    }
+
+    @Test
+    @DisplayName("WAV: 스트리밍으로 기록되어 data 크기가 채워지지 않았으면 파일 끝까지 계산")
+    void streamedWav() throws IOException {
+        MediaProbe.MediaInfo info = MediaProbe.probe(source(wav(44100, 2, 0xFFFFFFFFL, 44100 * 4 / 2)));
+
+        assertEquals(0.5, info.getDurationSeconds(), DELTA);
+    }
+
+    // ----------------------------------------------------------------------------------------------------------------
+    // 픽스처
+    // ----------------------------------------------------------------------------------------------------------------
+
+    private static MediaProbe.ByteSource source(byte[] bytes) {
+        return new MediaProbe.ByteSource() {
+            @Override
+            public long size() {
+                return bytes.length;
+            }
+
+            @Override
+            public byte[] read(long position, int length) {
+                int from = (int) Math.min(position, bytes.length);
+                int to = (int) Math.min(position + length, bytes.length);
+                return Arrays.copyOfRange(bytes, from, to);
+            }
+        };
+    }
+
+    private static byte[] mp3Frame(int versionLayer, int bitrateSampleRate, int channelMode, int length) {
+        byte[] frame = new byte[length];
+        frame[0] = (byte) 0xFF;
+        frame[1] = (byte) versionLayer;
+        frame[2] = (byte) bitrateSampleRate;
+        frame[3] = (byte) channelMode;
+        return frame;
+    }
+
+    private static byte[] mp3Frames(int count) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++) {
+            out.writeBytes(mp3Frame(0xFB, 0x90, 0x00, MPEG1_128K_FRAME_LENGTH));
+        }
+        return out.toByteArray();
+    }
+
+    // ID3v2.3 태그 (크기는 synchsafe 정수)
+    private static byte[] id3v2(int bodySize) {
+        byte[] tag = new byte[10 + bodySize];
+        writeAscii(tag, 0, "ID3");
+        tag[3] = 3;
+        tag[6] = (byte) ((bodySize >> 21) & 0x7F);
+        tag[7] = (byte) ((bodySize >> 14) & 0x7F);
+        tag[8] = (byte) ((bodySize >> 7) & 0x7F);
+        tag[9] = (byte) (bodySize & 0x7F);
+        return tag;
+    }
+
+    private static byte[] id3v1() {
+        byte[] tag = new byte[128];
+        writeAscii(tag, 0, "TAG");
+        return tag;
+    }
+
+    private static byte[] box(String type, byte[]... children) {
+        byte[] body = concat(children);
+        ByteBuffer buffer = ByteBuffer.allocate(8 + body.length);
+        buffer.putInt(8 + body.length).put(ascii(type)).put(body);
+        return buffer.array();
+    }
+
+    // 64비트 크기 필드를 쓰는 박스 (size == 1)
+    private static byte[] largeBox(String type, byte[] body) {
+        ByteBuffer buffer = ByteBuffer.allocate(16 + body.length);
+        buffer.putInt(1).put(ascii(type)).putLong(16 + body.length).put(body);
+        return buffer.array();
+    }
+
+    private static byte[] fullBox(String type, int version, byte[] body) {
+        return box(type, ByteBuffer.allocate(4).put(0, (byte) version).array(), body);
+    }
+
+    private static byte[] mvhd(int version, long timescale, long duration) {
+        return fullBox("mvhd", version, timeFields(version, timescale, duration, 80));
+    }
+
+    private static byte[] mdhd(int version, long timescale, long duration) {
+        return fullBox("mdhd", version, timeFields(version, timescale, duration, 4));
+    }
+
+    // creation/modification time, timescale, duration (버전 1은 64비트) + 나머지 필드
+    private static byte[] timeFields(int version, long timescale, long duration, int trailing) {
+        ByteBuffer buffer = ByteBuffer.allocate((version == 1 ? 28 : 16) + trailing);
+        if (version == 1) {
+            buffer.putLong(0).putLong(0).putInt((int) timescale).putLong(duration);
+        } else {
+            buffer.putInt(0).putInt(0).putInt((int) timescale).putInt((int) duration);
+        }
+        return buffer.array();
+    }
+
+    // width/height는 16.16 고정소수점으로 마지막 8바이트
+    private static byte[] tkhd(int version, int width, int height) {
+        int size = version == 1 ? 92 : 80;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(size - 8, width << 16).putInt(size - 4, height << 16);
+        return fullBox("tkhd", version, buffer.array());
+    }
+
+    private static byte[] hdlr(String handler) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 12 + 1);
+        buffer.position(4);
+        buffer.put(ascii(handler));
+        return fullBox("hdlr", 0, buffer.array());
+    }
+
+    private static byte[] stsdAudio(String codec, int channels, int sampleRate) {
+        ByteBuffer fields = ByteBuffer.allocate(20);
+        fields.putShort(8, (short) channels).putShort(10, (short) 16).putInt(16, sampleRate << 16);
+        return stsd(codec, fields.array());
+    }
+
+    private static byte[] stsdVideo(String codec, int width, int height) {
+        ByteBuffer fields = ByteBuffer.allocate(70);
+        fields.putShort(16, (short) width).putShort(18, (short) height);
+        return stsd(codec, fields.array());
+    }
+
+    // entry_count 1 + 샘플 엔트리 (reserved 6바이트, data_reference_index 다음이 코덱별 필드)
+    private static byte[] stsd(String codec, byte[] fields) {
+        byte[] entry = box(codec, new byte[6], new byte[]{0, 1}, fields);
+        return fullBox("stsd", 0, concat(ByteBuffer.allocate(4).putInt(1).array(), entry));
+    }
+
+    // PCM 16비트 WAV (fmt 뒤에 홀수 크기 LIST 청크 + 패딩)
+    private static byte[] wav(int sampleRate, int channels, long declaredDataSize, int dataSize) {
+        int blockAlign = channels * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(12 + 24 + 12 + 8 + dataSize).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(ascii("RIFF")).putInt(buffer.capacity() - 8).put(ascii("WAVE"));
+        buffer.put(ascii("fmt ")).putInt(16)
+                .putShort((short) 1).putShort((short) channels).putInt(sampleRate)
+                .putInt(sampleRate * blockAlign).putShort((short) blockAlign).putShort((short) 16);
+        buffer.put(ascii("LIST")).putInt(3).put(new byte[]{'a', 'b', 'c', 0});
+        buffer.put(ascii("data")).putInt((int) declaredDataSize);
+        return buffer.array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void writeAscii(byte[] target, int offset, String text) {
+        System.arraycopy(ascii(text), 0, target, offset, text.length());
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        ByteBuffer.wrap(target).putInt(offset, value);
+    }
+}
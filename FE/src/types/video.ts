@@ -6,6 +6,7 @@ export interface VideoStatusResponse {
   createdAt: string;
   processingStep: string | null;
   processing_step?: string | null;
+  playlistUrl?: string | null;
   error?: string | null;
 }
 